@@ -25,10 +25,13 @@ package com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.PatchUtils;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
-import org.apache.commons.collections.comparators.ComparableComparator;
 
 import java.util.*;
 
@@ -38,6 +41,9 @@ import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.l
  * Copy from https://code.google.com/p/java-diff-utils/.
  * <p>
  * Describes the patch holding all deltas between the original and revised texts.
+ * <p>
+ * Deltas are kept in an array-backed list; the list is sorted lazily, at most once per batch of
+ * out-of-order additions, so patches built in order by diff algorithms are never re-sorted.
  *
  * @param <T> The type of the compared elements in the 'lines'.
  */
@@ -47,14 +53,27 @@ import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.l
 @SuppressWarnings("unchecked")
 public class DefaultPatch<T> implements Patch<T> {
 
+    /**
+     * Default {@link Comparator} by original {@link Delta} position
+     */
+    public static final Comparator<Delta<?>> DEFAULT_DELTA_COMPARATOR = Comparator.comparingInt(delta -> delta.getOriginal().getPosition());
+
     /**
      * Default {@link List} of {@link Delta}s
      */
-    private final List<Delta<T>> deltas = new LinkedList<>();
+    private final List<Delta<T>> deltas;
     /**
      * Default {@link Comparator} instance
      */
     private final Comparator<? super Delta<T>> comparator;
+    /**
+     * Default dirty flag, set when a delta has been added out of order
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean dirty;
 
     /**
      * Default patch constructor
@@ -69,11 +88,25 @@ public class DefaultPatch<T> implements Patch<T> {
      * @param comparator - initial input {@link Comparator} instance
      */
     public DefaultPatch(final Comparator<? super Delta<T>> comparator) {
-        this.comparator = Optional.ofNullable(comparator).orElseGet(ComparableComparator::getInstance);
+        this(comparator, 10);
+    }
+
+    /**
+     * Default patch constructor by input parameters
+     *
+     * @param comparator      - initial input {@link Comparator} instance
+     * @param initialCapacity - initial input number of expected deltas
+     */
+    public DefaultPatch(final Comparator<? super Delta<T>> comparator, int initialCapacity) {
+        this.comparator = Objects.isNull(comparator) ? DEFAULT_DELTA_COMPARATOR : comparator;
+        this.deltas = new ArrayList<>(Math.max(0, initialCapacity));
     }
 
     /**
      * Apply this patch to the given target
+     * <p>
+     * The result is built in a single forward pass by {@link PatchUtils#apply(List, Patch)}, deltas kept in a custom
+     * order are applied from a copy sorted by {@link #DEFAULT_DELTA_COMPARATOR}.
      *
      * @param target the list to patch
      * @return the patched text
@@ -81,12 +114,13 @@ public class DefaultPatch<T> implements Patch<T> {
      */
     @Override
     public Iterable<T> applyTo(final Iterable<T> target) {
-        final List<T> result = listOf(target);
-        final ListIterator<Delta<T>> it = this.getDeltas().listIterator(this.deltas.size());
-        while (it.hasPrevious()) {
-            it.previous().applyTo(result);
+        final List<T> source = (target instanceof List) ? (List<T>) target : listOf(target);
+        if (this.comparator == DEFAULT_DELTA_COMPARATOR) {
+            return PatchUtils.apply(source, this);
         }
-        return result;
+        final DefaultPatch<T> ordered = new DefaultPatch<>(DEFAULT_DELTA_COMPARATOR, this.deltas.size());
+        this.getDeltas().forEach(ordered::addDelta);
+        return PatchUtils.apply(source, ordered);
     }
 
     /**
@@ -95,17 +129,118 @@ public class DefaultPatch<T> implements Patch<T> {
      * @param delta the given delta
      */
     public void addDelta(final Delta<T> delta) {
+        final int size = this.deltas.size();
+        if (!this.dirty && size > 0 && this.comparator.compare(this.deltas.get(size - 1), delta) > 0) {
+            this.dirty = true;
+        }
         this.deltas.add(delta);
     }
 
     /**
      * Get the list of computed deltas
      *
-     * @return the deltas
+     * @return the unmodifiable deltas, use {@link #addDelta(Delta)} to add ones
      */
     @Override
     public List<Delta<T>> getDeltas() {
-        this.deltas.sort(this.comparator);
-        return this.deltas;
+        if (this.dirty) {
+            this.deltas.sort(this.comparator);
+            this.dirty = false;
+        }
+        return Collections.unmodifiableList(this.deltas);
+    }
+
+    /**
+     * Returns number of deltas
+     *
+     * @return number of deltas
+     */
+    public int size() {
+        return this.deltas.size();
+    }
+
+    /**
+     * Returns {@link Delta} by index in sorted order
+     *
+     * @param index - initial input delta index
+     * @return {@link Delta}
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public Delta<T> getDelta(int index) {
+        return this.getDeltas().get(index);
+    }
+
+    /**
+     * Returns index of the first {@link Delta} starting at the given original position,
+     * otherwise {@code (-(insertion point) - 1)} as {@link Collections#binarySearch(List, Object, Comparator)} does
+     * <p>
+     * Binary search is used when deltas are ordered by {@link #DEFAULT_DELTA_COMPARATOR}, linear scan otherwise.
+     *
+     * @param position - initial input original position
+     * @return index of the {@link Delta} or negative insertion point
+     */
+    public int indexOf(int position) {
+        final List<Delta<T>> list = this.getDeltas();
+        if (this.comparator != DEFAULT_DELTA_COMPARATOR) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).getOriginal().getPosition() == position) {
+                    return i;
+                }
+            }
+            return -list.size() - 1;
+        }
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (list.get(mid).getOriginal().getPosition() < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (low < list.size() && list.get(low).getOriginal().getPosition() == position) ? low : -low - 1;
+    }
+
+    /**
+     * Returns {@link Delta} covering the given original position, or {@code null} if the position is unchanged
+     * <p>
+     * Insert deltas cover the single position they are anchored at.
+     *
+     * @param position - initial input original position
+     * @return {@link Delta} or {@code null}
+     */
+    public Delta<T> findDelta(int position) {
+        final List<Delta<T>> list = this.getDeltas();
+        if (this.comparator != DEFAULT_DELTA_COMPARATOR) {
+            for (final Delta<T> delta : list) {
+                if (covers(delta, position)) {
+                    return delta;
+                }
+            }
+            return null;
+        }
+        int index = this.indexOf(position);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        for (int i = Math.max(index, 0); i < list.size() && list.get(i).getOriginal().getPosition() <= position; i++) {
+            if (covers(list.get(i), position)) {
+                return list.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns binary flag whether {@link Delta} covers the given original position
+     *
+     * @param delta    - initial input {@link Delta}
+     * @param position - initial input original position
+     * @return true - if {@link Delta} covers the position, false - otherwise
+     */
+    private static boolean covers(final Delta<?> delta, int position) {
+        final int start = delta.getOriginal().getPosition();
+        return position == start || (position > start && position < start + delta.getOriginal().size());
     }
 }
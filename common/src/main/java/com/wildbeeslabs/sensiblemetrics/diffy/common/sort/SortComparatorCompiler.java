@@ -0,0 +1,327 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.sort;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.exception.BadOperationException;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Sort order comparator compiler implementation
+ * <p>
+ * Resolves every property path of {@link SortManager.SortOrder}s once into {@link MethodHandle} accessors and composes
+ * them into a reusable multi-key {@link Comparator}. Single primitive properties are compared through primitive-typed
+ * accessors, others by natural order of {@link Comparable} values. Compiled comparators are cached by class and orders,
+ * up to {@link #DEFAULT_CACHE_SIZE} least recently used ones per class. Cached accessors are held softly and may be
+ * dropped when memory runs low, together with their references to the compared class.
+ */
+@UtilityClass
+@SuppressWarnings("unchecked")
+class SortComparatorCompiler {
+
+    /**
+     * Default minimum number of elements to sort in parallel
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+    /**
+     * Default maximum number of cached compiled orders per class
+     */
+    static final int DEFAULT_CACHE_SIZE = 64;
+
+    /**
+     * Default accessor {@link MethodType}
+     */
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Default compiled orders by class
+     */
+    private static final ClassValue<Map<List<SortManager.SortOrder>, SoftReference<CompiledOrder[]>>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<List<SortManager.SortOrder>, SoftReference<CompiledOrder[]>> computeValue(final Class<?> type) {
+            return new LinkedHashMap<List<SortManager.SortOrder>, SoftReference<CompiledOrder[]>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<List<SortManager.SortOrder>, SoftReference<CompiledOrder[]>> eldest) {
+                    return this.size() > DEFAULT_CACHE_SIZE;
+                }
+            };
+        }
+    };
+
+    /**
+     * Returns {@link Comparator} by class instance {@link Class} and collection of sort orders {@link SortManager.SortOrder}
+     *
+     * @param <T>    type of element to be compared
+     * @param clazz  - initial input element {@link Class}
+     * @param orders - initial input {@link List} of sort orders
+     * @return multi-key {@link Comparator}
+     */
+    static <T> Comparator<T> toComparator(final Class<T> clazz, final List<SortManager.SortOrder> orders) {
+        final CompiledOrder[] compiled = compile(clazz, orders);
+        return (first, last) -> {
+            for (final CompiledOrder order : compiled) {
+                final int result = order.elements.compare(first, last);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Sorts {@link List} in place by class instance {@link Class} and collection of sort orders {@link SortManager.SortOrder},
+     * lists above {@link #DEFAULT_PARALLEL_THRESHOLD} are sorted in parallel by keys extracted once per element
+     *
+     * @param <T>    type of element to be sorted
+     * @param list   - initial input {@link List} to be sorted
+     * @param clazz  - initial input element {@link Class}
+     * @param orders - initial input {@link List} of sort orders
+     * @return sorted {@link List}
+     */
+    static <T> List<T> sort(final List<T> list, final Class<T> clazz, final List<SortManager.SortOrder> orders) {
+        final CompiledOrder[] compiled = compile(clazz, orders);
+        if (list.size() < DEFAULT_PARALLEL_THRESHOLD || compiled.length == 0) {
+            list.sort(toComparator(clazz, orders));
+            return list;
+        }
+        final Object[][] rows = new Object[list.size()][];
+        int index = 0;
+        for (final T element : list) {
+            final Object[] row = new Object[compiled.length + 1];
+            for (int i = 0; i < compiled.length; i++) {
+                row[i] = compiled[i].accessor.get(element);
+            }
+            row[compiled.length] = element;
+            rows[index++] = row;
+        }
+        Arrays.parallelSort(rows, (first, last) -> {
+            for (int i = 0; i < compiled.length; i++) {
+                final int result = compiled[i].values.compare(first[i], last[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+        final ListIterator<T> iterator = list.listIterator();
+        for (final Object[] row : rows) {
+            iterator.next();
+            iterator.set((T) row[compiled.length]);
+        }
+        return list;
+    }
+
+    private static CompiledOrder[] compile(final Class<?> clazz, final List<SortManager.SortOrder> orders) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        ValidationUtils.notNull(orders, "Orders should not be null");
+        final Map<List<SortManager.SortOrder>, SoftReference<CompiledOrder[]>> cache = CACHE.get(clazz);
+        synchronized (cache) {
+            final CompiledOrder[] cached = Optional.ofNullable(cache.get(orders)).map(SoftReference::get).orElse(null);
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+        }
+        final List<CompiledOrder> result = new ArrayList<>(orders.size());
+        for (final SortManager.SortOrder order : orders) {
+            if (!order.getDirection().isEqual()) {
+                result.add(compile(clazz, order));
+            }
+        }
+        final CompiledOrder[] compiled = result.toArray(new CompiledOrder[0]);
+        synchronized (cache) {
+            cache.put(new ArrayList<>(orders), new SoftReference<>(compiled));
+        }
+        return compiled;
+    }
+
+    private static CompiledOrder compile(final Class<?> clazz, final SortManager.SortOrder order) {
+        final String[] path = order.getProperty().split("\\.");
+        final MethodHandle[] handles = new MethodHandle[path.length];
+        Class<?> type = clazz;
+        MethodHandle last = null;
+        for (int i = 0; i < path.length; i++) {
+            last = accessor(type, path[i], order.getProperty());
+            type = last.type().returnType();
+            handles[i] = last.asType(ACCESSOR_TYPE);
+        }
+        final Accessor accessor = new Accessor(handles);
+
+        Comparator<Object> values;
+        if (order.isIgnoreCase() && type == String.class) {
+            values = (Comparator<Object>) (Comparator<?>) String.CASE_INSENSITIVE_ORDER;
+        } else if (type.isPrimitive() || Comparable.class.isAssignableFrom(type)) {
+            values = (first, second) -> ((Comparable<Object>) first).compareTo(second);
+        } else {
+            throw BadOperationException.throwError(StringUtils.formatMessage("ERROR: cannot compare by property: {%s} of type: {%s}", order.getProperty(), type.getName()));
+        }
+        final SortManager.NullPriority nullPriority = order.getNullPriority();
+        if (Objects.equals(nullPriority, SortManager.NullPriority.NULLS_FIRST)) {
+            values = Comparator.nullsFirst(direct(values, order));
+        } else if (Objects.equals(nullPriority, SortManager.NullPriority.NULLS_LAST)) {
+            values = Comparator.nullsLast(direct(values, order));
+        } else {
+            values = direct(Comparator.nullsFirst(values), order);
+        }
+
+        Comparator<Object> elements = null;
+        if (path.length == 1 && type.isPrimitive() && type != boolean.class) {
+            elements = direct(primitive(last, type), order);
+        }
+        if (Objects.isNull(elements)) {
+            final Comparator<Object> comparator = values;
+            elements = (first, second) -> comparator.compare(accessor.get(first), accessor.get(second));
+        }
+        return new CompiledOrder(accessor, values, elements);
+    }
+
+    private static Comparator<Object> direct(final Comparator<Object> comparator, final SortManager.SortOrder order) {
+        return order.isDescending() ? comparator.reversed() : comparator;
+    }
+
+    private static Comparator<Object> primitive(final MethodHandle getter, final Class<?> type) {
+        if (type == long.class) {
+            final MethodHandle handle = getter.asType(MethodType.methodType(long.class, Object.class));
+            return (first, last) -> {
+                try {
+                    return Long.compare((long) handle.invokeExact(first), (long) handle.invokeExact(last));
+                } catch (Throwable t) {
+                    throw propagate(t);
+                }
+            };
+        } else if (type == double.class || type == float.class) {
+            final MethodHandle handle = getter.asType(MethodType.methodType(double.class, Object.class));
+            return (first, last) -> {
+                try {
+                    return Double.compare((double) handle.invokeExact(first), (double) handle.invokeExact(last));
+                } catch (Throwable t) {
+                    throw propagate(t);
+                }
+            };
+        }
+        final MethodHandle handle = getter.asType(MethodType.methodType(int.class, Object.class));
+        return (first, last) -> {
+            try {
+                return Integer.compare((int) handle.invokeExact(first), (int) handle.invokeExact(last));
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        };
+    }
+
+    private static MethodHandle accessor(final Class<?> type, final String name, final String property) {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (final Field field : ReflectionUtils.getAllFields(type)) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    ReflectionUtils.setAccessible(field);
+                    return lookup.unreflectGetter(field);
+                }
+            }
+            final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (final String prefix : new String[]{"get", "is"}) {
+                try {
+                    final Method method = type.getMethod(prefix + suffix);
+                    ReflectionUtils.setAccessible(method);
+                    return lookup.unreflect(method);
+                } catch (NoSuchMethodException e) {
+                    // try next prefix
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw BadOperationException.throwError(StringUtils.formatMessage("ERROR: cannot access property: {%s} of type: {%s}", property, type.getName()), e);
+        }
+        throw new IllegalArgumentException(StringUtils.formatMessage("ERROR: cannot resolve property: {%s} of type: {%s}", property, type.getName()));
+    }
+
+    private static RuntimeException propagate(final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new BadOperationException(throwable);
+    }
+
+    /**
+     * Property path accessor, resolves to {@code null} on {@code null} intermediate value
+     */
+    private static final class Accessor {
+        /**
+         * Default path segment accessors of {@code (Object)Object} type
+         */
+        private final MethodHandle[] handles;
+
+        private Accessor(final MethodHandle[] handles) {
+            this.handles = handles;
+        }
+
+        private Object get(final Object element) {
+            Object value = element;
+            try {
+                for (int i = 0; i < this.handles.length && Objects.nonNull(value); i++) {
+                    value = (Object) this.handles[i].invokeExact(value);
+                }
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Compiled sort order
+     */
+    private static final class CompiledOrder {
+        /**
+         * Default property {@link Accessor}
+         */
+        private final Accessor accessor;
+        /**
+         * Default {@link Comparator} of extracted property values
+         */
+        private final Comparator<Object> values;
+        /**
+         * Default {@link Comparator} of elements
+         */
+        private final Comparator<Object> elements;
+
+        private CompiledOrder(final Accessor accessor, final Comparator<Object> values, final Comparator<Object> elements) {
+            this.accessor = accessor;
+            this.values = values;
+            this.elements = elements;
+        }
+    }
+}
@@ -246,6 +246,33 @@ public class SortManager implements Streamable<SortManager.SortOrder> {
         return null;
     }
 
+    /**
+     * Returns {@link Comparator} of elements by sort orders, property paths (e.g. {@code address.city}) are resolved
+     * once per class and orders, compiled comparators are cached and can be reused
+     *
+     * @param <T>   type of element to be compared
+     * @param clazz - initial input element class {@link Class}
+     * @return multi-key {@link Comparator}
+     * @throws IllegalArgumentException if a property can not be resolved
+     */
+    public <T> Comparator<T> toComparator(final Class<T> clazz) {
+        return SortComparatorCompiler.toComparator(clazz, this.getOrders());
+    }
+
+    /**
+     * Sorts {@link List} in place by sort orders, large lists are sorted in parallel by property values extracted once per element
+     *
+     * @param <T>   type of element to be sorted
+     * @param list  - initial input {@link List} to be sorted
+     * @param clazz - initial input element class {@link Class}
+     * @return sorted {@link List}
+     * @throws IllegalArgumentException if a property can not be resolved
+     */
+    public <T> List<T> sort(final List<T> list, final Class<T> clazz) {
+        ValidationUtils.notNull(list, "List should not be null!");
+        return SortComparatorCompiler.sort(list, clazz, this.getOrders());
+    }
+
     /**
      * Returns sort order iteratorOf instance {@link Iterator}
      *
@@ -0,0 +1,274 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Patch utilities implementation
+ * <p>
+ * Patches are applied in a single forward pass: unchanged ranges between deltas are copied in bulk
+ * into a pre-sized result, original chunks are verified only when the pass reaches them.
+ * Deltas are expected to be ordered by original position and not to overlap.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@UtilityClass
+public class PatchUtils {
+
+    /**
+     * Returns new {@link List} produced by applying {@link Patch} to the target {@link List}
+     *
+     * @param <T>    type of list element
+     * @param target - initial input {@link List} to patch
+     * @param patch  - initial input {@link Patch} to apply
+     * @return patched {@link List}
+     * @throws IllegalArgumentException if target is {@code null}
+     * @throws IllegalArgumentException if patch is {@code null}
+     * @throws IllegalStateException    if the patch cannot be applied
+     */
+    public static <T> List<T> apply(final List<T> target, final Patch<T> patch) {
+        ValidationUtils.notNull(target, "Target should not be null");
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        final List<T> source = (target instanceof RandomAccess) ? target : new ArrayList<>(target);
+        final List<Delta<T>> deltas = patch.getDeltas();
+        final List<T> result = new ArrayList<>(resultSize(source.size(), deltas));
+        int cursor = 0;
+        for (final Delta<T> delta : deltas) {
+            final Chunk<T> original = delta.getOriginal();
+            final int position = checkPosition(original, cursor, source.size());
+            result.addAll(source.subList(cursor, position));
+            verify(original, source, position);
+            result.addAll(delta.getRevised().getLines());
+            cursor = position + original.size();
+        }
+        result.addAll(source.subList(cursor, source.size()));
+        return result;
+    }
+
+    /**
+     * Returns new array produced by applying {@link Patch} to the target array
+     *
+     * @param <T>    type of array element
+     * @param target - initial input array to patch
+     * @param patch  - initial input {@link Patch} to apply
+     * @return patched array of the same component type
+     * @throws IllegalArgumentException if target is {@code null}
+     * @throws IllegalArgumentException if patch is {@code null}
+     * @throws IllegalStateException    if the patch cannot be applied
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] apply(final T[] target, final Patch<T> patch) {
+        ValidationUtils.notNull(target, "Target should not be null");
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        final List<T> source = Arrays.asList(target);
+        final List<Delta<T>> deltas = patch.getDeltas();
+        final T[] result = (T[]) Array.newInstance(target.getClass().getComponentType(), resultSize(target.length, deltas));
+        int cursor = 0;
+        int offset = 0;
+        for (final Delta<T> delta : deltas) {
+            final Chunk<T> original = delta.getOriginal();
+            final int position = checkPosition(original, cursor, target.length);
+            System.arraycopy(target, cursor, result, offset, position - cursor);
+            offset += position - cursor;
+            verify(original, source, position);
+            for (final T element : delta.getRevised().getLines()) {
+                result[offset++] = element;
+            }
+            cursor = position + original.size();
+        }
+        System.arraycopy(target, cursor, result, offset, target.length - cursor);
+        return result;
+    }
+
+    /**
+     * Returns {@link Iterator} producing elements of the target {@link Iterator} with {@link Patch} applied
+     * <p>
+     * Elements are consumed from the target on demand, so the patched sequence is never materialized.
+     * Verification failures are reported by {@link Iterator#next()} when the offending chunk is reached.
+     *
+     * @param <T>    type of iterator element
+     * @param target - initial input {@link Iterator} to patch
+     * @param patch  - initial input {@link Patch} to apply
+     * @return patched {@link Iterator}
+     * @throws IllegalArgumentException if target is {@code null}
+     * @throws IllegalArgumentException if patch is {@code null}
+     */
+    public static <T> Iterator<T> apply(final Iterator<T> target, final Patch<T> patch) {
+        ValidationUtils.notNull(target, "Target should not be null");
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        return new PatchIterator<>(target, patch.getDeltas().iterator());
+    }
+
+    /**
+     * Returns size of the patched sequence
+     *
+     * @param size   - initial input target size
+     * @param deltas - initial input {@link List} of {@link Delta}s
+     * @return patched sequence size
+     */
+    private static <T> int resultSize(int size, final List<Delta<T>> deltas) {
+        long result = size;
+        for (final Delta<T> delta : deltas) {
+            result += delta.getRevised().size() - delta.getOriginal().size();
+        }
+        return (int) Math.max(0, Math.min(result, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Returns original {@link Chunk} position validated against the pass cursor and target size
+     *
+     * @param original - initial input original {@link Chunk}
+     * @param cursor   - initial input position already consumed by the pass
+     * @param size     - initial input target size
+     * @return original {@link Chunk} position
+     * @throws IllegalStateException if the chunk overlaps a previous delta or exceeds the target
+     */
+    private static <T> int checkPosition(final Chunk<T> original, int cursor, int size) {
+        final int position = original.getPosition();
+        checkState(position >= cursor, "Incorrect patch for delta: deltas are unordered or overlap");
+        checkState(position + original.size() <= size, "Incorrect patch for delta: delta original position > target size");
+        return position;
+    }
+
+    /**
+     * Verifies original {@link Chunk} lines against the target at the given position
+     *
+     * @param original - initial input original {@link Chunk}
+     * @param target   - initial input random access target {@link List}
+     * @param position - initial input chunk position
+     * @throws IllegalStateException if the chunk content does not match the target
+     */
+    private static <T> void verify(final Chunk<T> original, final List<T> target, int position) {
+        int index = position;
+        for (final T element : original.getLines()) {
+            if (!Objects.equals(target.get(index++), element)) {
+                throw new IllegalStateException("Incorrect DefaultChunk: the chunk content doesn't match the target");
+            }
+        }
+    }
+
+    /**
+     * Patching {@link Iterator} implementation
+     *
+     * @param <T> type of iterator element
+     */
+    private static final class PatchIterator<T> implements Iterator<T> {
+        /**
+         * Default target {@link Iterator}
+         */
+        private final Iterator<T> source;
+        /**
+         * Default {@link Iterator} of remaining {@link Delta}s
+         */
+        private final Iterator<Delta<T>> deltas;
+        /**
+         * Default next {@link Delta} to apply
+         */
+        private Delta<T> delta;
+        /**
+         * Default {@link Iterator} over revised lines being emitted
+         */
+        private Iterator<T> revised = Collections.emptyIterator();
+        /**
+         * Default number of target elements consumed
+         */
+        private int index;
+
+        private PatchIterator(final Iterator<T> source, final Iterator<Delta<T>> deltas) {
+            this.source = source;
+            this.deltas = deltas;
+            this.delta = this.nextDelta();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.revised.hasNext()) {
+                if (Objects.isNull(this.delta) || this.delta.getOriginal().getPosition() != this.index) {
+                    if (this.source.hasNext()) {
+                        return true;
+                    }
+                    checkState(Objects.isNull(this.delta), "Incorrect patch for delta: delta original position > target size");
+                    return false;
+                }
+                this.consume();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (this.revised.hasNext()) {
+                return this.revised.next();
+            }
+            this.index++;
+            return this.source.next();
+        }
+
+        /**
+         * Skips and verifies original lines of the current {@link Delta}, then switches to its revised lines
+         */
+        private void consume() {
+            for (final T element : this.delta.getOriginal().getLines()) {
+                checkState(this.source.hasNext(), "Incorrect patch for delta: delta original position > target size");
+                this.index++;
+                if (!Objects.equals(this.source.next(), element)) {
+                    throw new IllegalStateException("Incorrect DefaultChunk: the chunk content doesn't match the target");
+                }
+            }
+            this.revised = this.delta.getRevised().getLines().iterator();
+            this.delta = this.nextDelta();
+        }
+
+        /**
+         * Returns next {@link Delta} validated against consumed position, or {@code null}
+         *
+         * @return next {@link Delta} or {@code null}
+         */
+        private Delta<T> nextDelta() {
+            if (!this.deltas.hasNext()) {
+                return null;
+            }
+            final Delta<T> next = this.deltas.next();
+            checkState(next.getOriginal().getPosition() >= this.index, "Incorrect patch for delta: deltas are unordered or overlap");
+            return next;
+        }
+    }
+}
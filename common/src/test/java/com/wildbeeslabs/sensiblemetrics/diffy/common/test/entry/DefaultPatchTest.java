@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.entry;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+/**
+ * {@link DefaultPatch} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DefaultPatchTest {
+
+    @Test
+    public void test_check_DefaultPatch_ByCustomDeltaOrder() {
+        // given
+        final DefaultPatch<String> patch = new DefaultPatch<>(DefaultPatch.DEFAULT_DELTA_COMPARATOR.reversed());
+        patch.addDelta(change(0, "a", "x"));
+        patch.addDelta(change(2, "c", "y"));
+
+        // when
+        final Iterable<String> actual = patch.applyTo(Arrays.asList("a", "b", "c"));
+
+        // then
+        assertThat(actual, equalTo(Arrays.asList("x", "b", "y")));
+        assertThat(patch.getDeltas().get(0).getOriginal().getPosition(), equalTo(2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_check_DefaultPatch_ByUnmodifiableDeltas() {
+        // given
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        patch.addDelta(change(2, "c", "y"));
+
+        // when
+        patch.getDeltas().add(change(0, "a", "x"));
+    }
+
+    private static Delta<String> change(int position, final String original, final String revised) {
+        return new ChangeDelta<>(new DefaultChunk<>(position, Collections.singletonList(original)), new DefaultChunk<>(position, Collections.singletonList(revised)));
+    }
+
+    /**
+     * Change {@link Delta} implementation
+     *
+     * @param <T> type of delta element
+     */
+    private static class ChangeDelta<T> extends DefaultDelta<T> {
+
+        private ChangeDelta(final Chunk<T> original, final Chunk<T> revised) {
+            super(original, revised);
+        }
+
+        @Override
+        public void verify(final List<T> target) {
+            this.getOriginal().verify(target);
+        }
+
+        @Override
+        public void applyTo(final List<T> target) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TYPE getType() {
+            return TYPE.CHANGE;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.sort;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+/**
+ * {@link SortManager} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class SortManagerTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    public void test_check_SortManager_ByCompiledComparator() {
+        // given
+        final List<Person> persons = randomPersons(new Random(DEFAULT_SEED), 1000);
+        final SortManager sortManager = SortManager.by(
+            SortManager.SortOrder.asc("address.city").ignoreCase().nullsLast(),
+            SortManager.SortOrder.desc("age"),
+            SortManager.SortOrder.asc("name"));
+
+        // when
+        final List<Person> actual = new ArrayList<>(persons);
+        actual.sort(sortManager.toComparator(Person.class));
+
+        // then
+        final List<Person> expected = new ArrayList<>(persons);
+        expected.sort(expectedComparator());
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void test_check_SortManager_ByParallelSort() {
+        // given
+        final List<Person> persons = randomPersons(new Random(DEFAULT_SEED), 20000);
+        final SortManager sortManager = SortManager.by(
+            SortManager.SortOrder.asc("address.city").ignoreCase().nullsLast(),
+            SortManager.SortOrder.desc("age"),
+            SortManager.SortOrder.asc("name"));
+
+        // when
+        final List<Person> actual = sortManager.sort(new ArrayList<>(persons), Person.class);
+
+        // then
+        final List<Person> expected = new ArrayList<>(persons);
+        expected.sort(expectedComparator());
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_check_SortManager_ByUndefinedProperty() {
+        SortManager.by("undefined").toComparator(Person.class);
+    }
+
+    private static Comparator<Person> expectedComparator() {
+        return Comparator.comparing((Person person) -> Objects.isNull(person.getAddress()) ? null : person.getAddress().getCity(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Person::getAge, Comparator.reverseOrder())
+            .thenComparing(Person::getName);
+    }
+
+    private static List<Person> randomPersons(final Random random, int size) {
+        final String[] cities = {"Berlin", "london", "Paris", null};
+        final List<Person> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final String city = cities[random.nextInt(cities.length)];
+            result.add(new Person("name" + random.nextInt(100), random.nextInt(50), Objects.isNull(city) ? null : new Address(city)));
+        }
+        return result;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Address {
+        private String city;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Person {
+        private String name;
+        private int age;
+        private Address address;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.common.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.PatchUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.ExpectedException;
+
+import java.util.*;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link PatchUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class PatchUtilsTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    /**
+     * Default {@link ExpectedException} rule
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    @DisplayName("Test single pass patch application to lists, arrays and iterators")
+    public void test_apply_whenPassedListsArraysAndIterators() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            final List<Integer> original = randomList(random, random.nextInt(60), 5);
+            final Patch<Integer> patch = randomPatch(random, original);
+            final List<Integer> revised = revise(original, patch);
+
+            // when
+            final List<Integer> actual = new ArrayList<>();
+            PatchUtils.apply(original.iterator(), patch).forEachRemaining(actual::add);
+
+            // then
+            assertEquals(revised, PatchUtils.apply(original, patch));
+            assertEquals(revised, PatchUtils.apply(new LinkedList<>(original), patch));
+            assertArrayEquals(revised.toArray(new Integer[0]), PatchUtils.apply(original.toArray(new Integer[0]), patch));
+            assertThat(actual, equalTo(revised));
+        }
+    }
+
+    @Test
+    @DisplayName("Test single pass patch application verifies chunks when they are reached")
+    public void test_apply_whenPassedMismatchedIterator() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d");
+        final DefaultPatch<String> patch = new DefaultPatch<>();
+        patch.addDelta(new ChangeDelta<>(new DefaultChunk<>(3, Arrays.asList("d")), new DefaultChunk<>(3, Arrays.asList("x"))));
+        final Iterator<String> iterator = PatchUtils.apply(Arrays.asList("a", "b", "c", "e").iterator(), patch);
+
+        // then
+        assertThat(iterator.next(), equalTo("a"));
+        assertThat(iterator.next(), equalTo("b"));
+        assertThat(iterator.next(), equalTo("c"));
+
+        // when
+        thrown.expect(IllegalStateException.class);
+        iterator.next();
+    }
+
+    private static List<Integer> randomList(final Random random, int size, int bound) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+
+    private static Patch<Integer> randomPatch(final Random random, final List<Integer> original) {
+        final DefaultPatch<Integer> patch = new DefaultPatch<>();
+        int offset = 0;
+        for (int position = random.nextInt(4); position <= original.size(); position += 1 + random.nextInt(4)) {
+            final List<Integer> lines = new ArrayList<>(original.subList(position, position + random.nextInt(Math.min(3, original.size() - position) + 1)));
+            final List<Integer> revised = randomList(random, random.nextInt(3), 5);
+            if (!lines.isEmpty() || !revised.isEmpty()) {
+                patch.addDelta(new ChangeDelta<>(new DefaultChunk<>(position, lines), new DefaultChunk<>(position + offset, revised)));
+                offset += revised.size() - lines.size();
+                position += lines.size();
+            }
+        }
+        return patch;
+    }
+
+    private static List<Integer> revise(final List<Integer> original, final Patch<Integer> patch) {
+        final List<Integer> result = new ArrayList<>(original);
+        final List<Delta<Integer>> deltas = patch.getDeltas();
+        for (int i = deltas.size() - 1; i >= 0; i--) {
+            final Delta<Integer> delta = deltas.get(i);
+            final int position = delta.getOriginal().getPosition();
+            result.subList(position, position + delta.getOriginal().size()).clear();
+            result.addAll(position, delta.getRevised().getLines());
+        }
+        return result;
+    }
+
+    /**
+     * Change {@link Delta} implementation
+     *
+     * @param <T> type of delta element
+     */
+    private static class ChangeDelta<T> extends DefaultDelta<T> {
+
+        private ChangeDelta(final Chunk<T> original, final Chunk<T> revised) {
+            super(original, revised);
+        }
+
+        @Override
+        public void verify(final List<T> target) {
+            this.getOriginal().verify(target);
+        }
+
+        @Override
+        public void applyTo(final List<T> target) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TYPE getType() {
+            return TYPE.CHANGE;
+        }
+    }
+}
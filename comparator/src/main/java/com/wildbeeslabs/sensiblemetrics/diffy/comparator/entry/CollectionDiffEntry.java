@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.entry;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import lombok.*;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collection difference entry implementation
+ * <p>
+ * Describes a single element matched by key between two collections: its change type, positions on both sides
+ * and property level difference entries of matched elements. Positions of a missing side are {@code -1}.
+ *
+ * @param <K> type of element key
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@EqualsAndHashCode
+@ToString
+public class CollectionDiffEntry<K> implements DiffEntry<Object> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = 4062314658902311743L;
+
+    /**
+     * Collection difference entry type {@link Enum}
+     */
+    public enum EntryType {
+        /**
+         * Element present in last collection only
+         */
+        ADDED,
+        /**
+         * Element present in first collection only
+         */
+        REMOVED,
+        /**
+         * Element present in both collections with different properties
+         */
+        CHANGED,
+        /**
+         * Element present in both collections out of relative order, properties may differ as well
+         */
+        MOVED
+    }
+
+    /**
+     * Default entry type {@link EntryType}
+     */
+    private EntryType type;
+    /**
+     * Default element key
+     */
+    private transient K key;
+    /**
+     * Default element position in first collection
+     */
+    private int firstIndex;
+    /**
+     * Default element position in last collection
+     */
+    private int lastIndex;
+    /**
+     * Default element of first collection
+     */
+    private transient Object first;
+    /**
+     * Default element of last collection
+     */
+    private transient Object last;
+    /**
+     * Default property difference entries {@link List}
+     */
+    private List<DiffEntry<?>> properties;
+
+    /**
+     * Returns element key as property name {@link String}
+     *
+     * @return property name {@link String}
+     */
+    @Override
+    public String getPropertyName() {
+        return String.valueOf(this.key);
+    }
+
+    /**
+     * Returns binary flag depending on whether properties of matched elements differ
+     *
+     * @return true - if properties differ, false - otherwise
+     */
+    public boolean isChanged() {
+        return Objects.nonNull(this.properties) && !this.properties.isEmpty();
+    }
+}
@@ -24,11 +24,16 @@
 package com.wildbeeslabs.sensiblemetrics.diffy.comparator.factory;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.annotation.Factory;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.CompiledDiffComparator;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.experimental.UtilityClass;
 
-import java.util.Comparator;
+import java.lang.ref.SoftReference;
+import java.util.*;
 
 /**
  * Default difference comparator factory implementation
@@ -41,6 +46,27 @@ import java.util.Comparator;
 @SuppressWarnings("unchecked")
 public class DefaultDiffComparatorFactory {
 
+    /**
+     * Default maximum number of cached compiled comparators per class
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    /**
+     * Default compiled comparators cache by class, every class keeps a bounded {@link Map} of recently used comparators
+     * held by soft references, so that they are released under memory pressure and do not keep the class reachable afterwards
+     */
+    private static final ClassValue<Map<CompiledKey, SoftReference<CompiledDiffComparator<?>>>> COMPILED_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<CompiledKey, SoftReference<CompiledDiffComparator<?>>> computeValue(final Class<?> type) {
+            return new LinkedHashMap<CompiledKey, SoftReference<CompiledDiffComparator<?>>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<CompiledKey, SoftReference<CompiledDiffComparator<?>>> eldest) {
+                    return this.size() > DEFAULT_CACHE_SIZE;
+                }
+            };
+        }
+    };
+
     /**
      * Creates difference comparator instance {@link DiffComparator} by class instance {@link Class}
      *
@@ -137,4 +163,72 @@ public class DefaultDiffComparatorFactory {
         defaultDiffComparator.excludeProperties(excludeProperties);
         return (E) defaultDiffComparator;
     }
+
+    /**
+     * Returns shared compiled difference comparator instance {@link CompiledDiffComparator} by class instance {@link Class}
+     *
+     * @param <T>   type of input element to create comparator for
+     * @param <E>   type of difference comparator instance
+     * @param clazz - initial class instance {@link Class} to initialize comparator {@link DiffComparator}
+     * @return frozen difference comparator {@link CompiledDiffComparator}
+     */
+    @Factory
+    public static <T, E extends DiffComparator<T>> E createCompiled(final Class<? extends T> clazz) {
+        return createCompiled(clazz, null, null, null, null);
+    }
+
+    /**
+     * Returns shared compiled difference comparator instance {@link CompiledDiffComparator} by class instance {@link Class},
+     * comparator instance {@link Comparator}, iterableOf collections of included/excluded properties {@link Iterable} and property comparators {@link Map}.
+     * Comparators are compiled once per distinct arguments and cached, up to {@link #DEFAULT_CACHE_SIZE} least recently used
+     * ones per class, returned instances are frozen
+     *
+     * @param <T>               type of input element to create comparator for
+     * @param <E>               type of difference comparator instance
+     * @param clazz             - initial class instance {@link Class} to initialize comparator {@link DiffComparator}
+     * @param comparator        - initial comparator instance {@link Comparator}
+     * @param includeProperties - initial iterableOf collection of included properties {@link Iterable}
+     * @param excludeProperties - initial iterableOf collection of excluded properties {@link Iterable}
+     * @param comparators       - initial property comparators {@link Map}
+     * @return frozen difference comparator {@link CompiledDiffComparator}
+     */
+    @Factory
+    public static <T, E extends DiffComparator<T>> E createCompiled(final Class<? extends T> clazz, final Comparator<? super T> comparator, final Iterable<String> includeProperties, final Iterable<String> excludeProperties, final Map<String, Comparator<?>> comparators) {
+        ValidationUtils.notNull(clazz, "Class should not be null!");
+        final CompiledKey key = new CompiledKey(comparator, toList(includeProperties), toList(excludeProperties), Objects.isNull(comparators) ? Collections.emptyMap() : new HashMap<>(comparators));
+        final Map<CompiledKey, SoftReference<CompiledDiffComparator<?>>> cache = COMPILED_CACHE.get(clazz);
+        synchronized (cache) {
+            final CompiledDiffComparator<?> cached = Optional.ofNullable(cache.get(key)).map(SoftReference::get).orElse(null);
+            if (Objects.nonNull(cached)) {
+                return (E) cached;
+            }
+            final CompiledDiffComparator<T> compiledDiffComparator = new CompiledDiffComparator<>(clazz, comparator);
+            Optional.ofNullable(key.includeProperties).ifPresent(compiledDiffComparator::includeProperties);
+            Optional.ofNullable(key.excludeProperties).ifPresent(compiledDiffComparator::excludeProperties);
+            key.comparators.forEach(compiledDiffComparator::setComparator);
+            cache.put(key, new SoftReference<>(compiledDiffComparator.freeze()));
+            return (E) compiledDiffComparator;
+        }
+    }
+
+    private static List<String> toList(final Iterable<String> properties) {
+        if (Objects.isNull(properties)) {
+            return null;
+        }
+        final List<String> result = new ArrayList<>();
+        properties.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Compiled comparators cache key by class
+     */
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CompiledKey {
+        private final Comparator<?> comparator;
+        private final List<String> includeProperties;
+        private final List<String> excludeProperties;
+        private final Map<String, Comparator<?>> comparators;
+    }
 }
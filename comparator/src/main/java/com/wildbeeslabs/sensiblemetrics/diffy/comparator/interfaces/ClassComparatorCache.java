@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Comparator cache by runtime class {@link Class}
+ * <p>
+ * Resolves {@link Comparator} once per class and keeps it in a {@link ClassValue}, so dispatch is a single lookup and
+ * resolved comparators are shared. Comparators registered for a class or any of its superclasses and interfaces take
+ * precedence over built-in ones, every registration invalidates resolved comparators.
+ */
+final class ClassComparatorCache {
+
+    /**
+     * Default shared object {@link Comparator}
+     */
+    static final Comparator<Object> DEFAULT_COMPARATOR = new ComparatorUtils.DefaultNullSafeObjectComparator<>();
+
+    /**
+     * Default registered comparators {@link Map} by class
+     */
+    private static final Map<Class<?>, Comparator<?>> REGISTERED = new ConcurrentHashMap<>();
+    /**
+     * Default shared built-in comparators {@link Map} by class
+     */
+    private static final Map<Class<?>, Comparator<?>> BUILT_IN = new LinkedHashMap<>();
+    /**
+     * Default registrations version
+     */
+    private static volatile int version;
+
+    /**
+     * Default resolved comparators by class
+     */
+    private static final ClassValue<Resolved> CACHE = new ClassValue<>() {
+        @Override
+        protected Resolved computeValue(final Class<?> type) {
+            final int current = version;
+            return new Resolved(current, resolve(type));
+        }
+    };
+
+    static {
+        BUILT_IN.put(Locale.class, new ComparatorUtils.DefaultNullSafeLocaleComparator());
+        BUILT_IN.put(Currency.class, new ComparatorUtils.DefaultNullSafeCurrencyComparator());
+        BUILT_IN.put(Class.class, new ComparatorUtils.DefaultNullSafeClassComparator());
+        BUILT_IN.put(URL.class, new ComparatorUtils.DefaultNullSafeUrlComparator());
+        BUILT_IN.put(Iterable.class, new ComparatorUtils.DefaultNullSafeIterableComparator<>());
+        BUILT_IN.put(BigDecimal.class, new ComparatorUtils.DefaultNullSafeBigDecimalComparator());
+        BUILT_IN.put(Object[].class, new ComparatorUtils.DefaultNullSafeArrayComparator<>());
+        BUILT_IN.put(byte[].class, new ComparatorUtils.LexicographicalNullSafeByteArrayComparator());
+        BUILT_IN.put(short[].class, new ComparatorUtils.LexicographicalNullSafeShortArrayComparator());
+        BUILT_IN.put(int[].class, new ComparatorUtils.LexicographicalNullSafeIntArrayComparator());
+        BUILT_IN.put(long[].class, new ComparatorUtils.LexicographicalNullSafeLongArrayComparator());
+        BUILT_IN.put(float[].class, new ComparatorUtils.LexicographicalNullSafeFloatArrayComparator());
+        BUILT_IN.put(double[].class, new ComparatorUtils.LexicographicalNullSafeDoubleArrayComparator());
+        BUILT_IN.put(char[].class, new ComparatorUtils.LexicographicalNullSafeCharacterArrayComparator());
+        BUILT_IN.put(boolean[].class, new ComparatorUtils.LexicographicalNullSafeBooleanArrayComparator());
+    }
+
+    private ClassComparatorCache() {
+    }
+
+    /**
+     * Returns resolved {@link Comparator} by class {@link Class}
+     *
+     * @param type - initial input {@link Class}
+     * @return {@link Comparator}
+     */
+    static Comparator<?> get(final Class<?> type) {
+        Resolved resolved = CACHE.get(type);
+        while (resolved.version != version) {
+            CACHE.remove(type);
+            resolved = CACHE.get(type);
+        }
+        return resolved.comparator;
+    }
+
+    /**
+     * Returns registrations version, changed by every registration
+     *
+     * @return registrations version
+     */
+    static int version() {
+        return version;
+    }
+
+    /**
+     * Returns binary flag depending on whether {@link Comparator} is a shared built-in one
+     *
+     * @param comparator - initial input {@link Comparator}
+     * @return true - if comparator is built-in, false - otherwise
+     */
+    static boolean isBuiltIn(final Comparator<?> comparator) {
+        return BUILT_IN.values().stream().anyMatch(value -> value == comparator);
+    }
+
+    /**
+     * Registers {@link Comparator} by class {@link Class}, {@code null} comparator removes registration
+     *
+     * @param type       - initial input {@link Class}
+     * @param comparator - initial input {@link Comparator}
+     */
+    static synchronized void register(final Class<?> type, final Comparator<?> comparator) {
+        if (Objects.isNull(comparator)) {
+            REGISTERED.remove(type);
+        } else {
+            REGISTERED.put(type, comparator);
+        }
+        version++;
+    }
+
+    private static Comparator<?> resolve(final Class<?> type) {
+        if (!REGISTERED.isEmpty()) {
+            final Deque<Class<?>> queue = new ArrayDeque<>();
+            final Set<Class<?>> visited = new HashSet<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                final Class<?> current = queue.poll();
+                if (!visited.add(current)) {
+                    continue;
+                }
+                final Comparator<?> comparator = REGISTERED.get(current);
+                if (Objects.nonNull(comparator)) {
+                    return comparator;
+                }
+                Optional.ofNullable(current.getSuperclass()).ifPresent(queue::add);
+                queue.addAll(Arrays.asList(current.getInterfaces()));
+            }
+        }
+        if (type.isArray()) {
+            return BUILT_IN.getOrDefault(type.getComponentType().isPrimitive() ? type : Object[].class, DEFAULT_COMPARATOR);
+        }
+        for (final Map.Entry<Class<?>, Comparator<?>> entry : BUILT_IN.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+                return entry.getValue();
+            }
+        }
+        return DEFAULT_COMPARATOR;
+    }
+
+    /**
+     * Resolved comparator with registrations version
+     */
+    private static final class Resolved {
+        /**
+         * Default registrations version
+         */
+        private final int version;
+        /**
+         * Default resolved {@link Comparator}
+         */
+        private final Comparator<?> comparator;
+
+        private Resolved(int version, final Comparator<?> comparator) {
+            this.version = version;
+            this.comparator = comparator;
+        }
+    }
+}
@@ -42,6 +42,7 @@ import java.util.function.BinaryOperator;
  * @since 1.0
  */
 @FunctionalInterface
+@SuppressWarnings("unchecked")
 public interface ComparatorDispatcher<T> extends Serializable {
 
     /**
@@ -53,6 +54,90 @@ public interface ComparatorDispatcher<T> extends Serializable {
     @NonNull
     Comparator<? super T> getComparator(final SortManager sortManager);
 
+    /**
+     * Returns shared {@link Comparator} resolved by runtime class {@link Class}. Comparators registered for the class
+     * or its superclasses and interfaces take precedence over built-in ones. Primitive arrays resolve to lexicographical
+     * comparators of their own array class, object arrays share a single element-wise comparator regardless of component type.
+     * Resolution is cached per class, so repeated dispatch is a single lookup
+     *
+     * @param <E>   type of element to be compared
+     * @param clazz - initial input {@link Class}
+     * @return {@link Comparator}
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    @NonNull
+    static <E> Comparator<? super E> forClass(final Class<? extends E> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        return (Comparator<? super E>) ClassComparatorCache.get(clazz);
+    }
+
+    /**
+     * Returns shared default {@link Comparator} for classes without registered or built-in comparators
+     *
+     * @return default {@link Comparator}
+     */
+    @NonNull
+    static Comparator<Object> getDefaultComparator() {
+        return ClassComparatorCache.DEFAULT_COMPARATOR;
+    }
+
+    /**
+     * Returns binary flag depending on whether {@link Comparator} is the default one returned for classes without
+     * registered or built-in comparators
+     *
+     * @param comparator - initial input {@link Comparator}
+     * @return true - if comparator is the default one, false - otherwise
+     */
+    static boolean isDefault(final Comparator<?> comparator) {
+        return comparator == ClassComparatorCache.DEFAULT_COMPARATOR;
+    }
+
+    /**
+     * Returns binary flag depending on whether {@link Comparator} is one of the shared built-in comparators returned for
+     * classes without registered ones
+     *
+     * @param comparator - initial input {@link Comparator}
+     * @return true - if comparator is a built-in one, false - otherwise
+     */
+    static boolean isBuiltIn(final Comparator<?> comparator) {
+        return ClassComparatorCache.isBuiltIn(comparator);
+    }
+
+    /**
+     * Returns version of registered comparators, changed by every {@link #register(Class, Comparator)} and
+     * {@link #unregister(Class)} call, so that comparators resolved earlier can be checked for staleness
+     *
+     * @return registrations version
+     */
+    static int getVersion() {
+        return ClassComparatorCache.version();
+    }
+
+    /**
+     * Registers {@link Comparator} for class {@link Class} and its subclasses
+     *
+     * @param <E>        type of element to be compared
+     * @param clazz      - initial input {@link Class}
+     * @param comparator - initial input {@link Comparator}
+     * @throws IllegalArgumentException if clazz or comparator is {@code null}
+     */
+    static <E> void register(final Class<E> clazz, final Comparator<? super E> comparator) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        ClassComparatorCache.register(clazz, comparator);
+    }
+
+    /**
+     * Removes {@link Comparator} registered for class {@link Class}
+     *
+     * @param clazz - initial input {@link Class}
+     * @throws IllegalArgumentException if clazz is {@code null}
+     */
+    static void unregister(final Class<?> clazz) {
+        ValidationUtils.notNull(clazz, "Class should not be null");
+        ClassComparatorCache.register(clazz, null);
+    }
+
     /**
      * Returns {@link BiMatcher} by input {@link Comparator}
      *
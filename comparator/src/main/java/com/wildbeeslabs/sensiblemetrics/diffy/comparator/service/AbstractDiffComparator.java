@@ -28,6 +28,7 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ParserUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
 import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
 import lombok.Data;
@@ -216,7 +217,7 @@ public abstract class AbstractDiffComparator<T> implements DiffComparator<T> {
      */
     @SuppressWarnings("unchecked")
     protected Comparator<?> getPropertyComparator(final String property) {
-        return this.getPropertyComparatorMap().getOrDefault(ParserUtils.sanitize(property), new ComparatorUtils.DefaultNullSafeObjectComparator());
+        return this.getPropertyComparatorMap().getOrDefault(ParserUtils.sanitize(property), ComparatorDispatcher.getDefaultComparator());
     }
 
     /**
@@ -0,0 +1,530 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Compiled difference comparator implementation by input class {@link Class} / comparator instance {@link Comparator}
+ * <p>
+ * Every compared property is compiled into a {@link MethodHandle} getter and a pre-resolved property {@link Comparator},
+ * so {@link #diffCompare(Object, Object)} runs without reflective calls or per-call lookups. Property comparators are
+ * resolved as by {@link DefaultDiffComparator}. Primitive properties without a custom or registered comparator are read
+ * through primitive-typed getters and compared without boxing, primitive array properties with built-in comparators
+ * are compared by contents.
+ * Properties are compiled at construction and recompiled lazily after the set of properties or comparators is changed,
+ * or after comparators are registered by {@link ComparatorDispatcher#register(Class, Comparator)},
+ * a frozen comparator rejects such changes, exposes its properties and comparators as unmodifiable views and can be shared.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Slf4j
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@SuppressWarnings("unchecked")
+public class CompiledDiffComparator<T> extends DefaultDiffComparator<T> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -5107353196425914812L;
+
+    /**
+     * Default getter {@link MethodType}
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Default compiled properties, {@code null} if not compiled yet
+     */
+    @ToString.Exclude
+    private transient volatile Compiled compiled;
+    /**
+     * Default frozen flag
+     */
+    @EqualsAndHashCode.Exclude
+    private volatile boolean frozen;
+
+    /**
+     * Creates compiled difference comparator with initial class {@link Class}
+     *
+     * @param clazz - initial class instance {@link Class}
+     */
+    public CompiledDiffComparator(final Class<? extends T> clazz) {
+        this(clazz, null);
+    }
+
+    /**
+     * Creates compiled difference comparator with initial class {@link Class} and comparator instance {@link Comparator}
+     *
+     * @param clazz      - initial class instance {@link Class}
+     * @param comparator - initial comparator instance {@link Comparator}
+     */
+    public CompiledDiffComparator(final Class<? extends T> clazz, final Comparator<? super T> comparator) {
+        super(clazz, comparator);
+        this.compiled = this.compile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void excludeProperty(final String property) {
+        this.checkModifiable();
+        super.excludeProperty(property);
+        this.compiled = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void includeProperties(final Iterable<String> properties) {
+        this.checkModifiable();
+        super.includeProperties(properties);
+        this.compiled = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void includeProperty(final String property) {
+        this.checkModifiable();
+        super.includeProperty(property);
+        this.compiled = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setComparator(final String property, final Comparator<?> comparator) {
+        this.checkModifiable();
+        super.setComparator(property, comparator);
+        this.compiled = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeComparator(final String property) {
+        this.checkModifiable();
+        super.removeComparator(property);
+        this.compiled = null;
+    }
+
+    /**
+     * Compiles properties and freezes the comparator, so that properties and comparators can not be changed anymore
+     *
+     * @return this {@link CompiledDiffComparator}
+     */
+    public CompiledDiffComparator<T> freeze() {
+        this.compiled = this.compile();
+        this.frozen = true;
+        return this;
+    }
+
+    /**
+     * Returns binary flag depending on whether the comparator is frozen
+     *
+     * @return true - if comparator is frozen, false - otherwise
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Returns collection of compared properties {@link Set}, unmodifiable once the comparator is frozen
+     *
+     * @return collection of properties {@link Set}
+     */
+    @Override
+    public Set<String> getPropertySet() {
+        return this.frozen ? Collections.unmodifiableSet(super.getPropertySet()) : super.getPropertySet();
+    }
+
+    /**
+     * Returns property comparators {@link Map}, unmodifiable once the comparator is frozen
+     *
+     * @return property comparators {@link Map}
+     */
+    @Override
+    public Map<String, Comparator<?>> getPropertyComparatorMap() {
+        return this.frozen ? Collections.unmodifiableMap(super.getPropertyComparatorMap()) : super.getPropertyComparatorMap();
+    }
+
+    /**
+     * Returns property fields {@link Map}, unmodifiable once the comparator is frozen
+     *
+     * @return property fields {@link Map}
+     */
+    @Override
+    public Map<String, Field> getPropertyMap() {
+        return this.frozen ? Collections.unmodifiableMap(super.getPropertyMap()) : super.getPropertyMap();
+    }
+
+    /**
+     * Returns iterableOf collection of difference entries {@link DiffEntry}
+     *
+     * @param <S>   type of difference entry collection
+     * @param first - initial first argument to be compared {@code T}
+     * @param last  - initial last argument to be compared with {@code T}
+     * @return collection of {@link DiffEntry} instances
+     */
+    @Override
+    public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final T first, final T last) {
+        Compiled compiled = this.compiled;
+        if (Objects.isNull(compiled) || compiled.version != ComparatorDispatcher.getVersion()) {
+            compiled = this.compiled = this.compile();
+        }
+        final List<DiffEntry<?>> result = new ArrayList<>();
+        for (final CompiledProperty property : compiled.properties) {
+            final DiffEntry<?> entry = property.diff(first, last);
+            if (Objects.nonNull(entry)) {
+                result.add(entry);
+            }
+        }
+        return (S) result;
+    }
+
+    /**
+     * Returns compiled properties in comparison order
+     *
+     * @return {@link Compiled} properties
+     */
+    private Compiled compile() {
+        final int version = ComparatorDispatcher.getVersion();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final List<CompiledProperty> result = new ArrayList<>(this.getPropertySet().size());
+        for (final String property : this.getPropertySet()) {
+            final Field field = this.getPropertyMap().get(property);
+            if (Objects.isNull(field)) {
+                continue;
+            }
+            try {
+                ReflectionUtils.setAccessible(field);
+                final MethodHandle getter = lookup.unreflectGetter(field);
+                final Comparator<Object> comparator = (Comparator<Object>) this.getPropertyComparator(property);
+                result.add(compile(property, field.getType(), getter, comparator));
+            } catch (IllegalAccessException e) {
+                log.error(StringUtils.formatMessage("ERROR: cannot process property: {%s}, message: {%s}", property, e.getMessage()));
+            }
+        }
+        return new Compiled(version, result.toArray(new CompiledProperty[0]));
+    }
+
+    private void checkModifiable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Frozen comparator should not be modified");
+        }
+    }
+
+    /**
+     * Returns {@link CompiledProperty} specialized by property type
+     *
+     * @param name       - initial input property name
+     * @param type       - initial input property type
+     * @param getter     - initial input getter {@link MethodHandle}
+     * @param comparator - initial input resolved property {@link Comparator}
+     * @return {@link CompiledProperty}
+     */
+    private static CompiledProperty compile(final String name, final Class<?> type, final MethodHandle getter, final Comparator<Object> comparator) {
+        final MethodHandle boxed = getter.asType(GETTER_TYPE);
+        if (type.isPrimitive() && ComparatorDispatcher.isDefault(comparator)) {
+            if (type == long.class) {
+                return new LongProperty(name, boxed, getter.asType(MethodType.methodType(long.class, Object.class)));
+            } else if (type == double.class || type == float.class) {
+                return new DoubleProperty(name, boxed, getter.asType(MethodType.methodType(double.class, Object.class)));
+            } else if (type == boolean.class) {
+                return new BooleanProperty(name, boxed, getter.asType(MethodType.methodType(boolean.class, Object.class)));
+            }
+            return new IntProperty(name, boxed, getter.asType(MethodType.methodType(int.class, Object.class)));
+        }
+        if (type.isArray() && type.getComponentType().isPrimitive() && ComparatorDispatcher.isBuiltIn(comparator)) {
+            return new ArrayProperty(name, boxed);
+        }
+        return new ObjectProperty(name, boxed, comparator);
+    }
+
+    /**
+     * Returns {@link IllegalStateException} wrapping checked getter failure, rethrows unchecked ones
+     *
+     * @param throwable - initial input {@link Throwable}
+     * @return {@link IllegalStateException}
+     */
+    private static IllegalStateException propagate(final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    /**
+     * Compiled properties with registrations version they were resolved by
+     */
+    private static final class Compiled {
+        /**
+         * Default registrations version
+         */
+        private final int version;
+        /**
+         * Default compiled properties in comparison order
+         */
+        private final CompiledProperty[] properties;
+
+        private Compiled(int version, final CompiledProperty[] properties) {
+            this.version = version;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Compiled property with {@link MethodHandle} getter
+     */
+    private abstract static class CompiledProperty {
+        /**
+         * Default property name
+         */
+        protected final String name;
+        /**
+         * Default boxing getter {@link MethodHandle} of {@code (Object)Object} type
+         */
+        protected final MethodHandle getter;
+
+        private CompiledProperty(final String name, final MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        /**
+         * Returns {@link DiffEntry} if property values differ, {@code null} otherwise
+         *
+         * @param first - initial first argument to be compared
+         * @param last  - initial last argument to be compared with
+         * @return {@link DiffEntry} or {@code null}
+         */
+        protected abstract DiffEntry<?> diff(final Object first, final Object last);
+
+        /**
+         * Returns {@link DiffEntry} of boxed property values
+         *
+         * @param first - initial first argument
+         * @param last  - initial last argument
+         * @return {@link DiffEntry}
+         */
+        protected DiffEntry<?> entry(final Object first, final Object last) {
+            try {
+                return DefaultDiffEntry.of(this.name, (Object) this.getter.invokeExact(first), (Object) this.getter.invokeExact(last));
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+    }
+
+    /**
+     * Compiled reference property compared by {@link Comparator}
+     */
+    private static final class ObjectProperty extends CompiledProperty {
+        /**
+         * Default property {@link Comparator}
+         */
+        private final Comparator<Object> comparator;
+
+        private ObjectProperty(final String name, final MethodHandle getter, final Comparator<Object> comparator) {
+            super(name, getter);
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            final Object firstValue;
+            final Object lastValue;
+            try {
+                firstValue = (Object) this.getter.invokeExact(first);
+                lastValue = (Object) this.getter.invokeExact(last);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            if (Objects.compare(firstValue, lastValue, this.comparator) != 0) {
+                return DefaultDiffEntry.of(this.name, firstValue, lastValue);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Compiled array property compared by contents
+     */
+    private static final class ArrayProperty extends CompiledProperty {
+
+        private ArrayProperty(final String name, final MethodHandle getter) {
+            super(name, getter);
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            final Object firstValue;
+            final Object lastValue;
+            try {
+                firstValue = (Object) this.getter.invokeExact(first);
+                lastValue = (Object) this.getter.invokeExact(last);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            if (!ComparatorUtils.equalsArray(firstValue, lastValue)) {
+                return DefaultDiffEntry.of(this.name, firstValue, lastValue);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Compiled {@code int}, {@code short}, {@code byte} or {@code char} property
+     */
+    private static final class IntProperty extends CompiledProperty {
+        /**
+         * Default getter {@link MethodHandle} of {@code (Object)int} type
+         */
+        private final MethodHandle value;
+
+        private IntProperty(final String name, final MethodHandle getter, final MethodHandle value) {
+            super(name, getter);
+            this.value = value;
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            try {
+                if ((int) this.value.invokeExact(first) == (int) this.value.invokeExact(last)) {
+                    return null;
+                }
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            return this.entry(first, last);
+        }
+    }
+
+    /**
+     * Compiled {@code long} property
+     */
+    private static final class LongProperty extends CompiledProperty {
+        /**
+         * Default getter {@link MethodHandle} of {@code (Object)long} type
+         */
+        private final MethodHandle value;
+
+        private LongProperty(final String name, final MethodHandle getter, final MethodHandle value) {
+            super(name, getter);
+            this.value = value;
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            try {
+                if ((long) this.value.invokeExact(first) == (long) this.value.invokeExact(last)) {
+                    return null;
+                }
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            return this.entry(first, last);
+        }
+    }
+
+    /**
+     * Compiled {@code double} or {@code float} property, compared as by {@link Double#compare(double, double)}
+     */
+    private static final class DoubleProperty extends CompiledProperty {
+        /**
+         * Default getter {@link MethodHandle} of {@code (Object)double} type
+         */
+        private final MethodHandle value;
+
+        private DoubleProperty(final String name, final MethodHandle getter, final MethodHandle value) {
+            super(name, getter);
+            this.value = value;
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            try {
+                if (Double.compare((double) this.value.invokeExact(first), (double) this.value.invokeExact(last)) == 0) {
+                    return null;
+                }
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            return this.entry(first, last);
+        }
+    }
+
+    /**
+     * Compiled {@code boolean} property
+     */
+    private static final class BooleanProperty extends CompiledProperty {
+        /**
+         * Default getter {@link MethodHandle} of {@code (Object)boolean} type
+         */
+        private final MethodHandle value;
+
+        private BooleanProperty(final String name, final MethodHandle getter, final MethodHandle value) {
+            super(name, getter);
+            this.value = value;
+        }
+
+        @Override
+        protected DiffEntry<?> diff(final Object first, final Object last) {
+            try {
+                if ((boolean) this.value.invokeExact(first) == (boolean) this.value.invokeExact(last)) {
+                    return null;
+                }
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+            return this.entry(first, last);
+        }
+    }
+}
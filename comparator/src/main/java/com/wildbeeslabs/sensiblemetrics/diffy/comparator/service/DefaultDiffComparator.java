@@ -27,7 +27,7 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.sort.SortManager;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ParserUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
-import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
 import lombok.Data;
@@ -37,10 +37,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.net.URL;
-import java.util.Comparator;
-import java.util.Currency;
-import java.util.Locale;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -63,6 +60,11 @@ public class DefaultDiffComparator<T> extends AbstractDiffComparator<T> {
      */
     private static final long serialVersionUID = 2088063953605270171L;
 
+    /**
+     * Default property types compared by dispatched comparators ahead of property comparators
+     */
+    private static final List<Class<?>> DISPATCHED_TYPES = Arrays.asList(Locale.class, Currency.class, Class.class, URL.class, Iterable.class, BigDecimal.class);
+
     /**
      * Creates default difference comparator with initial class {@link Class}
      *
@@ -84,6 +86,9 @@ public class DefaultDiffComparator<T> extends AbstractDiffComparator<T> {
 
     /**
      * Returns comparator instance {@link Comparator} by property name {@link String}
+     * <p>
+     * Properties of locale, currency, class, url, iterable, big decimal and object array types are compared by
+     * dispatched comparators, any other property by its property comparator if present or dispatched comparator otherwise
      *
      * @param property - initial property name {@link String}
      * @return property {@link Comparator}}
@@ -92,25 +97,18 @@ public class DefaultDiffComparator<T> extends AbstractDiffComparator<T> {
     @SuppressWarnings("unchecked")
     protected Comparator<?> getPropertyComparator(final String property) {
         final Class<?> fieldClazz = this.getPropertyMap().get(property).getType();
-        if (Locale.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeLocaleComparator();
-        } else if (Currency.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeCurrencyComparator();
-        } else if (Class.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeClassComparator();
-        } else if (URL.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeUrlComparator();
-        } else if (Iterable.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeIterableComparator<>();
-        } else if (BigDecimal.class.isAssignableFrom(fieldClazz)) {
-            return new ComparatorUtils.DefaultNullSafeBigDecimalComparator();
+        final Comparator<?> comparator = ComparatorDispatcher.forClass(fieldClazz);
+        if (isDispatched(fieldClazz)) {
+            return comparator;
         }
-        if (fieldClazz.isArray()) {
-            if (Object.class.isAssignableFrom(fieldClazz.getComponentType())) {
-                return new ComparatorUtils.DefaultNullSafeArrayComparator<>();
-            }
+        return this.getPropertyComparatorMap().getOrDefault(ParserUtils.sanitize(property), comparator);
+    }
+
+    private static boolean isDispatched(final Class<?> clazz) {
+        if (clazz.isArray()) {
+            return !clazz.getComponentType().isPrimitive();
         }
-        return this.getPropertyComparatorMap().getOrDefault(ParserUtils.sanitize(property), new ComparatorUtils.DefaultNullSafeObjectComparator());
+        return DISPATCHED_TYPES.stream().anyMatch(type -> type.isAssignableFrom(clazz));
     }
 
     /**
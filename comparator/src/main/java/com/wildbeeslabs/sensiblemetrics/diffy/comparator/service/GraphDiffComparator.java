@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.StringUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.impl.DefaultDiffEntry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ReflectionUtils.*;
+
+/**
+ * Object graph difference comparator implementation
+ * <p>
+ * Walks nested beans, lists, sets, maps and arrays of both arguments and reports {@link DiffEntry} of every differing leaf
+ * with full property path, e.g. {@code address.city} or {@code orders[2].items[key]}. Arrays, lists, sets and maps are
+ * compared by contents whatever their implementation classes, beans by fields in declaration order only if both are of
+ * the same class. Simple types and JDK classes are compared by {@link Object#equals(Object)}. Visited pairs are tracked
+ * by identity, so cycles and shared subgraphs are walked once. Pairs deeper than maximum depth, or met after the maximum
+ * number of nodes is walked, are compared by {@link Objects#deepEquals(Object, Object)} without descending.
+ *
+ * @param <T> type of input element to be compared by operation
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Slf4j
+@Getter
+@EqualsAndHashCode
+@ToString
+public class GraphDiffComparator<T> implements DiffComparator<T> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = 6518047783946392163L;
+
+    /**
+     * Default maximum depth
+     */
+    public static final int DEFAULT_MAX_DEPTH = 32;
+    /**
+     * Default maximum number of walked nodes
+     */
+    public static final int DEFAULT_MAX_NODES = 100_000;
+
+    /**
+     * Default comparable fields by class in declaration order, superclass fields first
+     */
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            final List<Class<?>> classes = getAllSuperclasses(type);
+            Collections.reverse(classes);
+            classes.add(type);
+            final List<Field> fields = new ArrayList<>();
+            for (final Class<?> clazz : classes) {
+                fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
+            }
+            return getValidFields(fields.toArray(new Field[0]), true, true)
+                .stream()
+                .filter(field -> !field.isSynthetic())
+                .peek(ReflectionUtils::setAccessible)
+                .toArray(Field[]::new);
+        }
+    };
+
+    /**
+     * Default maximum depth
+     */
+    private final int maxDepth;
+    /**
+     * Default maximum number of walked nodes
+     */
+    private final int maxNodes;
+
+    /**
+     * Creates object graph difference comparator with default limits
+     */
+    public GraphDiffComparator() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Creates object graph difference comparator
+     *
+     * @param maxDepth - initial input maximum depth to descend
+     * @param maxNodes - initial input maximum number of nodes to walk
+     */
+    public GraphDiffComparator(int maxDepth, int maxNodes) {
+        ValidationUtils.isTrue(maxDepth >= 0, "Max depth should not be negative");
+        ValidationUtils.isTrue(maxNodes >= 0, "Max nodes should not be negative");
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Returns {@link List} of {@link DiffEntry} by property paths of both object graphs
+     *
+     * @param first - initial first argument to be compared by {@code T}
+     * @param last  - initial last argument to be compared with {@code T}
+     * @return {@link List} of {@link DiffEntry}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final T first, final T last) {
+        final GraphWalk walk = new GraphWalk();
+        walk.compare("", first, last, 0);
+        return (S) walk.result;
+    }
+
+    /**
+     * Returns binary flag depending on whether values of the class are compared by {@link Object#equals(Object)}
+     *
+     * @param clazz - initial input {@link Class}
+     * @return true - if class is a leaf, false - otherwise
+     */
+    private static boolean isLeaf(final Class<?> clazz) {
+        return clazz.isEnum() || isSimpleType(clazz) || (!clazz.isArray() && !Collection.class.isAssignableFrom(clazz)
+            && !Map.class.isAssignableFrom(clazz) && clazz.getName().startsWith("java."));
+    }
+
+    /**
+     * Node kind, containers of the same kind are compared by contents regardless of implementation class
+     */
+    private enum Kind {
+        ARRAY, LIST, SET, MAP, COLLECTION, OBJECT;
+
+        private static Kind of(final Object value) {
+            if (value.getClass().isArray()) {
+                return ARRAY;
+            } else if (value instanceof List) {
+                return LIST;
+            } else if (value instanceof Set) {
+                return SET;
+            } else if (value instanceof Map) {
+                return MAP;
+            } else if (value instanceof Collection) {
+                return COLLECTION;
+            }
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Single comparison state
+     */
+    private final class GraphWalk {
+        /**
+         * Default visited pairs by first node identity
+         */
+        private final Map<Object, Set<Object>> visited = new IdentityHashMap<>();
+        /**
+         * Default difference entries {@link List}
+         */
+        private final List<DiffEntry<?>> result = new ArrayList<>();
+        /**
+         * Default number of walked nodes
+         */
+        private int nodes;
+
+        private void compare(final String path, final Object first, final Object last, int depth) {
+            if (first == last) {
+                return;
+            }
+            if (Objects.isNull(first) || Objects.isNull(last)) {
+                this.entry(path, first, last);
+                return;
+            }
+            final Kind kind = Kind.of(first);
+            if (kind != Kind.of(last) || (kind == Kind.OBJECT && first.getClass() != last.getClass())) {
+                this.entry(path, first, last);
+                return;
+            }
+            if ((kind == Kind.OBJECT && isLeaf(first.getClass())) || depth > maxDepth || this.nodes >= maxNodes) {
+                if (!Objects.deepEquals(first, last)) {
+                    this.entry(path, first, last);
+                }
+                return;
+            }
+            if (!this.visited.computeIfAbsent(first, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(last)) {
+                return;
+            }
+            this.nodes++;
+            switch (kind) {
+                case ARRAY:
+                    this.compareArrays(path, first, last, depth + 1);
+                    break;
+                case LIST:
+                    this.compareLists(path, (List<?>) first, (List<?>) last, depth + 1);
+                    break;
+                case SET:
+                    this.compareSets(path, (Set<?>) first, (Set<?>) last);
+                    break;
+                case MAP:
+                    this.compareMaps(path, (Map<?, ?>) first, (Map<?, ?>) last, depth + 1);
+                    break;
+                case COLLECTION:
+                    this.compareLists(path, new ArrayList<>((Collection<?>) first), new ArrayList<>((Collection<?>) last), depth + 1);
+                    break;
+                default:
+                    this.compareFields(path, first, last, depth + 1);
+            }
+        }
+
+        private void compareArrays(final String path, final Object first, final Object last, int depth) {
+            final int firstLength = Array.getLength(first);
+            final int lastLength = Array.getLength(last);
+            for (int i = 0; i < Math.max(firstLength, lastLength); i++) {
+                this.compare(path + "[" + i + "]", i < firstLength ? Array.get(first, i) : null, i < lastLength ? Array.get(last, i) : null, depth);
+            }
+        }
+
+        private void compareLists(final String path, final List<?> first, final List<?> last, int depth) {
+            for (int i = 0; i < Math.max(first.size(), last.size()); i++) {
+                this.compare(path + "[" + i + "]", i < first.size() ? first.get(i) : null, i < last.size() ? last.get(i) : null, depth);
+            }
+        }
+
+        private void compareSets(final String path, final Set<?> first, final Set<?> last) {
+            for (final Object element : first) {
+                if (!last.contains(element)) {
+                    this.entry(path + "[" + element + "]", element, null);
+                }
+            }
+            for (final Object element : last) {
+                if (!first.contains(element)) {
+                    this.entry(path + "[" + element + "]", null, element);
+                }
+            }
+        }
+
+        private void compareMaps(final String path, final Map<?, ?> first, final Map<?, ?> last, int depth) {
+            for (final Map.Entry<?, ?> entry : first.entrySet()) {
+                this.compare(path + "[" + entry.getKey() + "]", entry.getValue(), last.get(entry.getKey()), depth);
+            }
+            for (final Map.Entry<?, ?> entry : last.entrySet()) {
+                if (!first.containsKey(entry.getKey())) {
+                    this.compare(path + "[" + entry.getKey() + "]", null, entry.getValue(), depth);
+                }
+            }
+        }
+
+        private void compareFields(final String path, final Object first, final Object last, int depth) {
+            for (final Field field : FIELDS.get(first.getClass())) {
+                final String property = path.isEmpty() ? field.getName() : path + "." + field.getName();
+                try {
+                    this.compare(property, field.get(first), field.get(last), depth);
+                } catch (IllegalAccessException e) {
+                    log.error(StringUtils.formatMessage("ERROR: cannot process property: {%s}, message: {%s}", property, e.getMessage()));
+                }
+            }
+        }
+
+        private void entry(final String path, final Object first, final Object last) {
+            this.result.add(DefaultDiffEntry.of(path, first, last));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.entry.CollectionDiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.DiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Keyed collection difference comparator implementation
+ * <p>
+ * Matches elements of both collections by key through hash indexes instead of pairwise comparison, so the diff runs
+ * in expected O(N log N) regardless of element order. Reports {@link CollectionDiffEntry.EntryType#REMOVED} entries
+ * in first collection order followed by {@link CollectionDiffEntry.EntryType#ADDED}, {@link CollectionDiffEntry.EntryType#CHANGED}
+ * and {@link CollectionDiffEntry.EntryType#MOVED} entries in last collection order. Matched elements outside of
+ * the longest run kept in relative order are reported as moved, property differences are resolved by element {@link DiffComparator}.
+ *
+ * @param <T> type of collection element
+ * @param <K> type of element key
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@SuppressWarnings("unchecked")
+public class KeyedCollectionDiffComparator<T, K> implements DiffComparator<Collection<? extends T>> {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -2716430513914738842L;
+
+    /**
+     * Default minimum number of matched elements to compare properties in parallel
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 12;
+
+    /**
+     * Default element key extractor {@link Function}
+     */
+    private final Function<? super T, ? extends K> keyExtractor;
+    /**
+     * Default element difference comparator {@link DiffComparator}
+     */
+    private final DiffComparator<T> elementComparator;
+    /**
+     * Default parallel properties comparison flag
+     */
+    private final boolean parallel;
+
+    /**
+     * Creates keyed collection difference comparator with sequential properties comparison
+     *
+     * @param keyExtractor      - initial input element key extractor {@link Function}
+     * @param elementComparator - initial input element difference comparator {@link DiffComparator}
+     */
+    public KeyedCollectionDiffComparator(final Function<? super T, ? extends K> keyExtractor, final DiffComparator<T> elementComparator) {
+        this(keyExtractor, elementComparator, false);
+    }
+
+    /**
+     * Creates keyed collection difference comparator
+     *
+     * @param keyExtractor      - initial input element key extractor {@link Function}
+     * @param elementComparator - initial input element difference comparator {@link DiffComparator}
+     * @param parallel          - initial input flag to compare properties of matched elements in parallel
+     */
+    public KeyedCollectionDiffComparator(final Function<? super T, ? extends K> keyExtractor, final DiffComparator<T> elementComparator, boolean parallel) {
+        ValidationUtils.notNull(keyExtractor, "Key extractor should not be null");
+        ValidationUtils.notNull(elementComparator, "Element comparator should not be null");
+        this.keyExtractor = keyExtractor;
+        this.elementComparator = elementComparator;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns {@link List} of {@link CollectionDiffEntry} by collections comparison, element keys should be unique on each side
+     *
+     * @param first - initial first collection to be compared
+     * @param last  - initial last collection to be compared with
+     * @return {@link List} of {@link CollectionDiffEntry}
+     * @throws IllegalArgumentException if a key is duplicated within a collection
+     */
+    @Override
+    public <S extends Iterable<? extends DiffEntry<?>>> S diffCompare(final Collection<? extends T> first, final Collection<? extends T> last) {
+        ValidationUtils.notNull(first, "First collection should not be null");
+        ValidationUtils.notNull(last, "Last collection should not be null");
+
+        final List<T> firstElements = new ArrayList<>(first);
+        final List<T> lastElements = new ArrayList<>(last);
+        final List<K> firstKeys = this.keys(firstElements);
+        final List<K> lastKeys = this.keys(lastElements);
+        final Map<K, Integer> firstIndex = index(firstKeys);
+        checkUnique(lastKeys);
+
+        final int[] matches = new int[lastElements.size()];
+        final int[] matched = new int[Math.min(firstElements.size(), lastElements.size())];
+        final boolean[] removed = new boolean[firstElements.size()];
+        Arrays.fill(removed, true);
+        int count = 0;
+        for (int j = 0; j < lastElements.size(); j++) {
+            final Integer i = firstIndex.get(lastKeys.get(j));
+            matches[j] = Objects.isNull(i) ? -1 : i;
+            if (Objects.nonNull(i)) {
+                removed[i] = false;
+                matched[count++] = j;
+            }
+        }
+
+        final boolean[] moved = moves(matches, matched, count);
+        final List<DiffEntry<?>>[] properties = this.compareProperties(firstElements, lastElements, matches, matched, count);
+
+        final List<CollectionDiffEntry<K>> result = new ArrayList<>();
+        for (int i = 0; i < firstElements.size(); i++) {
+            if (removed[i]) {
+                result.add(this.entry(CollectionDiffEntry.EntryType.REMOVED, firstKeys.get(i), firstElements.get(i), i, null, -1, null));
+            }
+        }
+        for (int j = 0, m = 0; j < lastElements.size(); j++) {
+            if (matches[j] < 0) {
+                result.add(this.entry(CollectionDiffEntry.EntryType.ADDED, lastKeys.get(j), null, -1, lastElements.get(j), j, null));
+                continue;
+            }
+            final List<DiffEntry<?>> diff = properties[m];
+            if (moved[m]) {
+                result.add(this.entry(CollectionDiffEntry.EntryType.MOVED, lastKeys.get(j), firstElements.get(matches[j]), matches[j], lastElements.get(j), j, diff));
+            } else if (!diff.isEmpty()) {
+                result.add(this.entry(CollectionDiffEntry.EntryType.CHANGED, lastKeys.get(j), firstElements.get(matches[j]), matches[j], lastElements.get(j), j, diff));
+            }
+            m++;
+        }
+        return (S) result;
+    }
+
+    private List<K> keys(final List<T> elements) {
+        final List<K> result = new ArrayList<>(elements.size());
+        for (final T element : elements) {
+            result.add(this.keyExtractor.apply(element));
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> index(final List<K> keys) {
+        final Map<K, Integer> result = new HashMap<>(capacity(keys.size()));
+        for (int i = 0; i < keys.size(); i++) {
+            final K key = keys.get(i);
+            ValidationUtils.isTrue(Objects.isNull(result.put(key, i)), "Key should be unique: " + key);
+        }
+        return result;
+    }
+
+    private static <K> void checkUnique(final List<K> keys) {
+        final Set<K> result = new HashSet<>(capacity(keys.size()));
+        for (final K key : keys) {
+            ValidationUtils.isTrue(result.add(key), "Key should be unique: " + key);
+        }
+    }
+
+    private static int capacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
+    private List<DiffEntry<?>>[] compareProperties(final List<T> firstElements, final List<T> lastElements, final int[] matches, final int[] matched, int count) {
+        final List<DiffEntry<?>>[] result = new List[count];
+        IntStream stream = IntStream.range(0, count);
+        if (this.parallel && count >= DEFAULT_PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        stream.forEach(m -> {
+            final int j = matched[m];
+            final Iterable<? extends DiffEntry<?>> diff = this.elementComparator.diffCompare(firstElements.get(matches[j]), lastElements.get(j));
+            final List<DiffEntry<?>> entries = new ArrayList<>();
+            diff.forEach(entries::add);
+            result[m] = entries;
+        });
+        return result;
+    }
+
+    private CollectionDiffEntry<K> entry(final CollectionDiffEntry.EntryType type, final K key, final T first, int firstIndex, final T last, int lastIndex, final List<DiffEntry<?>> properties) {
+        return CollectionDiffEntry.<K>builder()
+            .type(type)
+            .key(key)
+            .first(first)
+            .firstIndex(firstIndex)
+            .last(last)
+            .lastIndex(lastIndex)
+            .properties(Objects.isNull(properties) ? Collections.emptyList() : properties)
+            .build();
+    }
+
+    /**
+     * Returns flags of matched elements lying outside of the longest subsequence kept in first collection order
+     *
+     * @param matches - initial input first collection positions by last collection position, {@code -1} if unmatched
+     * @param matched - initial input last collection positions of matched elements
+     * @param count   - initial input number of matched elements
+     * @return array of moved flags by matched element
+     */
+    private static boolean[] moves(final int[] matches, final int[] matched, int count) {
+        final int[] tails = new int[count];
+        final int[] previous = new int[count];
+        int length = 0;
+        for (int m = 0; m < count; m++) {
+            final int value = matches[matched[m]];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (matches[matched[tails[middle]]] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[m] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = m;
+            if (low == length) {
+                length++;
+            }
+        }
+        final boolean[] result = new boolean[count];
+        Arrays.fill(result, true);
+        for (int m = length > 0 ? tails[length - 1] : -1; m >= 0; m = previous[m]) {
+            result[m] = false;
+        }
+        return result;
+    }
+}
@@ -50,6 +50,7 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
@@ -174,6 +175,220 @@ public class ComparatorUtils {
         });
     }
 
+    /**
+     * Returns {@link Collector} of at most {@code limit} greatest elements by mapped values in descending order
+     *
+     * @param <T>        type of input element
+     * @param <Y>        type of mapped value
+     * @param operator   - initial input element mapper {@link Function}
+     * @param comparator - initial input mapped value {@link Comparator}
+     * @param limit      - initial input maximum number of elements
+     * @return {@link Collector} of greatest elements
+     */
+    @NonNull
+    public static <T, Y> Collector<T, ?, List<T>> maxBy(final Function<T, Y> operator, final Comparator<Y> comparator, int limit) {
+        ValidationUtils.notNull(operator, "Operator string should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return greatest(limit, Comparator.comparing(operator, comparator));
+    }
+
+    /**
+     * Returns {@link Collector} of at most {@code limit} least elements by mapped values in ascending order
+     *
+     * @param <T>        type of input element
+     * @param <Y>        type of mapped value
+     * @param operator   - initial input element mapper {@link Function}
+     * @param comparator - initial input mapped value {@link Comparator}
+     * @param limit      - initial input maximum number of elements
+     * @return {@link Collector} of least elements
+     */
+    @NonNull
+    public static <T, Y> Collector<T, ?, List<T>> minBy(final Function<T, Y> operator, final Comparator<Y> comparator, int limit) {
+        ValidationUtils.notNull(operator, "Operator string should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return least(limit, Comparator.comparing(operator, comparator));
+    }
+
+    /**
+     * Returns {@link Collector} of at most {@code limit} least elements in ascending order, keeping a bounded heap
+     * of {@code limit} elements per accumulation and merging heaps of parallel streams
+     *
+     * @param <T>        type of input element
+     * @param limit      - initial input maximum number of elements
+     * @param comparator - initial input element {@link Comparator}
+     * @return {@link Collector} of least elements
+     */
+    @NonNull
+    public static <T> Collector<T, ?, List<T>> least(int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.isTrue(limit >= 0, "Limit should not be negative");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return Collector.of(() -> new BoundedHeap<T>(limit, comparator), BoundedHeap::add, BoundedHeap::merge, BoundedHeap::toList);
+    }
+
+    /**
+     * Returns {@link Collector} of at most {@code limit} greatest elements in descending order
+     *
+     * @param <T>        type of input element
+     * @param limit      - initial input maximum number of elements
+     * @param comparator - initial input element {@link Comparator}
+     * @return {@link Collector} of greatest elements
+     * @see #least(int, Comparator)
+     */
+    @NonNull
+    public static <T> Collector<T, ?, List<T>> greatest(int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return least(limit, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Returns {@link List} of at most {@code limit} least elements in ascending order in O(N log K) time
+     *
+     * @param <T>        type of input element
+     * @param values     - initial input {@link Iterable} collection of elements
+     * @param limit      - initial input maximum number of elements
+     * @param comparator - initial input element {@link Comparator}
+     * @return {@link List} of least elements
+     */
+    @NonNull
+    public static <T> List<T> least(final Iterable<? extends T> values, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(values, "Values should not be null");
+        ValidationUtils.isTrue(limit >= 0, "Limit should not be negative");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        final BoundedHeap<T> heap = new BoundedHeap<>(limit, comparator);
+        values.forEach(heap::add);
+        return heap.toList();
+    }
+
+    /**
+     * Returns {@link List} of at most {@code limit} greatest elements in descending order in O(N log K) time
+     *
+     * @param <T>        type of input element
+     * @param values     - initial input {@link Iterable} collection of elements
+     * @param limit      - initial input maximum number of elements
+     * @param comparator - initial input element {@link Comparator}
+     * @return {@link List} of greatest elements
+     */
+    @NonNull
+    public static <T> List<T> greatest(final Iterable<? extends T> values, int limit, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+
+        return least(values, limit, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Returns element at sorted position {@code index} in expected O(N) time. The list is partially reordered in place,
+     * so that no element before the index is greater and no element after it is less than the returned one
+     *
+     * @param <T>        type of input element
+     * @param list       - initial input {@link List} of elements to be reordered
+     * @param index      - initial input sorted position
+     * @param comparator - initial input element {@link Comparator}
+     * @return element at sorted position
+     */
+    public static <T> T nthElement(final List<T> list, int index, final Comparator<? super T> comparator) {
+        ValidationUtils.notNull(list, "List should not be null");
+        ValidationUtils.notNull(comparator, "Comparator should not be null");
+        ValidationUtils.checkElementIndex(index, list.size(), "Index");
+
+        final T[] elements = (T[]) list.toArray();
+        select(elements, index, comparator);
+        final ListIterator<T> iterator = list.listIterator();
+        for (final T element : elements) {
+            iterator.next();
+            iterator.set(element);
+        }
+        return elements[index];
+    }
+
+    private static <T> void select(final T[] elements, int index, final Comparator<? super T> comparator) {
+        int from = 0;
+        int to = elements.length - 1;
+        while (from < to) {
+            final T pivot = elements[from + ThreadLocalRandom.current().nextInt(to - from + 1)];
+            int lt = from;
+            int gt = to;
+            for (int i = from; i <= gt; ) {
+                final int result = comparator.compare(elements[i], pivot);
+                if (result < 0) {
+                    swap(elements, lt++, i++);
+                } else if (result > 0) {
+                    swap(elements, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (index < lt) {
+                to = lt - 1;
+            } else if (index > gt) {
+                from = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static <T> void swap(final T[] elements, int i, int j) {
+        final T element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+    }
+
+    /**
+     * Bounded heap keeping at most limit least elements
+     *
+     * @param <T> type of element
+     */
+    private static final class BoundedHeap<T> {
+        /**
+         * Default initial heap capacity, the heap grows up to limit on demand
+         */
+        private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+        /**
+         * Default maximum number of elements
+         */
+        private final int limit;
+        /**
+         * Default element {@link Comparator}
+         */
+        private final Comparator<? super T> comparator;
+        /**
+         * Default max-heap {@link PriorityQueue} of least elements
+         */
+        private final PriorityQueue<T> queue;
+
+        private BoundedHeap(int limit, final Comparator<? super T> comparator) {
+            this.limit = limit;
+            this.comparator = comparator;
+            this.queue = new PriorityQueue<>(Math.max(1, Math.min(limit, DEFAULT_INITIAL_CAPACITY)), Collections.reverseOrder(comparator));
+        }
+
+        private void add(final T element) {
+            if (this.queue.size() < this.limit) {
+                this.queue.add(element);
+            } else if (this.limit > 0 && this.comparator.compare(element, this.queue.peek()) < 0) {
+                this.queue.poll();
+                this.queue.add(element);
+            }
+        }
+
+        private BoundedHeap<T> merge(final BoundedHeap<T> other) {
+            other.queue.forEach(this::add);
+            return this;
+        }
+
+        private List<T> toList() {
+            final List<T> result = new ArrayList<>(this.queue);
+            result.sort(this.comparator);
+            return result;
+        }
+    }
+
     /**
      * Default class {@link Comparator}
      */
@@ -606,6 +821,161 @@ public class ComparatorUtils {
         return new LexicographicalNullSafeBooleanArrayComparator(nullsInPriority);
     }
 
+    /**
+     * Returns binary flag depending on whether ranges of {@code byte[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final byte[] first, int firstFrom, int firstTo, final byte[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code short[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final short[] first, int firstFrom, int firstTo, final short[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code int[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final int[] first, int firstFrom, int firstTo, final int[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code long[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final long[] first, int firstFrom, int firstTo, final long[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code char[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final char[] first, int firstFrom, int firstTo, final char[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code float[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final float[] first, int firstFrom, int firstTo, final float[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code double[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final double[] first, int firstFrom, int firstTo, final double[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether ranges of {@code boolean[]} arrays are equal, compared by mismatch intrinsic without ordering
+     *
+     * @param first     - initial input first array
+     * @param firstFrom - initial input first range start index (inclusive)
+     * @param firstTo   - initial input first range end index (exclusive)
+     * @param last      - initial input last array
+     * @param lastFrom  - initial input last range start index (inclusive)
+     * @param lastTo    - initial input last range end index (exclusive)
+     * @return true - if ranges are equal, false - otherwise
+     */
+    public static boolean equalsRange(final boolean[] first, int firstFrom, int firstTo, final boolean[] last, int lastFrom, int lastTo) {
+        return Arrays.equals(first, firstFrom, firstTo, last, lastFrom, lastTo);
+    }
+
+    /**
+     * Returns binary flag depending on whether input arrays are equal, primitive arrays are compared by mismatch intrinsics,
+     * object arrays by {@link Arrays#deepEquals(Object[], Object[])}
+     *
+     * @param first - initial input first array
+     * @param last  - initial input last array
+     * @return true - if arrays are of the same type and equal, false - otherwise
+     */
+    public static boolean equalsArray(final Object first, final Object last) {
+        if (first == last) {
+            return true;
+        } else if (Objects.isNull(first) || Objects.isNull(last) || first.getClass() != last.getClass()) {
+            return false;
+        } else if (first instanceof byte[]) {
+            return Arrays.equals((byte[]) first, (byte[]) last);
+        } else if (first instanceof int[]) {
+            return Arrays.equals((int[]) first, (int[]) last);
+        } else if (first instanceof long[]) {
+            return Arrays.equals((long[]) first, (long[]) last);
+        } else if (first instanceof char[]) {
+            return Arrays.equals((char[]) first, (char[]) last);
+        } else if (first instanceof double[]) {
+            return Arrays.equals((double[]) first, (double[]) last);
+        } else if (first instanceof short[]) {
+            return Arrays.equals((short[]) first, (short[]) last);
+        } else if (first instanceof float[]) {
+            return Arrays.equals((float[]) first, (float[]) last);
+        } else if (first instanceof boolean[]) {
+            return Arrays.equals((boolean[]) first, (boolean[]) last);
+        } else if (first instanceof Object[]) {
+            return Arrays.deepEquals((Object[]) first, (Object[]) last);
+        }
+        return false;
+    }
+
     /**
      * Returns null-safe locale {@link Locale} comparator instance {@link DefaultNullSafeLocaleComparator}
      *
@@ -1347,14 +1717,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeShortArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Short.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1378,14 +1741,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeIntArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Integer.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1409,14 +1765,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeLongArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Long.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1440,14 +1789,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeFloatArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Float.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1471,14 +1813,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeDoubleArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Double.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1502,14 +1837,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeCharacterArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Character.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
@@ -1533,29 +1861,17 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeBooleanArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = Boolean.compare(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return (o1.length - o2.length);
-            }, nullsInPriority);
+            super(Arrays::compare, nullsInPriority);
         }
     }
 
     /**
-     * Default null-safe lexicographical {@code byte} array comparator implementation {@link DefaultNullSafeComparator}
+     * Default null-safe lexicographical unsigned {@code byte} array comparator implementation {@link DefaultNullSafeComparator}
      */
     @EqualsAndHashCode(callSuper = true)
     @ToString(callSuper = true)
     public static class LexicographicalNullSafeByteArrayComparator extends DefaultNullSafeComparator<byte[]> {
 
-        /**
-         * Default unsigned mask filter
-         */
-        private static final int DEFAULT_UNSIGNED_MASK = 0xFF;
-
         /**
          * Default null-safe lexicographical boolean array comparator constructor
          */
@@ -1569,35 +1885,7 @@ public class ComparatorUtils {
          * @param nullsInPriority - initial input "null" priority argument {@link Boolean}
          */
         public LexicographicalNullSafeByteArrayComparator(boolean nullsInPriority) {
-            super((o1, o2) -> {
-                int minLength = Math.min(o1.length, o2.length);
-                for (int i = 0; i < minLength; i++) {
-                    int result = compareBy(o1[i], o2[i]);
-                    if (0 != result) return result;
-                }
-                return 0;
-            }, nullsInPriority);
-        }
-
-        /**
-         * Compares input objects by value
-         *
-         * @param a - initial input first type argument
-         * @param b - initial input last type argument
-         * @return 0 if the arguments are identical and {@code c.compare(a, b)} otherwise.
-         */
-        private static int compareBy(byte a, byte b) {
-            return toInt(a) - toInt(b);
-        }
-
-        /**
-         * Converts initial input value to integer formatted value {@link Integer}
-         *
-         * @param value - initial input value to be converted by {@code byte}
-         * @return 0 if the arguments are identical and {@code c.compare(a, b)} otherwise.
-         */
-        private static int toInt(byte value) {
-            return value & DEFAULT_UNSIGNED_MASK;
+            super(Arrays::compareUnsigned, nullsInPriority);
         }
     }
 
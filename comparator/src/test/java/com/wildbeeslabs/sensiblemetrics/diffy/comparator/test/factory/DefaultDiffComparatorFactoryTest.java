@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.factory;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.factory.DefaultDiffComparatorFactory;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.CompiledDiffComparator;
+import lombok.Data;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link DefaultDiffComparatorFactory} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DefaultDiffComparatorFactoryTest {
+
+    @Test
+    @DisplayName("Test compiled comparators are shared by class and arguments")
+    public void test_createCompiled_whenPassedSameArguments() {
+        // given
+        final List<String> properties = Arrays.asList("name", "age");
+
+        // when
+        final CompiledDiffComparator<Sample> first = DefaultDiffComparatorFactory.createCompiled(Sample.class, null, properties, null, null);
+        final CompiledDiffComparator<Sample> last = DefaultDiffComparatorFactory.createCompiled(Sample.class, null, Arrays.asList("name", "age"), null, null);
+        final CompiledDiffComparator<Sample> other = DefaultDiffComparatorFactory.createCompiled(Sample.class, null, Arrays.asList("age", "name"), null, null);
+
+        // then
+        assertTrue(first.isFrozen());
+        assertThat(last, sameInstance(first));
+        assertThat(other, not(sameInstance(first)));
+        assertThat(first.getPropertySet(), containsInAnyOrder("name", "age"));
+    }
+
+    @Test
+    @DisplayName("Test compiled comparators cache evicts least recently used comparators")
+    public void test_createCompiled_whenPassedDistinctComparators() {
+        // given
+        final Comparator<Sample> comparator = Comparator.comparing(Sample::getName);
+        final CompiledDiffComparator<Sample> cached = DefaultDiffComparatorFactory.createCompiled(Sample.class, comparator, null, null, null);
+
+        // when
+        for (int i = 0; i < DefaultDiffComparatorFactory.DEFAULT_CACHE_SIZE; i++) {
+            DefaultDiffComparatorFactory.createCompiled(Sample.class, Comparator.comparing(Sample::getAge), null, null, null);
+        }
+
+        // then
+        assertThat(DefaultDiffComparatorFactory.createCompiled(Sample.class, comparator, null, null, null), not(sameInstance(cached)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @DisplayName("Test frozen compiled comparator exposes unmodifiable properties")
+    public void test_createCompiled_whenModifiedProperties() {
+        // given
+        final CompiledDiffComparator<Sample> comparator = DefaultDiffComparatorFactory.createCompiled(Sample.class);
+
+        // when
+        comparator.getPropertySet().add("name");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @DisplayName("Test frozen compiled comparator exposes unmodifiable property comparators")
+    public void test_createCompiled_whenModifiedComparators() {
+        // given
+        final CompiledDiffComparator<Sample> comparator = DefaultDiffComparatorFactory.createCompiled(Sample.class);
+
+        // when
+        comparator.getPropertyComparatorMap().clear();
+    }
+
+    /**
+     * Sample model
+     */
+    @Data
+    public static class Sample {
+        private String name;
+        private int age;
+    }
+}
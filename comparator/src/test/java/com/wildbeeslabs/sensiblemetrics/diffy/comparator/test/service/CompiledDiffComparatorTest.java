@@ -0,0 +1,255 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.factory.DefaultDiffComparatorFactory;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.interfaces.ComparatorDispatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.CompiledDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import lombok.Data;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link CompiledDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class CompiledDiffComparatorTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test compiled comparator produces the same difference entries as the default comparator")
+    public void test_diffCompare_whenComparedWithDefaultComparator() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        final DefaultDiffComparator<Sample> expectedComparator = new DefaultDiffComparator<>(Sample.class);
+        final CompiledDiffComparator<Sample> actualComparator = new CompiledDiffComparator<>(Sample.class);
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final Sample first = Sample.random(random);
+            final Sample last = (iteration % 10 == 0) ? first : Sample.random(random);
+
+            // when
+            final Iterable<DiffEntry<?>> expected = expectedComparator.diffCompare(first, last);
+            final Iterable<DiffEntry<?>> actual = actualComparator.diffCompare(first, last);
+
+            // then
+            assertThat(toMap(actual), equalTo(toMap(expected)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test compiled comparator with custom property comparators and excluded properties")
+    public void test_diffCompare_whenPassedCustomComparators() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        final Comparator<Integer> parity = Comparator.comparingInt(value -> value % 2);
+        final Comparator<Sample.Level> ignoring = (a, b) -> 0;
+        final DefaultDiffComparator<Sample> expectedComparator = new DefaultDiffComparator<>(Sample.class);
+        final CompiledDiffComparator<Sample> actualComparator = new CompiledDiffComparator<>(Sample.class);
+        for (final DefaultDiffComparator<Sample> comparator : Arrays.asList(expectedComparator, actualComparator)) {
+            comparator.setComparator("intValue", parity);
+            comparator.setComparator("level", ignoring);
+            comparator.excludeProperties(Arrays.asList("text", "longValue"));
+        }
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final Sample first = Sample.random(random);
+            final Sample last = Sample.random(random);
+
+            // when
+            final Iterable<DiffEntry<?>> expected = expectedComparator.diffCompare(first, last);
+            final Iterable<DiffEntry<?>> actual = actualComparator.diffCompare(first, last);
+
+            // then
+            assertThat(toMap(actual), equalTo(toMap(expected)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test compiled comparators honor comparators registered after compilation")
+    public void test_diffCompare_whenRegisteredComparators() {
+        // given
+        final Sample first = new Sample();
+        first.setIntArray(new int[]{1, 2});
+        first.setText("a");
+        final Sample last = new Sample();
+        last.setIntArray(new int[]{3, 4});
+        last.setText("A");
+        final DefaultDiffComparator<Sample> expectedComparator = new DefaultDiffComparator<>(Sample.class);
+        final CompiledDiffComparator<Sample> actualComparator = new CompiledDiffComparator<>(Sample.class);
+        final CompiledDiffComparator<Sample> frozenComparator = DefaultDiffComparatorFactory.createCompiled(Sample.class);
+        assertThat(toMap(actualComparator.diffCompare(first, last)).keySet(), containsInAnyOrder("intArray", "text"));
+        final Comparator<int[]> length = Comparator.comparingInt(value -> value.length);
+
+        // when
+        ComparatorDispatcher.register(int[].class, length);
+        ComparatorDispatcher.register(String.class, String.CASE_INSENSITIVE_ORDER);
+        try {
+            // then
+            assertThat(toMap(expectedComparator.diffCompare(first, last)).keySet(), empty());
+            assertThat(toMap(actualComparator.diffCompare(first, last)).keySet(), empty());
+            assertThat(toMap(frozenComparator.diffCompare(first, last)).keySet(), empty());
+        } finally {
+            ComparatorDispatcher.unregister(int[].class);
+            ComparatorDispatcher.unregister(String.class);
+        }
+
+        // then
+        assertThat(toMap(actualComparator.diffCompare(first, last)).keySet(), containsInAnyOrder("intArray", "text"));
+        assertThat(toMap(frozenComparator.diffCompare(first, last)).keySet(), containsInAnyOrder("intArray", "text"));
+    }
+
+    @Test
+    @DisplayName("Test default and compiled comparators compare primitive array properties by contents")
+    public void test_diffCompare_whenPassedPrimitiveArrays() {
+        // given
+        final Sample first = new Sample();
+        first.setIntArray(new int[]{1, 2});
+        first.setByteArray(new byte[]{1});
+        final Sample last = new Sample();
+        last.setIntArray(new int[]{1, 2});
+        last.setByteArray(new byte[]{1, 0});
+
+        // when
+        final Iterable<DiffEntry<?>> expected = new DefaultDiffComparator<>(Sample.class).diffCompare(first, last);
+        final Iterable<DiffEntry<?>> actual = new CompiledDiffComparator<>(Sample.class).diffCompare(first, last);
+
+        // then
+        assertThat(toMap(expected).keySet(), equalTo(Collections.singleton("byteArray")));
+        assertThat(toMap(actual), equalTo(toMap(expected)));
+    }
+
+    @Test
+    @DisplayName("Test property comparators take precedence over registered and primitive array comparators")
+    public void test_diffCompare_whenPassedPropertyComparators() {
+        // given
+        final Sample first = new Sample();
+        first.setIntArray(new int[]{1, 2});
+        first.setText("a");
+        first.setAmount(new BigDecimal("1"));
+        final Sample last = new Sample();
+        last.setIntArray(new int[]{3, 4});
+        last.setText("A");
+        last.setAmount(new BigDecimal("1.0"));
+        final Comparator<int[]> length = Comparator.comparingInt(value -> value.length);
+        final Comparator<String> natural = Comparator.naturalOrder();
+        final Comparator<BigDecimal> scale = Comparator.comparingInt(BigDecimal::scale);
+        final DefaultDiffComparator<Sample> expectedComparator = new DefaultDiffComparator<>(Sample.class);
+        final CompiledDiffComparator<Sample> actualComparator = new CompiledDiffComparator<>(Sample.class);
+        for (final DefaultDiffComparator<Sample> comparator : Arrays.asList(expectedComparator, actualComparator)) {
+            comparator.setComparator("intArray", length);
+            comparator.setComparator("text", natural);
+            comparator.setComparator("amount", scale);
+        }
+
+        // when
+        ComparatorDispatcher.register(String.class, String.CASE_INSENSITIVE_ORDER);
+        try {
+            final Iterable<DiffEntry<?>> expected = expectedComparator.diffCompare(first, last);
+            final Iterable<DiffEntry<?>> actual = actualComparator.diffCompare(first, last);
+
+            // then
+            assertThat(toMap(expected).keySet(), equalTo(Collections.singleton("text")));
+            assertThat(toMap(actual), equalTo(toMap(expected)));
+        } finally {
+            ComparatorDispatcher.unregister(String.class);
+        }
+    }
+
+    private static Map<String, List<Object>> toMap(final Iterable<DiffEntry<?>> entries) {
+        final Map<String, List<Object>> result = new HashMap<>();
+        for (final DiffEntry<?> entry : entries) {
+            result.put(entry.getPropertyName(), Arrays.asList(entry.getFirst(), entry.getLast()));
+        }
+        return result;
+    }
+
+    /**
+     * Sample model with properties of all compiled kinds
+     */
+    @Data
+    public static class Sample {
+
+        /**
+         * Default sample enumeration
+         */
+        public enum Level {
+            LOW, HIGH
+        }
+
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private float floatValue;
+        private boolean booleanValue;
+        private char charValue;
+        private byte byteValue;
+        private short shortValue;
+        private String text;
+        private Integer boxed;
+        private BigDecimal amount;
+        private Level level;
+        private int[] intArray;
+        private byte[] byteArray;
+        private String[] textArray;
+        private List<String> textList;
+
+        private static Sample random(final Random random) {
+            final double[] doubles = {0.0, -0.0, 1.5, Double.NaN};
+            final Sample result = new Sample();
+            result.setIntValue(random.nextInt(3));
+            result.setLongValue(random.nextInt(3));
+            result.setDoubleValue(doubles[random.nextInt(doubles.length)]);
+            result.setFloatValue((float) doubles[random.nextInt(doubles.length)]);
+            result.setBooleanValue(random.nextBoolean());
+            result.setCharValue((char) ('a' + random.nextInt(2)));
+            result.setByteValue((byte) (random.nextInt(3) - 1));
+            result.setShortValue((short) random.nextInt(2));
+            result.setText(random.nextInt(3) == 0 ? null : String.valueOf(random.nextInt(2)));
+            result.setBoxed(random.nextInt(3) == 0 ? null : random.nextInt(2));
+            result.setAmount(random.nextBoolean() ? new BigDecimal("1.0") : new BigDecimal("1.00"));
+            result.setLevel(random.nextInt(3) == 0 ? null : Level.values()[random.nextInt(2)]);
+            result.setIntArray(random.nextInt(3) == 0 ? null : new int[]{1, random.nextInt(2)});
+            result.setByteArray(new byte[]{(byte) (random.nextInt(3) - 1)});
+            result.setTextArray(new String[]{"a", String.valueOf(random.nextInt(2))});
+            result.setTextList(Arrays.asList("a", String.valueOf(random.nextInt(2))));
+            return result;
+        }
+    }
+}
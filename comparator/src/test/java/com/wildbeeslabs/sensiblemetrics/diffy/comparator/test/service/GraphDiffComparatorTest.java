@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.GraphDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.entry.iface.DiffEntry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link GraphDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class GraphDiffComparatorTest {
+
+    @Test
+    @DisplayName("Test graph comparator compares containers by contents regardless of implementation")
+    public void test_diffCompare_whenPassedDifferentContainerClasses() {
+        // given
+        final Node first = node("a");
+        first.tags = new ArrayList<>(Arrays.asList("x", "y"));
+        first.scores = new HashMap<>(Map.of("a", 1, "b", 2));
+        first.labels = new HashSet<>(Arrays.asList("p", "q"));
+        final Node last = node("a");
+        last.tags = new LinkedList<>(Arrays.asList("x", "y"));
+        last.scores = new LinkedHashMap<>(Map.of("b", 2, "a", 1));
+        last.labels = new TreeSet<>(Arrays.asList("q", "p"));
+
+        // when
+        final Iterable<DiffEntry<?>> entries = new GraphDiffComparator<Node>().diffCompare(first, last);
+
+        // then
+        assertThat(paths(entries), empty());
+        last.tags = List.of("x", "y");
+        last.labels = Set.of("p", "q");
+        assertThat(paths(new GraphDiffComparator<Node>().diffCompare(first, last)), empty());
+        last.labels = null;
+        assertThat(paths(new GraphDiffComparator<Node>().diffCompare(first, last)), equalTo(Arrays.asList("labels")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator reports property paths in declaration order")
+    public void test_diffCompare_whenPassedNestedChanges() {
+        // given
+        final Node first = node("a");
+        first.tags = Arrays.asList("x", "y");
+        first.scores = Map.of("b", 2);
+        first.values = new int[]{1, 2};
+        first.next = node("b");
+        final Node last = node("c");
+        last.tags = Arrays.asList("x", "z", "w");
+        last.scores = Map.of("b", 3);
+        last.values = new int[]{0, 2};
+        last.next = node("d");
+
+        // when
+        final Iterable<DiffEntry<?>> entries = new GraphDiffComparator<Node>().diffCompare(first, last);
+
+        // then
+        assertThat(paths(entries), equalTo(Arrays.asList("name", "tags[1]", "tags[2]", "scores[b]", "values[0]", "next.name")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator walks cycles and shared subgraphs once")
+    public void test_diffCompare_whenPassedCyclicGraphs() {
+        // given
+        final Node first = node("a");
+        first.next = first;
+        first.other = node("x");
+        first.other.next = first.other;
+        final Node last = node("b");
+        last.next = last;
+        last.other = node("y");
+        last.other.next = last.other;
+
+        // when
+        final Iterable<DiffEntry<?>> entries = new GraphDiffComparator<Node>().diffCompare(first, last);
+
+        // then
+        assertThat(paths(entries), equalTo(Arrays.asList("name", "other.name")));
+
+        // given
+        final Node shared = node("x");
+        final Node sharedFirst = node("a");
+        sharedFirst.next = shared;
+        sharedFirst.other = shared;
+        final Node sharedLast = node("a");
+        sharedLast.next = node("y");
+        sharedLast.other = sharedLast.next;
+
+        // then
+        assertThat(paths(new GraphDiffComparator<Node>().diffCompare(sharedFirst, sharedLast)), equalTo(Arrays.asList("next.name")));
+    }
+
+    @Test
+    @DisplayName("Test graph comparator stops descending by depth and nodes limits")
+    public void test_diffCompare_whenPassedLimits() {
+        // given
+        final Node first = node("a");
+        first.next = node("b");
+        first.next.next = node("c");
+        final Node last = node("a");
+        last.next = node("b");
+        last.next.next = node("d");
+
+        // then
+        assertThat(paths(new GraphDiffComparator<Node>().diffCompare(first, last)), equalTo(Arrays.asList("next.next.name")));
+        assertThat(paths(new GraphDiffComparator<Node>(1, GraphDiffComparator.DEFAULT_MAX_NODES).diffCompare(first, last)), equalTo(Arrays.asList("next.next")));
+        assertThat(paths(new GraphDiffComparator<Node>(GraphDiffComparator.DEFAULT_MAX_DEPTH, 1).diffCompare(first, last)), equalTo(Arrays.asList("next")));
+    }
+
+    private static Node node(final String name) {
+        final Node result = new Node();
+        result.name = name;
+        return result;
+    }
+
+    private static List<String> paths(final Iterable<DiffEntry<?>> entries) {
+        final List<String> result = new ArrayList<>();
+        entries.forEach(entry -> result.add(entry.getPropertyName()));
+        return result;
+    }
+
+    /**
+     * Sample graph node compared by identity
+     */
+    public static class Node {
+        private String name;
+        private List<String> tags;
+        private Map<String, Integer> scores;
+        private Set<String> labels;
+        private int[] values;
+        private Node next;
+        private Node other;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.entry.CollectionDiffEntry;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.DefaultDiffComparator;
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.service.KeyedCollectionDiffComparator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link KeyedCollectionDiffComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class KeyedCollectionDiffComparatorTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test keyed collection comparator reports added, removed, changed and moved elements")
+    public void test_diffCompare_whenPassedChangedCollections() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(2, "b"), new Item(3, "c"), new Item(4, "d"), new Item(6, "f"));
+        final List<Item> last = Arrays.asList(new Item(1, "a"), new Item(3, "c2"), new Item(2, "b"), new Item(5, "e"), new Item(6, "f2"));
+
+        // when
+        final List<CollectionDiffEntry<Integer>> entries = newComparator(false).diffCompare(first, last);
+
+        // then
+        assertThat(entries.stream().map(CollectionDiffEntry::getType).collect(Collectors.toList()), equalTo(Arrays.asList(
+            CollectionDiffEntry.EntryType.REMOVED,
+            CollectionDiffEntry.EntryType.MOVED,
+            CollectionDiffEntry.EntryType.ADDED,
+            CollectionDiffEntry.EntryType.CHANGED)));
+        assertThat(entries.stream().map(CollectionDiffEntry::getKey).collect(Collectors.toList()), equalTo(Arrays.asList(4, 3, 5, 6)));
+
+        final CollectionDiffEntry<Integer> removed = entries.get(0);
+        assertThat(removed.getFirstIndex(), equalTo(3));
+        assertThat(removed.getLastIndex(), equalTo(-1));
+        assertThat(removed.getProperties(), empty());
+
+        final CollectionDiffEntry<Integer> moved = entries.get(1);
+        assertThat(moved.getFirstIndex(), equalTo(2));
+        assertThat(moved.getLastIndex(), equalTo(1));
+        assertThat(moved.getProperties().stream().map(entry -> entry.getPropertyName()).collect(Collectors.toList()), equalTo(Arrays.asList("name")));
+
+        final CollectionDiffEntry<Integer> added = entries.get(2);
+        assertThat(added.getFirstIndex(), equalTo(-1));
+        assertThat(added.getLastIndex(), equalTo(3));
+        assertThat(added.getFirst(), nullValue());
+
+        final CollectionDiffEntry<Integer> changed = entries.get(3);
+        assertThat(changed.getFirstIndex(), equalTo(4));
+        assertThat(changed.getLastIndex(), equalTo(4));
+        assertThat(changed.isChanged(), equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Test keyed collection comparator reports no entries for equal collections")
+    public void test_diffCompare_whenPassedEqualCollections() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(2, "b"));
+        final List<Item> last = Arrays.asList(new Item(1, "a"), new Item(2, "b"));
+
+        // when
+        final List<CollectionDiffEntry<Integer>> entries = newComparator(false).diffCompare(first, last);
+
+        // then
+        assertThat(entries, empty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test keyed collection comparator rejects duplicate keys in first collection")
+    public void test_diffCompare_whenPassedDuplicateFirstKeys() {
+        // given
+        final List<Item> first = Arrays.asList(new Item(1, "a"), new Item(1, "b"));
+        final List<Item> last = Collections.singletonList(new Item(1, "a"));
+
+        // when
+        newComparator(false).diffCompare(first, last);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test keyed collection comparator rejects duplicate keys in last collection")
+    public void test_diffCompare_whenPassedDuplicateLastKeys() {
+        // given
+        final List<Item> first = Collections.singletonList(new Item(1, "a"));
+        final List<Item> last = Arrays.asList(new Item(2, "a"), new Item(2, "b"));
+
+        // when
+        newComparator(false).diffCompare(first, last);
+    }
+
+    @Test
+    @DisplayName("Test keyed collection comparator produces the same entries in parallel")
+    public void test_diffCompare_whenComparedInParallel() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        final int size = 2 * KeyedCollectionDiffComparator.DEFAULT_PARALLEL_THRESHOLD;
+        final List<Item> first = new ArrayList<>(size);
+        final List<Item> last = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            first.add(new Item(i, String.valueOf(i)));
+            if (random.nextInt(10) > 0) {
+                last.add(new Item(i, random.nextInt(10) == 0 ? "changed" : String.valueOf(i)));
+            }
+        }
+        for (int i = 0; i < size / 100; i++) {
+            Collections.swap(last, random.nextInt(last.size()), random.nextInt(last.size()));
+            last.add(new Item(size + i, "added"));
+        }
+
+        // when
+        final List<CollectionDiffEntry<Integer>> expected = newComparator(false).diffCompare(first, last);
+        final List<CollectionDiffEntry<Integer>> actual = newComparator(true).diffCompare(first, last);
+
+        // then
+        assertThat(actual, equalTo(expected));
+        assertThat(actual.stream().map(CollectionDiffEntry::getKey).collect(Collectors.toList()), equalTo(expected.stream().map(CollectionDiffEntry::getKey).collect(Collectors.toList())));
+        assertThat(actual.stream().map(CollectionDiffEntry::getType).collect(Collectors.toSet()), containsInAnyOrder(CollectionDiffEntry.EntryType.values()));
+    }
+
+    private static KeyedCollectionDiffComparator<Item, Integer> newComparator(boolean parallel) {
+        return new KeyedCollectionDiffComparator<>(Item::getId, new DefaultDiffComparator<>(Item.class), parallel);
+    }
+
+    /**
+     * Sample collection element
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private int id;
+        private String name;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.comparator.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.comparator.utils.ComparatorUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ComparatorUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ComparatorUtilsTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test least and greatest elements by bounded heap")
+    public void test_least_whenPassedValues() {
+        // given
+        final List<Integer> values = randomValues(new Random(DEFAULT_SEED), 1000);
+        final List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+        final List<Integer> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+
+        // then
+        assertThat(ComparatorUtils.least(values, 10, Comparator.naturalOrder()), equalTo(sorted.subList(0, 10)));
+        assertThat(ComparatorUtils.greatest(values, 10, Comparator.naturalOrder()), equalTo(reversed.subList(0, 10)));
+        assertThat(ComparatorUtils.least(values, 0, Comparator.naturalOrder()), empty());
+        assertThat(ComparatorUtils.least(values, Integer.MAX_VALUE, Comparator.naturalOrder()), equalTo(sorted));
+        assertThat(ComparatorUtils.greatest(Collections.<Integer>emptyList(), Integer.MAX_VALUE, Comparator.naturalOrder()), empty());
+    }
+
+    @Test
+    @DisplayName("Test least and greatest elements collectors by sequential and parallel streams")
+    public void test_least_whenCollectedInParallel() {
+        // given
+        final List<Integer> values = randomValues(new Random(DEFAULT_SEED), 100_000);
+        final List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+        final List<Integer> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+
+        // then
+        assertThat(values.stream().collect(ComparatorUtils.least(100, Comparator.naturalOrder())), equalTo(sorted.subList(0, 100)));
+        assertThat(values.parallelStream().collect(ComparatorUtils.least(100, Comparator.naturalOrder())), equalTo(sorted.subList(0, 100)));
+        assertThat(values.parallelStream().collect(ComparatorUtils.greatest(100, Comparator.naturalOrder())), equalTo(reversed.subList(0, 100)));
+        assertThat(values.parallelStream().collect(ComparatorUtils.least(0, Comparator.naturalOrder())), empty());
+        assertThat(values.parallelStream().collect(ComparatorUtils.least(Integer.MAX_VALUE, Comparator.<Integer>naturalOrder())).size(), equalTo(values.size()));
+    }
+
+    @Test
+    @DisplayName("Test element at sorted position with partially reordered list")
+    public void test_nthElement_whenPassedIndexes() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        final List<Integer> values = randomValues(random, 1000);
+        final List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+
+        for (final int index : Arrays.asList(0, 1, 499, 998, 999, random.nextInt(values.size()))) {
+            // when
+            final List<Integer> list = new ArrayList<>(values);
+            final Integer element = ComparatorUtils.nthElement(list, index, Comparator.naturalOrder());
+
+            // then
+            assertThat(element, equalTo(sorted.get(index)));
+            assertThat(list.get(index), equalTo(element));
+            assertTrue(list.subList(0, index).stream().allMatch(value -> value <= element));
+            assertTrue(list.subList(index + 1, list.size()).stream().allMatch(value -> value >= element));
+            assertThat(list.stream().sorted().collect(Collectors.toList()), equalTo(sorted));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    @DisplayName("Test element at sorted position out of list bounds")
+    public void test_nthElement_whenPassedInvalidIndex() {
+        // given
+        final List<Integer> values = randomValues(new Random(DEFAULT_SEED), 10);
+
+        // when
+        ComparatorUtils.nthElement(values, values.size(), Comparator.naturalOrder());
+    }
+
+    @Test
+    @DisplayName("Test lexicographical primitive array comparators order proper prefix first")
+    public void test_arrayComparator_whenPassedPrefix() {
+        // given
+        final Comparator<byte[]> bytes = new ComparatorUtils.LexicographicalNullSafeByteArrayComparator();
+        final Comparator<int[]> ints = new ComparatorUtils.LexicographicalNullSafeIntArrayComparator();
+
+        // then
+        assertTrue(bytes.compare(new byte[]{1, 2}, new byte[]{1, 2, 3}) < 0);
+        assertTrue(bytes.compare(new byte[]{1, 2, 3}, new byte[]{1, 2}) > 0);
+        assertTrue(bytes.compare(new byte[0], new byte[]{0}) < 0);
+        assertThat(bytes.compare(new byte[]{1, 2, 3}, new byte[]{1, 2, 3}), equalTo(0));
+        assertTrue(bytes.compare(new byte[]{(byte) 0x80}, new byte[]{0x7f}) > 0);
+        assertTrue(bytes.compare(new byte[]{1, (byte) 0xff}, new byte[]{1, 0, 0}) > 0);
+        assertTrue(ints.compare(new int[]{1, 2}, new int[]{1, 2, 3}) < 0);
+        assertTrue(ints.compare(new int[]{-1}, new int[]{0}) < 0);
+    }
+
+    @Test
+    @DisplayName("Test arrays equality by contents and type")
+    public void test_equalsArray_whenPassedArrays() {
+        // then
+        assertTrue(ComparatorUtils.equalsArray(null, null));
+        assertTrue(ComparatorUtils.equalsArray(new int[]{1, 2}, new int[]{1, 2}));
+        assertTrue(ComparatorUtils.equalsArray(new byte[]{1, 2}, new byte[]{1, 2}));
+        assertTrue(ComparatorUtils.equalsArray(new double[]{Double.NaN}, new double[]{Double.NaN}));
+        assertTrue(ComparatorUtils.equalsArray(new Object[]{"a", new int[]{1}}, new Object[]{"a", new int[]{1}}));
+        assertFalse(ComparatorUtils.equalsArray(new int[]{1, 2}, null));
+        assertFalse(ComparatorUtils.equalsArray(new int[]{1, 2}, new int[]{1, 2, 3}));
+        assertFalse(ComparatorUtils.equalsArray(new int[]{1, 2}, new long[]{1, 2}));
+        assertFalse(ComparatorUtils.equalsArray(new double[]{0.0}, new double[]{-0.0}));
+        assertFalse(ComparatorUtils.equalsArray(new String[]{"a"}, new Object[]{"a"}));
+        assertFalse(ComparatorUtils.equalsArray("a", "b"));
+    }
+
+    @Test
+    @DisplayName("Test array ranges equality by contents")
+    public void test_equalsRange_whenPassedRanges() {
+        // then
+        assertTrue(ComparatorUtils.equalsRange(new int[]{1, 2, 3, 4}, 1, 3, new int[]{9, 2, 3}, 1, 3));
+        assertTrue(ComparatorUtils.equalsRange(new byte[]{1, 2, 3}, 0, 0, new byte[]{4}, 1, 1));
+        assertTrue(ComparatorUtils.equalsRange(new long[]{5, 6}, 0, 2, new long[]{0, 5, 6}, 1, 3));
+        assertTrue(ComparatorUtils.equalsRange(new char[]{'a', 'b'}, 1, 2, new char[]{'b'}, 0, 1));
+        assertTrue(ComparatorUtils.equalsRange(new double[]{Double.NaN}, 0, 1, new double[]{Double.NaN}, 0, 1));
+        assertFalse(ComparatorUtils.equalsRange(new int[]{1, 2, 3, 4}, 1, 3, new int[]{9, 2, 3}, 1, 2));
+        assertFalse(ComparatorUtils.equalsRange(new short[]{1, 2}, 0, 2, new short[]{1, 3}, 0, 2));
+        assertFalse(ComparatorUtils.equalsRange(new float[]{0.0f}, 0, 1, new float[]{-0.0f}, 0, 1));
+        assertFalse(ComparatorUtils.equalsRange(new boolean[]{true}, 0, 1, new boolean[]{false}, 0, 1));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    @DisplayName("Test array ranges equality out of array bounds")
+    public void test_equalsRange_whenPassedInvalidRange() {
+        // when
+        ComparatorUtils.equalsRange(new int[]{1, 2}, 0, 3, new int[]{1, 2, 3}, 0, 3);
+    }
+
+    private static List<Integer> randomValues(final Random random, int size) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(size / 2 + 1));
+        }
+        return result;
+    }
+}
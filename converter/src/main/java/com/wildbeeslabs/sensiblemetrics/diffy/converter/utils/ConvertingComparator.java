@@ -4,19 +4,22 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.converter.interfaces.Converter;
 import org.apache.commons.collections.comparators.ComparableComparator;
 
-import java.util.Comparator;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A {@link Comparator} that converts values before they are compared.
  * The specified {@link Converter} will be used to convert each value
  * before it passed to the underlying {@code Comparator}.
+ * <p>
+ * {@link #sort(List)} converts every element exactly once into a key, sorts element indices by keys
+ * and permutes the source, which avoids O(N log N) conversions for expensive converters.
  *
  * @param <S> the source type
  * @param <T> the target type
  * @author Phillip Webb
  * @since 3.2
  */
+@SuppressWarnings("unchecked")
 public class ConvertingComparator<S, T> implements Comparator<S> {
 
     private final Comparator<T> comparator;
@@ -54,6 +57,126 @@ public class ConvertingComparator<S, T> implements Comparator<S> {
         return this.comparator.compare(c1, c2);
     }
 
+    /**
+     * Sort the given list in place, converting each element exactly once.
+     *
+     * @param list the list to sort
+     * @return the sorted list
+     * @see #sort(List, Converter, Comparator)
+     */
+    public List<S> sort(final List<S> list) {
+        return sort(list, this.converter, this.comparator);
+    }
+
+    /**
+     * Sort the given list in place by keys converted exactly once per element. The sort is stable,
+     * {@code Long}, {@code Double} and {@code String} keys compared by natural order are sorted
+     * without calling the comparator.
+     *
+     * @param list       the list to sort
+     * @param converter  the converter of elements to keys
+     * @param comparator the comparator used to compare keys
+     * @return the sorted list
+     */
+    public static <S, T> List<S> sort(final List<S> list, final Converter<S, T> converter, final Comparator<T> comparator) {
+        ValidationUtils.notNull(list, "List must not be null");
+        ValidationUtils.notNull(converter, "Converter must not be null");
+        ValidationUtils.notNull(comparator, "Comparator must not be null");
+        if (list.size() < 2) {
+            return list;
+        }
+        final Object[] elements = list.toArray();
+        final Object[] keys = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = converter.convert((S) elements[i]);
+        }
+
+        final int[] indices = new int[elements.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        mergeSort(indices.clone(), indices, 0, indices.length, indexComparator(keys, (Comparator<Object>) comparator));
+
+        final ListIterator<S> iterator = list.listIterator();
+        for (final int index : indices) {
+            iterator.next();
+            iterator.set((S) elements[index]);
+        }
+        return list;
+    }
+
+    private static IndexComparator indexComparator(final Object[] keys, final Comparator<Object> comparator) {
+        if (comparator == ComparableComparator.getInstance() || Objects.equals(comparator, Comparator.naturalOrder())) {
+            final Class<?> type = commonType(keys);
+            if (type == Long.class) {
+                final long[] values = new long[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    values[i] = (Long) keys[i];
+                }
+                return (i, j) -> Long.compare(values[i], values[j]);
+            } else if (type == Double.class) {
+                final double[] values = new double[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    values[i] = (Double) keys[i];
+                }
+                return (i, j) -> Double.compare(values[i], values[j]);
+            } else if (type == String.class) {
+                final String[] values = Arrays.copyOf(keys, keys.length, String[].class);
+                return (i, j) -> values[i].compareTo(values[j]);
+            }
+        }
+        return (i, j) -> comparator.compare(keys[i], keys[j]);
+    }
+
+    private static Class<?> commonType(final Object[] keys) {
+        final Class<?> type = Objects.isNull(keys[0]) ? null : keys[0].getClass();
+        for (final Object key : keys) {
+            if (Objects.isNull(key) || key.getClass() != type) {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Stable merge sort of indices from the source into the target range, both arrays hold equal contents on entry
+     */
+    private static void mergeSort(final int[] source, final int[] target, int from, int to, final IndexComparator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                final int value = target[i];
+                int j = i - 1;
+                for (; j >= from && comparator.compare(target[j], value) > 0; j--) {
+                    target[j + 1] = target[j];
+                }
+                target[j + 1] = value;
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+        if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = middle; i < to; i++) {
+            if (q >= to || (p < middle && comparator.compare(source[p], source[q]) <= 0)) {
+                target[i] = source[p++];
+            } else {
+                target[i] = source[q++];
+            }
+        }
+    }
+
+    /**
+     * Comparator of element indices by their keys
+     */
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int first, int second);
+    }
+
     /**
      * Create a new {@link ConvertingComparator} that compares {@link java.util.Map.Entry
      * map * entries} based on their {@link java.util.Map.Entry#getKey() keys}.
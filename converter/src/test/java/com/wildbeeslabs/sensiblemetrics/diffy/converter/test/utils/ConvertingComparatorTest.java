@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.converter.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.converter.utils.ConvertingComparator;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link ConvertingComparator} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ConvertingComparatorTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test sorting by keys converted once per element")
+    public void test_sort_whenPassedLongKeys() {
+        // given
+        final List<String> values = randomValues(new Random(DEFAULT_SEED), 1000);
+        final AtomicInteger conversions = new AtomicInteger();
+        final ConvertingComparator<String, Long> comparator = new ConvertingComparator<>(Comparator.naturalOrder(), value -> {
+            conversions.incrementAndGet();
+            return Long.parseLong(value.substring(1));
+        });
+
+        // when
+        final List<String> actual = comparator.sort(new ArrayList<>(values));
+
+        // then
+        assertEquals(values.size(), conversions.get());
+        final List<String> expected = new ArrayList<>(values);
+        expected.sort(new ConvertingComparator<>(Comparator.<Long>naturalOrder(), value -> Long.parseLong(value.substring(1))));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Test sorting by keys with custom comparator")
+    public void test_sort_whenPassedCustomComparator() {
+        // given
+        final List<String> values = randomValues(new Random(DEFAULT_SEED), 1000);
+        final Comparator<Double> reversed = Comparator.reverseOrder();
+
+        // when
+        final List<String> actual = ConvertingComparator.sort(new ArrayList<>(values), value -> Double.parseDouble(value.substring(1)) / 2, reversed);
+
+        // then
+        final List<String> expected = new ArrayList<>(values);
+        expected.sort(new ConvertingComparator<>(reversed, value -> Double.parseDouble(value.substring(1)) / 2));
+        assertEquals(expected, actual);
+    }
+
+    private static List<String> randomValues(final Random random, int size) {
+        final List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((char) ('a' + random.nextInt(26)) + String.valueOf(random.nextInt(100)));
+        }
+        return result;
+    }
+}
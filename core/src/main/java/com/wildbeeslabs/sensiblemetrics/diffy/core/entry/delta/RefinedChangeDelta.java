@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditSpan;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Change {@link ChangeDelta} implementation refined by intra-line {@link EditSpan}s
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class RefinedChangeDelta extends ChangeDelta<String> {
+
+    /**
+     * Default {@link List} of intra-line {@link EditSpan}s
+     */
+    private final List<EditSpan> spans;
+
+    /**
+     * Creates a refined change delta with the two given chunks and edit spans.
+     *
+     * @param original The original chunk. Must not be {@code null}.
+     * @param revised  The revised chunk. Must not be {@code null}.
+     * @param spans    The intra-line edit spans of paired lines.
+     */
+    public RefinedChangeDelta(final Chunk<String> original, final Chunk<String> revised, final List<EditSpan> spans) {
+        super(original, revised);
+        this.spans = spans;
+    }
+
+    /**
+     * Returns {@link List} of intra-line {@link EditSpan}s
+     *
+     * @return {@link List} of {@link EditSpan}s ordered by line and position
+     */
+    public List<EditSpan> getSpans() {
+        return this.spans;
+    }
+}
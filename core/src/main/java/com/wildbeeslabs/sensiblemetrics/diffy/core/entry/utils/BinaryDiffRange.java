@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+
+import java.util.Objects;
+
+/**
+ * Binary diff range implementation
+ * <p>
+ * Describes bytes of the expected content replaced by bytes of the actual content, one of the sides may be empty.
+ */
+public class BinaryDiffRange {
+
+    /**
+     * Default expected range offset
+     */
+    public final long expectedOffset;
+    /**
+     * Default expected range length
+     */
+    public final long expectedLength;
+    /**
+     * Default actual range offset
+     */
+    public final long actualOffset;
+    /**
+     * Default actual range length
+     */
+    public final long actualLength;
+
+    /**
+     * Builds a new instance.
+     *
+     * @param expectedOffset the offset of the range in the expected content.
+     * @param expectedLength the length of the range in the expected content.
+     * @param actualOffset   the offset of the range in the actual content.
+     * @param actualLength   the length of the range in the actual content.
+     */
+    public BinaryDiffRange(long expectedOffset, long expectedLength, long actualOffset, long actualLength) {
+        this.expectedOffset = expectedOffset;
+        this.expectedLength = expectedLength;
+        this.actualOffset = actualOffset;
+        this.actualLength = actualLength;
+    }
+
+    /**
+     * Returns {@link Delta.TYPE} of the range
+     *
+     * @return {@link Delta.TYPE#INSERT} if expected range is empty, {@link Delta.TYPE#DELETE} if actual range is empty,
+     * {@link Delta.TYPE#CHANGE} otherwise
+     */
+    public Delta.TYPE getType() {
+        if (this.expectedLength == 0) {
+            return Delta.TYPE.INSERT;
+        } else if (this.actualLength == 0) {
+            return Delta.TYPE.DELETE;
+        }
+        return Delta.TYPE.CHANGE;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BinaryDiffRange)) {
+            return false;
+        }
+        final BinaryDiffRange range = (BinaryDiffRange) other;
+        return this.expectedOffset == range.expectedOffset && this.expectedLength == range.expectedLength
+            && this.actualOffset == range.actualOffset && this.actualLength == range.actualLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.expectedOffset, this.expectedLength, this.actualOffset, this.actualLength);
+    }
+
+    @Override
+    public String toString() {
+        return this.getType() + "[expected " + this.expectedOffset + "+" + this.expectedLength + ", actual " + this.actualOffset + "+" + this.actualLength + "]";
+    }
+}
@@ -27,7 +27,7 @@ public class BinaryDiffResult {
     /**
      * Default EOF marker
      */
-    private static final int EOF = -1;
+    protected static final int EOF = -1;
 
     /**
      * Default offset
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Bounded diff result implementation
+ * <p>
+ * Holds the patch computed under {@link DiffLimits} and the reason the computation stopped. If any limit was hit
+ * the sequences are considered too different and the patch is a best-effort coarse one: exact up to the
+ * furthest reached point, followed by a single delta over the unresolved middle.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+public class BoundedDiffResult<T> {
+
+    /**
+     * Bounded diff status type {@link Enum}
+     */
+    public enum StatusType {
+        /**
+         * Default status of fully resolved diff
+         */
+        COMPLETED,
+        /**
+         * Default status of diff stopped by maximum edit cost
+         */
+        COST_EXCEEDED,
+        /**
+         * Default status of diff stopped by wall-clock deadline
+         */
+        DEADLINE_EXCEEDED,
+        /**
+         * Default status of diff stopped by cancellation token
+         */
+        CANCELLED
+    }
+
+    /**
+     * Default {@link DefaultPatch}
+     */
+    private final DefaultPatch<T> patch;
+    /**
+     * Default {@link StatusType}
+     */
+    private final StatusType status;
+    /**
+     * Default edit cost explored by the search
+     */
+    private final int cost;
+
+    /**
+     * Default bounded diff result constructor by input parameters
+     *
+     * @param patch  - initial input {@link DefaultPatch}
+     * @param status - initial input {@link StatusType}
+     * @param cost   - initial input edit cost explored by the search
+     * @throws IllegalArgumentException if patch is {@code null}
+     * @throws IllegalArgumentException if status is {@code null}
+     */
+    public BoundedDiffResult(final DefaultPatch<T> patch, final StatusType status, int cost) {
+        ValidationUtils.notNull(patch, "Patch should not be null");
+        ValidationUtils.notNull(status, "Status should not be null");
+        this.patch = patch;
+        this.status = status;
+        this.cost = cost;
+    }
+
+    /**
+     * Returns {@link DefaultPatch}
+     *
+     * @return exact {@link DefaultPatch} if completed, coarse one otherwise
+     */
+    public DefaultPatch<T> getPatch() {
+        return this.patch;
+    }
+
+    /**
+     * Returns {@link StatusType}
+     *
+     * @return {@link StatusType}
+     */
+    public StatusType getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Returns edit cost explored by the search
+     *
+     * @return minimal edit cost if completed, lower bound of it otherwise
+     */
+    public int getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Returns binary flag depending on whether any limit was hit
+     *
+     * @return true - if sequences are too different to be diffed within the limits, false - otherwise
+     */
+    public boolean isTooDifferent() {
+        return StatusType.COMPLETED != this.status;
+    }
+}
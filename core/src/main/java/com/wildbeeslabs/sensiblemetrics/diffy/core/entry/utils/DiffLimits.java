@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Diff limits implementation
+ * <p>
+ * Bounds a single diff computation by maximum edit cost, wall-clock timeout and {@link CancellationToken}.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+public class DiffLimits {
+
+    /**
+     * Default unbounded {@link DiffLimits}
+     */
+    private static final DiffLimits UNBOUNDED = new DiffLimits(Integer.MAX_VALUE, null, null);
+
+    /**
+     * Default maximum edit cost (inserted and deleted elements)
+     */
+    private final int maxCost;
+    /**
+     * Default wall-clock timeout {@link Duration} (optional)
+     */
+    private final Duration timeout;
+    /**
+     * Default {@link CancellationToken} (optional)
+     */
+    private final CancellationToken token;
+
+    private DiffLimits(int maxCost, final Duration timeout, final CancellationToken token) {
+        this.maxCost = maxCost;
+        this.timeout = timeout;
+        this.token = token;
+    }
+
+    /**
+     * Returns new {@link DiffLimits} by input parameters
+     *
+     * @param maxCost - initial input maximum edit cost
+     * @param timeout - initial input wall-clock timeout {@link Duration} (optional)
+     * @param token   - initial input {@link CancellationToken} (optional)
+     * @return {@link DiffLimits}
+     * @throws IllegalArgumentException if maximum cost is negative
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public static DiffLimits of(int maxCost, final Duration timeout, final CancellationToken token) {
+        ValidationUtils.isTrue(maxCost >= 0, "Maximum cost should be greater than or equal to zero");
+        ValidationUtils.isTrue(Objects.isNull(timeout) || !timeout.isNegative(), "Timeout should not be negative");
+        return new DiffLimits(maxCost, timeout, token);
+    }
+
+    /**
+     * Returns {@link DiffLimits} by maximum edit cost
+     *
+     * @param maxCost - initial input maximum edit cost
+     * @return {@link DiffLimits}
+     */
+    public static DiffLimits ofCost(int maxCost) {
+        return of(maxCost, null, null);
+    }
+
+    /**
+     * Returns {@link DiffLimits} by wall-clock timeout
+     *
+     * @param timeout - initial input wall-clock timeout {@link Duration}
+     * @return {@link DiffLimits}
+     * @throws IllegalArgumentException if timeout is {@code null}
+     */
+    public static DiffLimits ofTimeout(final Duration timeout) {
+        ValidationUtils.notNull(timeout, "Timeout should not be null");
+        return of(Integer.MAX_VALUE, timeout, null);
+    }
+
+    /**
+     * Returns unbounded {@link DiffLimits}
+     *
+     * @return {@link DiffLimits}
+     */
+    public static DiffLimits unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Returns binary flag depending on whether neither edit cost, timeout nor cancellation is bounded
+     *
+     * @return true - if limits are unbounded, false - otherwise
+     */
+    public boolean isUnbounded() {
+        return Integer.MAX_VALUE == this.maxCost && Objects.isNull(this.timeout) && Objects.isNull(this.token);
+    }
+
+    /**
+     * Returns maximum edit cost
+     *
+     * @return maximum edit cost
+     */
+    public int getMaxCost() {
+        return this.maxCost;
+    }
+
+    /**
+     * Returns wall-clock timeout {@link Duration}
+     *
+     * @return wall-clock timeout {@link Duration}, or {@code null} if not bounded
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Returns {@link CancellationToken}
+     *
+     * @return {@link CancellationToken}, or {@code null} if not cancellable
+     */
+    public CancellationToken getToken() {
+        return this.token;
+    }
+
+    /**
+     * Returns deadline in {@link System#nanoTime()} units for the computation started at the given time
+     *
+     * @param startTime - initial input start time in nanoseconds
+     * @return deadline in nanoseconds, or {@link Long#MAX_VALUE} if not bounded
+     */
+    public long deadline(long startTime) {
+        if (Objects.isNull(this.timeout)) {
+            return Long.MAX_VALUE;
+        }
+        final long nanos = this.timeout.toNanos();
+        return (Long.MAX_VALUE - startTime < nanos) ? Long.MAX_VALUE : startTime + nanos;
+    }
+}
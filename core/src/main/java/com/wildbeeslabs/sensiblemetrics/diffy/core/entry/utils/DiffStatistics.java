@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import lombok.ToString;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diff statistics implementation
+ * <p>
+ * Accumulates sizes of the compared sequences and the amount of input eliminated by preprocessing
+ * before the core diff algorithm runs. Counters are updated concurrently by parallel diff tasks,
+ * so derived values read while a diff is running are approximate.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@ToString
+public class DiffStatistics {
+
+    /**
+     * Default original elements count
+     */
+    private final LongAdder originalSize = new LongAdder();
+    /**
+     * Default revised elements count
+     */
+    private final LongAdder revisedSize = new LongAdder();
+    /**
+     * Default common head length (elements on each side)
+     */
+    private final LongAdder prefixLength = new LongAdder();
+    /**
+     * Default common tail length (elements on each side)
+     */
+    private final LongAdder suffixLength = new LongAdder();
+    /**
+     * Default original elements discarded as absent from the revised sequence
+     */
+    private final LongAdder originalDiscarded = new LongAdder();
+    /**
+     * Default revised elements discarded as absent from the original sequence
+     */
+    private final LongAdder revisedDiscarded = new LongAdder();
+
+    /**
+     * Registers compared ranges sizes
+     *
+     * @param originalSize - initial input original range size
+     * @param revisedSize  - initial input revised range size
+     */
+    public void registerInput(long originalSize, long revisedSize) {
+        this.originalSize.add(originalSize);
+        this.revisedSize.add(revisedSize);
+    }
+
+    /**
+     * Registers trimmed common head and tail lengths
+     *
+     * @param prefixLength - initial input common head length
+     * @param suffixLength - initial input common tail length
+     */
+    public void registerTrimmed(long prefixLength, long suffixLength) {
+        this.prefixLength.add(prefixLength);
+        this.suffixLength.add(suffixLength);
+    }
+
+    /**
+     * Registers discarded elements counts
+     *
+     * @param originalDiscarded - initial input discarded original elements count
+     * @param revisedDiscarded  - initial input discarded revised elements count
+     */
+    public void registerDiscarded(long originalDiscarded, long revisedDiscarded) {
+        this.originalDiscarded.add(originalDiscarded);
+        this.revisedDiscarded.add(revisedDiscarded);
+    }
+
+    /**
+     * Returns original elements count
+     *
+     * @return original elements count
+     */
+    public long getOriginalSize() {
+        return this.originalSize.sum();
+    }
+
+    /**
+     * Returns revised elements count
+     *
+     * @return revised elements count
+     */
+    public long getRevisedSize() {
+        return this.revisedSize.sum();
+    }
+
+    /**
+     * Returns common head length
+     *
+     * @return common head length
+     */
+    public long getPrefixLength() {
+        return this.prefixLength.sum();
+    }
+
+    /**
+     * Returns common tail length
+     *
+     * @return common tail length
+     */
+    public long getSuffixLength() {
+        return this.suffixLength.sum();
+    }
+
+    /**
+     * Returns discarded original elements count
+     *
+     * @return discarded original elements count
+     */
+    public long getOriginalDiscarded() {
+        return this.originalDiscarded.sum();
+    }
+
+    /**
+     * Returns discarded revised elements count
+     *
+     * @return discarded revised elements count
+     */
+    public long getRevisedDiscarded() {
+        return this.revisedDiscarded.sum();
+    }
+
+    /**
+     * Returns total number of elements (on both sides) eliminated before the core diff algorithm
+     *
+     * @return total number of eliminated elements
+     */
+    public long getEliminated() {
+        return 2 * (this.getPrefixLength() + this.getSuffixLength()) + this.getOriginalDiscarded() + this.getRevisedDiscarded();
+    }
+
+    /**
+     * Returns share of eliminated elements in range [0, 1]
+     *
+     * @return share of eliminated elements
+     */
+    public double getEliminatedRatio() {
+        final long total = this.getOriginalSize() + this.getRevisedSize();
+        return (total == 0) ? 0.0 : Math.min(1.0, (double) this.getEliminated() / total);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.DeleteDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.InsertDelta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.copyOf;
+
+/**
+ * Edit script implementation
+ * <p>
+ * Keeps one change flag per element of the original (deleted) and revised (inserted) sequences.
+ * Unflagged elements of both sequences are matched pairwise in order, so a script is a compact
+ * representation of the longest common subsequence that costs {@code N + M} bytes
+ * regardless of the number of differences.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class EditScript {
+
+    /**
+     * Default original sequence change flags
+     */
+    private final boolean[] deleted;
+    /**
+     * Default revised sequence change flags
+     */
+    private final boolean[] inserted;
+
+    /**
+     * Default edit script constructor by input parameters
+     *
+     * @param originalSize - initial input original sequence size
+     * @param revisedSize  - initial input revised sequence size
+     */
+    public EditScript(int originalSize, int revisedSize) {
+        ValidationUtils.isTrue(originalSize >= 0, "Original size should be greater than or equal to zero");
+        ValidationUtils.isTrue(revisedSize >= 0, "Revised size should be greater than or equal to zero");
+
+        this.deleted = new boolean[originalSize];
+        this.inserted = new boolean[revisedSize];
+    }
+
+    /**
+     * Marks original elements in range [{@code from}, {@code to}) as deleted
+     *
+     * @param from - initial input start position (inclusive)
+     * @param to   - initial input end position (exclusive)
+     */
+    public void delete(int from, int to) {
+        Arrays.fill(this.deleted, from, to, true);
+    }
+
+    /**
+     * Marks revised elements in range [{@code from}, {@code to}) as inserted
+     *
+     * @param from - initial input start position (inclusive)
+     * @param to   - initial input end position (exclusive)
+     */
+    public void insert(int from, int to) {
+        Arrays.fill(this.inserted, from, to, true);
+    }
+
+    /**
+     * Returns binary flag whether original element at {@code index} is deleted
+     *
+     * @param index - initial input original position
+     * @return true - if original element is deleted, false - otherwise
+     */
+    public boolean isDeleted(int index) {
+        return this.deleted[index];
+    }
+
+    /**
+     * Returns binary flag whether revised element at {@code index} is inserted
+     *
+     * @param index - initial input revised position
+     * @return true - if revised element is inserted, false - otherwise
+     */
+    public boolean isInserted(int index) {
+        return this.inserted[index];
+    }
+
+    /**
+     * Returns original sequence size
+     *
+     * @return original sequence size
+     */
+    public int originalSize() {
+        return this.deleted.length;
+    }
+
+    /**
+     * Returns revised sequence size
+     *
+     * @return revised sequence size
+     */
+    public int revisedSize() {
+        return this.inserted.length;
+    }
+
+    /**
+     * Returns {@link DefaultPatch} by input original and revised sequences
+     * <p>
+     * Every maximal run of flagged elements between two matched pairs becomes a single delta,
+     * so deltas are produced in ascending order of their original positions.
+     *
+     * @param <T>      type of sequence element
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     * @return {@link DefaultPatch}
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalStateException    if the script is not consistent with the sequences
+     */
+    public <T> DefaultPatch<T> toPatch(final List<T> original, final List<T> revised) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+        ValidationUtils.isTrue(original.size() == this.originalSize(), "Original sequence size should match edit script");
+        ValidationUtils.isTrue(revised.size() == this.revisedSize(), "Revised sequence size should match edit script");
+
+        final List<int[]> hunks = this.hunks();
+        final DefaultPatch<T> patch = new DefaultPatch<>(null, hunks.size());
+        for (final int[] hunk : hunks) {
+            patch.addDelta(createDelta(
+                new DefaultChunk<>(hunk[0], copyOf(original, hunk[0], hunk[1])),
+                new DefaultChunk<>(hunk[2], copyOf(revised, hunk[2], hunk[3])))
+            );
+        }
+        return patch;
+    }
+
+    /**
+     * Returns changed ranges as {@code {originalFrom, originalTo, revisedFrom, revisedTo}}
+     * <p>
+     * Every maximal run of flagged elements between two matched pairs becomes a single range,
+     * ranges are produced in ascending order of their positions.
+     *
+     * @return {@link List} of changed ranges
+     * @throws IllegalStateException if the script is not consistent
+     */
+    public List<int[]> hunks() {
+        final List<int[]> hunks = new ArrayList<>();
+        final int n = this.originalSize();
+        final int m = this.revisedSize();
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && !this.deleted[i] && !this.inserted[j]) {
+                i++;
+                j++;
+                continue;
+            }
+            final int iAnchor = i;
+            final int jAnchor = j;
+            while (i < n && this.deleted[i]) {
+                i++;
+            }
+            while (j < m && this.inserted[j]) {
+                j++;
+            }
+            if (i == iAnchor && j == jAnchor) {
+                throw new IllegalStateException("ERROR: inconsistent edit script at positions: " + i + ", " + j);
+            }
+            hunks.add(new int[]{iAnchor, i, jAnchor, j});
+        }
+        return hunks;
+    }
+
+    /**
+     * Returns {@link Delta} by input original and revised {@link Chunk}s
+     *
+     * @param <T>      type of chunk element
+     * @param original - initial input original {@link Chunk}
+     * @param revised  - initial input revised {@link Chunk}
+     * @return {@link Delta}
+     */
+    public static <T> Delta<T> createDelta(final Chunk<T> original, final Chunk<T> revised) {
+        if (original.size() == 0 && revised.size() != 0) {
+            return new InsertDelta<>(original, revised);
+        } else if (original.size() > 0 && revised.size() == 0) {
+            return new DeleteDelta<>(original, revised);
+        }
+        return new ChangeDelta<>(original, revised);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Intra-line edit span implementation
+ * <p>
+ * Describes characters {@code [originalFrom, originalTo)} of an original line replaced by characters
+ * {@code [revisedFrom, revisedTo)} of the paired revised line, one of the ranges may be empty.
+ * A line without a pair is described by the whole-line range of its side and an empty range of the other one.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+public class EditSpan {
+
+    /**
+     * Default {@link Delta.TYPE}
+     */
+    private final Delta.TYPE type;
+    /**
+     * Default line index within the delta chunks
+     */
+    private final int line;
+    /**
+     * Default original range start
+     */
+    private final int originalFrom;
+    /**
+     * Default original range end
+     */
+    private final int originalTo;
+    /**
+     * Default revised range start
+     */
+    private final int revisedFrom;
+    /**
+     * Default revised range end
+     */
+    private final int revisedTo;
+
+    /**
+     * Default edit span constructor by input parameters
+     *
+     * @param type         - initial input {@link Delta.TYPE}
+     * @param line         - initial input line index within the delta chunks
+     * @param originalFrom - initial input original range start
+     * @param originalTo   - initial input original range end
+     * @param revisedFrom  - initial input revised range start
+     * @param revisedTo    - initial input revised range end
+     * @throws IllegalArgumentException if type is {@code null}
+     */
+    public EditSpan(final Delta.TYPE type, int line, int originalFrom, int originalTo, int revisedFrom, int revisedTo) {
+        ValidationUtils.notNull(type, "Type should not be null");
+        this.type = type;
+        this.line = line;
+        this.originalFrom = originalFrom;
+        this.originalTo = originalTo;
+        this.revisedFrom = revisedFrom;
+        this.revisedTo = revisedTo;
+    }
+
+    /**
+     * Returns {@link Delta.TYPE}
+     *
+     * @return {@link Delta.TYPE}
+     */
+    public Delta.TYPE getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns line index within the delta chunks
+     *
+     * @return line index
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Returns original range start
+     *
+     * @return original range start
+     */
+    public int getOriginalFrom() {
+        return this.originalFrom;
+    }
+
+    /**
+     * Returns original range end
+     *
+     * @return original range end
+     */
+    public int getOriginalTo() {
+        return this.originalTo;
+    }
+
+    /**
+     * Returns revised range start
+     *
+     * @return revised range start
+     */
+    public int getRevisedFrom() {
+        return this.revisedFrom;
+    }
+
+    /**
+     * Returns revised range end
+     *
+     * @return revised range end
+     */
+    public int getRevisedTo() {
+        return this.revisedTo;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Interned sequences implementation
+ * <p>
+ * Maps every element of the original and revised sequences to a dense {@code int} identifier through one shared
+ * hash table, so that equal elements get equal identifiers and diff algorithms compare plain integers.
+ * The source elements are kept to build {@link DefaultPatch} chunks from the resulting {@link EditScript}.
+ *
+ * @param <T> type of sequence element
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class InternedSequences<T> {
+
+    /**
+     * Default original sequence
+     */
+    private final List<T> original;
+    /**
+     * Default revised sequence
+     */
+    private final List<T> revised;
+    /**
+     * Default original element identifiers
+     */
+    private final int[] originalIds;
+    /**
+     * Default revised element identifiers
+     */
+    private final int[] revisedIds;
+    /**
+     * Default number of distinct identifiers
+     */
+    private final int idCount;
+
+    private InternedSequences(final List<T> original, final List<T> revised) {
+        final Map<T, Integer> ids = new HashMap<>();
+        this.original = original;
+        this.revised = revised;
+        this.originalIds = intern(original, ids);
+        this.revisedIds = intern(revised, ids);
+        this.idCount = ids.size();
+    }
+
+    private InternedSequences(final List<T> original, final List<T> revised, final int[] originalIds, final int[] revisedIds, int idCount) {
+        this.original = original;
+        this.revised = revised;
+        this.originalIds = originalIds;
+        this.revisedIds = revisedIds;
+        this.idCount = idCount;
+    }
+
+    /**
+     * Returns {@link InternedSequences} by input original and revised sequences
+     *
+     * @param <T>      type of sequence element
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     * @return {@link InternedSequences}
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    public static <T> InternedSequences<T> of(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        return new InternedSequences<>(listOf(original), listOf(revised));
+    }
+
+    /**
+     * Returns {@link InternedSequences} by input sequences and element identifiers computed elsewhere
+     *
+     * @param <T>         type of sequence element
+     * @param original    - initial input original sequence
+     * @param revised     - initial input revised sequence
+     * @param originalIds - initial input original element identifiers
+     * @param revisedIds  - initial input revised element identifiers
+     * @param idCount     - initial input number of distinct identifiers
+     * @return {@link InternedSequences}
+     */
+    static <T> InternedSequences<T> of(final List<T> original, final List<T> revised, final int[] originalIds, final int[] revisedIds, int idCount) {
+        return new InternedSequences<>(original, revised, originalIds, revisedIds, idCount);
+    }
+
+    /**
+     * Returns original sequence
+     *
+     * @return original sequence
+     */
+    public List<T> getOriginal() {
+        return this.original;
+    }
+
+    /**
+     * Returns revised sequence
+     *
+     * @return revised sequence
+     */
+    public List<T> getRevised() {
+        return this.revised;
+    }
+
+    /**
+     * Returns original element identifiers
+     *
+     * @return original element identifiers
+     */
+    public int[] getOriginalIds() {
+        return this.originalIds;
+    }
+
+    /**
+     * Returns revised element identifiers
+     *
+     * @return revised element identifiers
+     */
+    public int[] getRevisedIds() {
+        return this.revisedIds;
+    }
+
+    /**
+     * Returns number of distinct identifiers, every identifier is in range [0, idCount)
+     *
+     * @return number of distinct identifiers
+     */
+    public int getIdCount() {
+        return this.idCount;
+    }
+
+    /**
+     * Returns new empty {@link EditScript} sized by the interned sequences
+     *
+     * @return new {@link EditScript}
+     */
+    public EditScript newScript() {
+        return new EditScript(this.originalIds.length, this.revisedIds.length);
+    }
+
+    /**
+     * Returns {@link DefaultPatch} of source elements by input {@link EditScript}
+     *
+     * @param script - initial input {@link EditScript}
+     * @return {@link DefaultPatch}
+     */
+    public DefaultPatch<T> toPatch(final EditScript script) {
+        ValidationUtils.notNull(script, "Edit script should not be null");
+        return script.toPatch(this.original, this.revised);
+    }
+
+    private static <T> int[] intern(final List<T> values, final Map<T, Integer> ids) {
+        final int[] result = new int[values.size()];
+        int index = 0;
+        for (final T value : values) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = ids.size();
+                ids.put(value, id);
+            }
+            result[index++] = id;
+        }
+        return result;
+    }
+}
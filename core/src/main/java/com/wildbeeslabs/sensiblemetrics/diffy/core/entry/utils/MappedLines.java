@@ -0,0 +1,390 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Memory-mapped lines implementation
+ * <p>
+ * Maps a file by {@link FileChannel#map} in segments, so files larger than heap are supported, and indexes line
+ * start offsets into a {@code long[]} array together with a hash of every line computed from the mapped bytes.
+ * Lines are terminated the same way as by {@link java.io.BufferedReader#readLine()} and are decoded into
+ * {@link String}s only on access. Lines are compared by bytes, so the charset should encode line terminators as
+ * single bytes never occurring inside multi-byte sequences (see {@link #isSupported(Charset)}).
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class MappedLines {
+
+    /**
+     * Default mapped segment size bits (1 GB)
+     */
+    private static final int SEGMENT_BITS = 30;
+    /**
+     * Default mapped segment offset mask
+     */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+    /**
+     * Default line feed and carriage return bytes
+     */
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    /**
+     * Default mapped {@link MappedByteBuffer} segments
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * Default line {@link Charset}
+     */
+    private final Charset charset;
+    /**
+     * Default line start offsets, the last entry is the file size
+     */
+    private final long[] offsets;
+    /**
+     * Default line content hashes
+     */
+    private final int[] hashes;
+    /**
+     * Default number of lines
+     */
+    private final int size;
+
+    private MappedLines(final MappedByteBuffer[] segments, final Charset charset, long length) {
+        this.segments = segments;
+        this.charset = charset;
+
+        long[] offsets = new long[1024];
+        int[] hashes = new int[1024];
+        int count = 0;
+        int hash = 1;
+        long position = 0;
+        boolean lineStarted = false;
+        byte previous = 0;
+        for (final MappedByteBuffer segment : segments) {
+            final int limit = segment.limit();
+            for (int i = 0; i < limit; i++, position++) {
+                final byte value = segment.get(i);
+                if (value == LF && previous == CR) {
+                    offsets[count] = position + 1;
+                } else if (value == LF || value == CR) {
+                    if (count + 1 >= offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length << 1);
+                        hashes = Arrays.copyOf(hashes, hashes.length << 1);
+                    }
+                    hashes[count++] = hash;
+                    offsets[count] = position + 1;
+                    hash = 1;
+                    lineStarted = false;
+                } else {
+                    hash = 31 * hash + value;
+                    lineStarted = true;
+                }
+                previous = value;
+            }
+        }
+        if (lineStarted) {
+            if (count + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, count + 2);
+                hashes = Arrays.copyOf(hashes, count + 2);
+            }
+            hashes[count++] = hash;
+        }
+        offsets[count] = length;
+        this.offsets = offsets;
+        this.hashes = hashes;
+        this.size = count;
+    }
+
+    /**
+     * Returns {@link MappedLines} of the file by input path and charset
+     *
+     * @param path    - initial input file {@link Path}
+     * @param charset - initial input {@link Charset}
+     * @return {@link MappedLines}
+     * @throws IOException              if the file can not be mapped
+     * @throws IllegalArgumentException if path is {@code null}
+     * @throws IllegalArgumentException if charset is {@code null} or not supported
+     */
+    public static MappedLines map(final Path path, final Charset charset) throws IOException {
+        ValidationUtils.notNull(path, "Path should not be null");
+        ValidationUtils.isTrue(isSupported(charset), "Charset should encode line terminators as single bytes");
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                final long from = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(length - from, SEGMENT_MASK + 1));
+            }
+            return new MappedLines(segments, charset, length);
+        }
+    }
+
+    /**
+     * Returns binary flag depending on whether lines encoded by input charset can be split and compared by bytes
+     *
+     * @param charset - initial input {@link Charset}
+     * @return true - if charset is supported, false - otherwise
+     */
+    public static boolean isSupported(final Charset charset) {
+        if (charset == null || !charset.canEncode()) {
+            return false;
+        }
+        final byte[] terminators = "\r\n".getBytes(charset);
+        return terminators.length == 2 && terminators[0] == CR && terminators[1] == LF
+            && Arrays.equals("a".getBytes(charset), new byte[]{'a'});
+    }
+
+    /**
+     * Returns number of lines
+     *
+     * @return number of lines
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns line content hash by input index
+     *
+     * @param index - initial input line index
+     * @return line content hash
+     */
+    public int hash(int index) {
+        return this.hashes[index];
+    }
+
+    /**
+     * Returns binary flag depending on whether line contents are equal by bytes
+     *
+     * @param index      - initial input line index
+     * @param other      - initial input {@link MappedLines} to compare with
+     * @param otherIndex - initial input line index of the other lines
+     * @return true - if lines are equal, false - otherwise
+     */
+    public boolean lineEquals(int index, final MappedLines other, int otherIndex) {
+        if (this.hashes[index] != other.hashes[otherIndex]) {
+            return false;
+        }
+        final long from = this.offsets[index];
+        final long length = this.end(index) - from;
+        final long otherFrom = other.offsets[otherIndex];
+        if (other.end(otherIndex) - otherFrom != length) {
+            return false;
+        }
+        for (long i = 0; i < length; i++) {
+            if (this.byteAt(from + i) != other.byteAt(otherFrom + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns line decoded by {@link Charset} by input index
+     * <p>
+     * Malformed and unmappable input is reported as {@link java.io.BufferedReader} over the same charset does.
+     *
+     * @param index - initial input line index
+     * @return line {@link String}
+     * @throws UncheckedIOException if the line cannot be decoded by {@link Charset}
+     */
+    public String getLine(int index) {
+        final long from = this.offsets[index];
+        final byte[] bytes = new byte[Math.toIntExact(this.end(index) - from)];
+        int copied = 0;
+        while (copied < bytes.length) {
+            final long position = from + copied;
+            final ByteBuffer segment = this.segments[(int) (position >>> SEGMENT_BITS)].duplicate();
+            segment.position((int) (position & SEGMENT_MASK));
+            final int length = Math.min(bytes.length - copied, segment.remaining());
+            segment.get(bytes, copied, length);
+            copied += length;
+        }
+        try {
+            return this.charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(bytes))
+                .toString();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns lazy {@link List} view of lines decoded on access
+     *
+     * @return {@link List} view of lines
+     */
+    public List<String> asList() {
+        return new LineList();
+    }
+
+    /**
+     * Returns {@link InternedSequences} of original and revised lines interned by mapped bytes
+     *
+     * @param original - initial input original {@link MappedLines}
+     * @param revised  - initial input revised {@link MappedLines}
+     * @return {@link InternedSequences} with lazy line views
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    public static InternedSequences<String> intern(final MappedLines original, final MappedLines revised) {
+        ValidationUtils.notNull(original, "Original lines should not be null");
+        ValidationUtils.notNull(revised, "Revised lines should not be null");
+
+        final LineTable table = new LineTable();
+        final int[] originalIds = new int[original.size()];
+        for (int i = 0; i < originalIds.length; i++) {
+            originalIds[i] = table.intern(original, i);
+        }
+        final int[] revisedIds = new int[revised.size()];
+        for (int j = 0; j < revisedIds.length; j++) {
+            revisedIds[j] = table.intern(revised, j);
+        }
+        return InternedSequences.of(original.asList(), revised.asList(), originalIds, revisedIds, table.count);
+    }
+
+    private long end(int index) {
+        long end = this.offsets[index + 1];
+        if (end > this.offsets[index] && this.byteAt(end - 1) == LF) {
+            end--;
+        }
+        if (end > this.offsets[index] && this.byteAt(end - 1) == CR) {
+            end--;
+        }
+        return end;
+    }
+
+    private byte byteAt(long position) {
+        return this.segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Lazy lines {@link List} view
+     */
+    private final class LineList extends AbstractList<String> implements RandomAccess {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Line index: " + index + ", size: " + size);
+            }
+            return getLine(index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Open addressing table of distinct lines
+     */
+    private static final class LineTable {
+
+        /**
+         * Default slots with identifier plus one, zero for empty slot
+         */
+        private int[] slots = new int[1024];
+        /**
+         * Default representative lines and indexes per identifier
+         */
+        private MappedLines[] lines = new MappedLines[512];
+        private int[] indexes = new int[512];
+        /**
+         * Default number of identifiers
+         */
+        private int count;
+
+        private int intern(final MappedLines source, int index) {
+            int mask = this.slots.length - 1;
+            int slot = mix(source.hash(index)) & mask;
+            while (this.slots[slot] != 0) {
+                final int id = this.slots[slot] - 1;
+                if (this.lines[id].lineEquals(this.indexes[id], source, index)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (this.count == this.lines.length) {
+                this.lines = Arrays.copyOf(this.lines, this.count << 1);
+                this.indexes = Arrays.copyOf(this.indexes, this.count << 1);
+            }
+            this.lines[this.count] = source;
+            this.indexes[this.count] = index;
+            this.slots[slot] = ++this.count;
+            if (this.count << 1 > this.slots.length) {
+                this.rehash();
+            }
+            return this.count - 1;
+        }
+
+        private void rehash() {
+            final int[] slots = new int[this.slots.length << 1];
+            final int mask = slots.length - 1;
+            for (int id = 0; id < this.count; id++) {
+                int slot = mix(this.lines[id].hash(this.indexes[id])) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+            this.slots = slots;
+        }
+
+        private static int mix(int hash) {
+            final int h = hash * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Three-way merge region implementation
+ * <p>
+ * Describes a contiguous range of the base sequence together with the corresponding ranges of both sides.
+ * Element lists of unchanged regions are unmodifiable views of the base sequence, element lists of changed regions
+ * are unmodifiable copies of the merged sequences slices.
+ *
+ * @param <T> type of merged value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+@EqualsAndHashCode
+@ToString
+public class MergeRegion<T> {
+
+    /**
+     * Merge region type {@link Enum}
+     */
+    public enum RegionType {
+        /**
+         * Default type of region unchanged by both sides
+         */
+        UNCHANGED,
+        /**
+         * Default type of region changed by our side only
+         */
+        OURS,
+        /**
+         * Default type of region changed by their side only
+         */
+        THEIRS,
+        /**
+         * Default type of region changed identically by both sides
+         */
+        BOTH,
+        /**
+         * Default type of region changed differently by both sides
+         */
+        CONFLICT
+    }
+
+    /**
+     * Default {@link RegionType}
+     */
+    private final RegionType type;
+    /**
+     * Default base position
+     */
+    private final int basePosition;
+    /**
+     * Default {@link List} of base elements
+     */
+    private final List<T> base;
+    /**
+     * Default {@link List} of our elements
+     */
+    private final List<T> ours;
+    /**
+     * Default {@link List} of their elements
+     */
+    private final List<T> theirs;
+
+    /**
+     * Default merge region constructor by input parameters
+     *
+     * @param type         - initial input {@link RegionType}
+     * @param basePosition - initial input base position
+     * @param base         - initial input {@link List} of base elements
+     * @param ours         - initial input {@link List} of our elements
+     * @param theirs       - initial input {@link List} of their elements
+     * @throws IllegalArgumentException if any argument is {@code null}
+     */
+    public MergeRegion(final RegionType type, int basePosition, final List<T> base, final List<T> ours, final List<T> theirs) {
+        ValidationUtils.notNull(type, "Type should not be null");
+        ValidationUtils.notNull(base, "Base elements should not be null");
+        ValidationUtils.notNull(ours, "Our elements should not be null");
+        ValidationUtils.notNull(theirs, "Their elements should not be null");
+        this.type = type;
+        this.basePosition = basePosition;
+        this.base = base;
+        this.ours = ours;
+        this.theirs = theirs;
+    }
+
+    /**
+     * Returns {@link RegionType}
+     *
+     * @return {@link RegionType}
+     */
+    public RegionType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns base position
+     *
+     * @return base position
+     */
+    public int getBasePosition() {
+        return this.basePosition;
+    }
+
+    /**
+     * Returns {@link List} of base elements
+     *
+     * @return {@link List} of base elements
+     */
+    public List<T> getBase() {
+        return this.base;
+    }
+
+    /**
+     * Returns {@link List} of our elements
+     *
+     * @return {@link List} of our elements
+     */
+    public List<T> getOurs() {
+        return this.ours;
+    }
+
+    /**
+     * Returns {@link List} of their elements
+     *
+     * @return {@link List} of their elements
+     */
+    public List<T> getTheirs() {
+        return this.theirs;
+    }
+
+    /**
+     * Returns binary flag depending on whether both sides changed the region differently
+     *
+     * @return true - if region is a conflict, false - otherwise
+     */
+    public boolean isConflict() {
+        return RegionType.CONFLICT == this.type;
+    }
+
+    /**
+     * Returns {@link List} of merged elements
+     *
+     * @return {@link List} of merged elements
+     * @throws IllegalStateException if region is a conflict
+     */
+    public List<T> getMerged() {
+        switch (this.type) {
+            case OURS:
+            case BOTH:
+                return this.ours;
+            case THEIRS:
+                return this.theirs;
+            case UNCHANGED:
+                return this.base;
+            default:
+                throw new IllegalStateException("Conflicting region has no merged elements");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Multi-range binary diff result implementation
+ * <p>
+ * Extends the first mismatch description of {@link BinaryDiffResult} with the full list of differing ranges,
+ * the first mismatch offset is saturated at {@link Integer#MAX_VALUE} for contents above 2 GB,
+ * the exact offsets are provided by the ranges.
+ */
+public class MultiBinaryDiffResult extends BinaryDiffResult {
+
+    /**
+     * Default differing ranges ordered by offsets
+     */
+    public final List<BinaryDiffRange> ranges;
+
+    /**
+     * Builds a new instance.
+     *
+     * @param ranges   the differing ranges ordered by offsets.
+     * @param expected the expected byte at the first range as an int in the range 0 to 255, or -1 for EOF.
+     * @param actual   the actual byte at the first range in the same format.
+     */
+    public MultiBinaryDiffResult(final List<BinaryDiffRange> ranges, int expected, int actual) {
+        super(ranges.isEmpty() ? EOF : (int) Math.min(ranges.get(0).expectedOffset, Integer.MAX_VALUE), expected, actual);
+        this.ranges = Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Returns total number of differing expected bytes
+     *
+     * @return number of differing expected bytes
+     */
+    public long getExpectedLength() {
+        long length = 0;
+        for (final BinaryDiffRange range : this.ranges) {
+            length += range.expectedLength;
+        }
+        return length;
+    }
+
+    /**
+     * Returns total number of differing actual bytes
+     *
+     * @return number of differing actual bytes
+     */
+    public long getActualLength() {
+        long length = 0;
+        for (final BinaryDiffRange range : this.ranges) {
+            length += range.actualLength;
+        }
+        return length;
+    }
+}
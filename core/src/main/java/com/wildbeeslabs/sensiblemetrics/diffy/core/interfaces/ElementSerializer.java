@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Element serializer interface declaration
+ * <p>
+ * Writes patch elements to a {@link DataOutput} and reads them back directly from a {@link ByteBuffer},
+ * so that patch codecs stay independent of the element type.
+ *
+ * @param <T> type of serialized element
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public interface ElementSerializer<T> {
+
+    /**
+     * Default UTF-8 {@link String} serializer, {@code null} values are supported
+     */
+    ElementSerializer<String> STRING = new ElementSerializer<String>() {
+        @Override
+        public void write(final String value, final DataOutput output) throws IOException {
+            if (Objects.isNull(value)) {
+                VarIntUtils.writeVarInt(output, 0);
+                return;
+            }
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            VarIntUtils.writeVarInt(output, bytes.length + 1);
+            output.write(bytes);
+        }
+
+        @Override
+        public String read(final ByteBuffer input) {
+            final int length = VarIntUtils.readVarInt(input) - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > input.remaining()) {
+                throw new IllegalStateException("String length exceeds remaining input: " + length);
+            }
+            final String result;
+            if (input.hasArray()) {
+                result = new String(input.array(), input.arrayOffset() + input.position(), length, StandardCharsets.UTF_8);
+                input.position(input.position() + length);
+            } else {
+                final byte[] bytes = new byte[length];
+                input.get(bytes);
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+    };
+
+    /**
+     * Writes element {@code T} to the {@link DataOutput}
+     *
+     * @param value  - initial input element {@code T} to write
+     * @param output - initial input {@link DataOutput}
+     * @throws IOException if the element cannot be written
+     */
+    void write(final T value, final DataOutput output) throws IOException;
+
+    /**
+     * Returns element {@code T} read from the current position of the {@link ByteBuffer}
+     *
+     * @param input - initial input {@link ByteBuffer}
+     * @return element {@code T}
+     */
+    T read(final ByteBuffer input);
+}
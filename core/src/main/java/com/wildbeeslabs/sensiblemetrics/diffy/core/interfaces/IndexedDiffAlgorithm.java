@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+
+/**
+ * Indexed difference algorithm interface declaration
+ * <p>
+ * Opt-in extension for {@link DiffAlgorithm}s that are able to compare sequences of dense non-negative {@code int} element identifiers
+ * (as produced by {@link com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.InternedSequences})
+ * instead of the elements themselves.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public interface IndexedDiffAlgorithm {
+
+    /**
+     * Computes the edit script for the original range [{@code originalFrom}, {@code originalTo})
+     * and the revised range [{@code revisedFrom}, {@code revisedTo}) and marks differences in {@link EditScript}
+     *
+     * @param original     - initial input original element identifiers
+     * @param revised      - initial input revised element identifiers
+     * @param originalFrom - initial input original start position (inclusive)
+     * @param originalTo   - initial input original end position (exclusive)
+     * @param revisedFrom  - initial input revised start position (inclusive)
+     * @param revisedTo    - initial input revised end position (exclusive)
+     * @param script       - initial input {@link EditScript} to mark differences in
+     */
+    void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script);
+
+    /**
+     * Computes the edit script for the whole original and revised identifier sequences
+     *
+     * @param original - initial input original element identifiers
+     * @param revised  - initial input revised element identifiers
+     * @param script   - initial input {@link EditScript} to mark differences in
+     */
+    default void diff(final int[] original, final int[] revised, final EditScript script) {
+        this.diff(original, revised, 0, original.length, 0, revised.length, script);
+    }
+
+    /**
+     * Returns binary flag depending on whether elements are matched by {@link Object#equals(Object)}, so that
+     * comparing identifiers interned by element equality yields the same difference as comparing elements
+     *
+     * @return true - if elements are matched by equality, false - otherwise
+     */
+    default boolean isEqualityBased() {
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.InternedSequences;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexedDiffAlgorithm;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Abstract anchor-based {@link DiffAlgorithm} service implementation
+ * <p>
+ * Splits the compared sequences into independent regions around anchor elements that match on both sides
+ * and resolves only the remaining small regions (or regions without anchors) by {@link LinearDiffAlgorithmService}.
+ * Elements are compared by their interned identifiers, so {@code T} should provide consistent
+ * {@link Object#equals(Object)} and {@link Object#hashCode()}.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public abstract class AbstractAnchorDiffAlgorithmService<T> implements DiffAlgorithm<T>, IndexedDiffAlgorithm {
+
+    /**
+     * Default region size (original and revised elements) to be resolved by fallback algorithm
+     */
+    public static final int DEFAULT_FALLBACK_THRESHOLD = 32;
+
+    /**
+     * Default fallback {@link LinearDiffAlgorithmService}
+     */
+    private final LinearDiffAlgorithmService<T> fallback = new LinearDiffAlgorithmService<>();
+    /**
+     * Default fallback region size threshold
+     */
+    private final int fallbackThreshold;
+
+    /**
+     * Default anchor diff algorithm constructor by input parameters
+     *
+     * @param fallbackThreshold - initial input region size to be resolved by fallback algorithm
+     * @throws IllegalArgumentException if fallback threshold is negative
+     */
+    protected AbstractAnchorDiffAlgorithmService(int fallbackThreshold) {
+        ValidationUtils.isTrue(fallbackThreshold >= 0, "Fallback threshold should be greater than or equal to zero");
+        this.fallbackThreshold = fallbackThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public DefaultPatch<T> diff(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final InternedSequences<T> sequences = InternedSequences.of(original, revised);
+        final EditScript script = sequences.newScript();
+        this.diff(sequences.getOriginalIds(), sequences.getRevisedIds(), script);
+        return sequences.toPatch(script);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if script is {@code null}
+     */
+    @Override
+    public void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+        ValidationUtils.notNull(script, "Edit script should not be null");
+
+        final RegionSplitter splitter = this.createSplitter(original, revised, idCount(original, originalFrom, originalTo, revised, revisedFrom, revisedTo));
+        final Deque<int[]> regions = new ArrayDeque<>();
+        regions.push(new int[]{originalFrom, originalTo, revisedFrom, revisedTo});
+        while (!regions.isEmpty()) {
+            final int[] region = regions.pop();
+            int aFrom = region[0];
+            int aTo = region[1];
+            int bFrom = region[2];
+            int bTo = region[3];
+            while (aFrom < aTo && bFrom < bTo && original[aFrom] == revised[bFrom]) {
+                aFrom++;
+                bFrom++;
+            }
+            while (aTo > aFrom && bTo > bFrom && original[aTo - 1] == revised[bTo - 1]) {
+                aTo--;
+                bTo--;
+            }
+            if (aFrom == aTo) {
+                script.insert(bFrom, bTo);
+            } else if (bFrom == bTo) {
+                script.delete(aFrom, aTo);
+            } else if ((aTo - aFrom) + (bTo - bFrom) <= this.fallbackThreshold || !splitter.split(aFrom, aTo, bFrom, bTo, regions)) {
+                this.fallback.diff(original, revised, aFrom, aTo, bFrom, bTo, script);
+            }
+        }
+    }
+
+    /**
+     * Returns new {@link RegionSplitter} for a single diff call by input parameters
+     *
+     * @param original - initial input original element identifiers
+     * @param revised  - initial input revised element identifiers
+     * @param idCount  - initial input upper bound (exclusive) of element identifiers
+     * @return {@link RegionSplitter}
+     */
+    protected abstract RegionSplitter createSplitter(final int[] original, final int[] revised, int idCount);
+
+    /**
+     * Region splitter interface declaration
+     */
+    @FunctionalInterface
+    protected interface RegionSplitter {
+
+        /**
+         * Splits the given non-empty ranges around matching anchor elements and pushes the remaining unresolved
+         * regions as {@code {originalFrom, originalTo, revisedFrom, revisedTo}} into {@code regions},
+         * the anchors themselves are treated as matched elements
+         *
+         * @param originalFrom - initial input original start position (inclusive)
+         * @param originalTo   - initial input original end position (exclusive)
+         * @param revisedFrom  - initial input revised start position (inclusive)
+         * @param revisedTo    - initial input revised end position (exclusive)
+         * @param regions      - initial input {@link Deque} of unresolved regions
+         * @return true - if anchors were found, false - if the ranges should be resolved by fallback algorithm
+         */
+        boolean split(int originalFrom, int originalTo, int revisedFrom, int revisedTo, final Deque<int[]> regions);
+    }
+
+    private static int idCount(final int[] original, int originalFrom, int originalTo, final int[] revised, int revisedFrom, int revisedTo) {
+        int max = -1;
+        for (int i = originalFrom; i < originalTo; i++) {
+            max = Math.max(max, original[i]);
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            max = Math.max(max, revised[j]);
+        }
+        return max + 1;
+    }
+}
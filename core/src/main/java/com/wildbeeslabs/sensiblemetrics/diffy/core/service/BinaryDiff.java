@@ -23,20 +23,66 @@
  */
 package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
 
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffRange;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MultiBinaryDiffResult;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Compares the binary content of two input streams / paths
+ * <p>
+ * Streams are compared block by block with {@link Arrays#mismatch(byte[], int, int, byte[], int, int)}, buffers and
+ * memory-mapped files with {@link ByteBuffer#mismatch(ByteBuffer)}, reporting either the first mismatch or the full
+ * list of differing ranges. Ranges are positional by default; with shift detection, insertions and deletions are
+ * found rsync-style by matching fixed-size blocks of the expected content at any offset of the actual content
+ * through a rolling checksum.
  */
 public class BinaryDiff {
 
+    /**
+     * Default block size of shift detection
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    /**
+     * Default stream comparison buffer size
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Default mapped window size of positional comparison
+     */
+    private static final long WINDOW_SIZE = 1L << 30;
+    /**
+     * Default maximum number of block candidates not before the expected position checked per rolling checksum
+     */
+    private static final int MAX_CANDIDATES = 256;
+
+    /**
+     * Default block size of shift detection
+     */
+    private final int blockSize;
+
+    public BinaryDiff() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public BinaryDiff(int blockSize) {
+        ValidationUtils.isTrue(blockSize > 0, "Block size should be greater than zero");
+        this.blockSize = blockSize;
+    }
+
     public BinaryDiffResult diff(final File actual, final byte[] expected) throws IOException {
         return this.diff(actual.toPath(), expected);
     }
@@ -49,17 +95,258 @@ public class BinaryDiff {
     }
 
     public BinaryDiffResult diff(final InputStream actualStream, final InputStream expectedStream) throws IOException {
+        final byte[] actualBuffer = new byte[BUFFER_SIZE];
+        final byte[] expectedBuffer = new byte[BUFFER_SIZE];
         int index = 0;
         while (true) {
-            final int actual = actualStream.read();
-            final int expected = expectedStream.read();
-            if (actual == -1 && expected == -1) {
+            final int actualCount = actualStream.readNBytes(actualBuffer, 0, BUFFER_SIZE);
+            final int expectedCount = expectedStream.readNBytes(expectedBuffer, 0, BUFFER_SIZE);
+            if (actualCount == 0 && expectedCount == 0) {
                 return BinaryDiffResult.noDiff();
             }
-            if (actual != expected) {
-                return new BinaryDiffResult(index, expected, actual);
+            final int mismatch = Arrays.mismatch(actualBuffer, 0, actualCount, expectedBuffer, 0, expectedCount);
+            if (mismatch >= 0) {
+                final int actual = (mismatch < actualCount) ? actualBuffer[mismatch] & 0xFF : -1;
+                final int expected = (mismatch < expectedCount) ? expectedBuffer[mismatch] & 0xFF : -1;
+                return new BinaryDiffResult(index + mismatch, expected, actual);
+            }
+            index += actualCount;
+        }
+    }
+
+    /**
+     * Returns all differing ranges of the buffers between their positions and limits
+     *
+     * @param actual       - initial input actual {@link ByteBuffer}
+     * @param expected     - initial input expected {@link ByteBuffer}
+     * @param detectShifts - initial input flag to detect insertions and deletions by rolling checksum
+     * @return {@link MultiBinaryDiffResult} with range offsets relative to the buffer positions
+     * @throws IllegalArgumentException if actual is {@code null}
+     * @throws IllegalArgumentException if expected is {@code null}
+     */
+    public MultiBinaryDiffResult diffRanges(final ByteBuffer actual, final ByteBuffer expected, boolean detectShifts) {
+        ValidationUtils.notNull(actual, "Actual buffer should not be null");
+        ValidationUtils.notNull(expected, "Expected buffer should not be null");
+
+        final ByteBuffer actualView = actual.slice();
+        final ByteBuffer expectedView = expected.slice();
+        final List<BinaryDiffRange> ranges = new ArrayList<>();
+        if (detectShifts) {
+            this.shiftedRanges(actualView, expectedView, ranges);
+        } else {
+            positionalRanges(actualView, expectedView, 0, ranges);
+            addRange(ranges, Math.min(actualView.limit(), expectedView.limit()), expectedView.limit(), actualView.limit());
+        }
+        return result(ranges, actualView, expectedView);
+    }
+
+    /**
+     * Returns all differing ranges of the memory-mapped files
+     *
+     * @param actual       - initial input actual file {@link Path}
+     * @param expected     - initial input expected file {@link Path}
+     * @param detectShifts - initial input flag to detect insertions and deletions by rolling checksum
+     * @return {@link MultiBinaryDiffResult}
+     * @throws IOException              if the files can not be mapped
+     * @throws IllegalArgumentException if shifts are detected in files above 2 GB
+     */
+    public MultiBinaryDiffResult diffRanges(final Path actual, final Path expected, boolean detectShifts) throws IOException {
+        ValidationUtils.notNull(actual, "Actual path should not be null");
+        ValidationUtils.notNull(expected, "Expected path should not be null");
+
+        try (final FileChannel actualChannel = FileChannel.open(actual, StandardOpenOption.READ);
+             final FileChannel expectedChannel = FileChannel.open(expected, StandardOpenOption.READ)) {
+            final long actualSize = actualChannel.size();
+            final long expectedSize = expectedChannel.size();
+            if (detectShifts) {
+                ValidationUtils.isTrue(Math.max(actualSize, expectedSize) <= Integer.MAX_VALUE, "Shift detection is supported for files up to 2 GB");
+                return this.diffRanges(actualChannel.map(FileChannel.MapMode.READ_ONLY, 0, actualSize),
+                    expectedChannel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize), true);
             }
-            index++;
+
+            final List<BinaryDiffRange> ranges = new ArrayList<>();
+            final long common = Math.min(actualSize, expectedSize);
+            for (long offset = 0; offset < common; offset += WINDOW_SIZE) {
+                final long length = Math.min(WINDOW_SIZE, common - offset);
+                positionalRanges(actualChannel.map(FileChannel.MapMode.READ_ONLY, offset, length),
+                    expectedChannel.map(FileChannel.MapMode.READ_ONLY, offset, length), offset, ranges);
+            }
+            addRange(ranges, common, expectedSize, actualSize);
+            if (ranges.isEmpty()) {
+                return new MultiBinaryDiffResult(ranges, 0, 0);
+            }
+            final BinaryDiffRange first = ranges.get(0);
+            final int expectedByte = (first.expectedLength > 0) ? byteAt(expectedChannel, first.expectedOffset) : -1;
+            final int actualByte = (first.actualLength > 0) ? byteAt(actualChannel, first.actualOffset) : -1;
+            return new MultiBinaryDiffResult(ranges, expectedByte, actualByte);
+        }
+    }
+
+    private static int byteAt(final FileChannel channel, long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, position);
+        return buffer.get(0) & 0xFF;
+    }
+
+    /**
+     * Appends ranges of differing bytes at equal positions of the buffers (up to the shorter limit)
+     */
+    private static void positionalRanges(final ByteBuffer actual, final ByteBuffer expected, long offset, final List<BinaryDiffRange> ranges) {
+        final int length = Math.min(actual.limit(), expected.limit());
+        int position = 0;
+        while (position < length) {
+            final int mismatch = actual.duplicate().position(position).limit(length).mismatch(expected.duplicate().position(position).limit(length));
+            if (mismatch < 0) {
+                return;
+            }
+            final int from = position + mismatch;
+            int to = from + 1;
+            while (to < length && actual.get(to) != expected.get(to)) {
+                to++;
+            }
+            addRange(ranges, new BinaryDiffRange(offset + from, to - from, offset + from, to - from));
+            position = to;
+        }
+    }
+
+    /**
+     * Appends ranges between blocks of expected content found at any offset of actual content
+     */
+    private void shiftedRanges(final ByteBuffer actual, final ByteBuffer expected, final List<BinaryDiffRange> ranges) {
+        final int actualSize = actual.limit();
+        final int expectedSize = expected.limit();
+        final int size = this.blockSize;
+        final int blocks = expectedSize / size;
+        final long[] keys = new long[blocks];
+        for (int block = 0; block < blocks; block++) {
+            keys[block] = key(checksum(expected, block * size, size), block);
+        }
+        Arrays.sort(keys);
+
+        int expectedPosition = common(actual, 0, expected, 0);
+        int actualPosition = expectedPosition;
+        int index = actualPosition;
+        int checksum = 0;
+        boolean rolled = false;
+        while (index + size <= actualSize) {
+            if (rolled) {
+                checksum = roll(checksum, actual.get(index - 1), actual.get(index + size - 1), size);
+            } else {
+                checksum = checksum(actual, index, size);
+            }
+            final int block = this.findBlock(actual, index, expected, expectedPosition, checksum, keys);
+            if (block < 0) {
+                index++;
+                rolled = true;
+                continue;
+            }
+            int expectedFrom = block * size;
+            int actualFrom = index;
+            while (expectedFrom > expectedPosition && actualFrom > actualPosition && expected.get(expectedFrom - 1) == actual.get(actualFrom - 1)) {
+                expectedFrom--;
+                actualFrom--;
+            }
+            addRange(ranges, new BinaryDiffRange(expectedPosition, expectedFrom - expectedPosition, actualPosition, actualFrom - actualPosition));
+            final int matched = size + common(actual, index + size, expected, block * size + size);
+            expectedPosition = block * size + matched;
+            actualPosition = index + matched;
+            index = actualPosition;
+            rolled = false;
+        }
+        addRange(ranges, new BinaryDiffRange(expectedPosition, expectedSize - expectedPosition, actualPosition, actualSize - actualPosition));
+    }
+
+    /**
+     * Returns the first block not before expected position equal to the actual window, or -1. Blocks are looked up
+     * by binary search in keys sorted by checksum and block, so blocks behind the expected position are skipped
+     * without being checked
+     */
+    private int findBlock(final ByteBuffer actual, int index, final ByteBuffer expected, int expectedPosition, int checksum, final long[] keys) {
+        final int first = (expectedPosition + this.blockSize - 1) / this.blockSize;
+        final int found = Arrays.binarySearch(keys, key(checksum, first));
+        final int from = (found < 0) ? -found - 1 : found;
+        final int to = Math.min(keys.length, from + MAX_CANDIDATES);
+        for (int i = from; i < to && (int) (keys[i] >> 32) == checksum; i++) {
+            final int offset = (int) keys[i] * this.blockSize;
+            if (actual.duplicate().position(index).limit(index + this.blockSize)
+                .equals(expected.duplicate().position(offset).limit(offset + this.blockSize))) {
+                return (int) keys[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns sort key of the block ordered by checksum first and block index second
+     */
+    private static long key(int checksum, int block) {
+        return ((long) checksum << 32) | block;
+    }
+
+    /**
+     * Returns length of the common run of the buffers starting at the given positions
+     */
+    private static int common(final ByteBuffer actual, int actualFrom, final ByteBuffer expected, int expectedFrom) {
+        if (actualFrom >= actual.limit() || expectedFrom >= expected.limit()) {
+            return 0;
+        }
+        final ByteBuffer actualView = actual.duplicate().position(actualFrom);
+        final ByteBuffer expectedView = expected.duplicate().position(expectedFrom);
+        final int mismatch = actualView.mismatch(expectedView);
+        return (mismatch < 0) ? actualView.remaining() : mismatch;
+    }
+
+    /**
+     * Returns rsync weak checksum of the block
+     */
+    private static int checksum(final ByteBuffer buffer, int from, int length) {
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < length; i++) {
+            a += buffer.get(from + i) & 0xFF;
+            b += (length - i) * (buffer.get(from + i) & 0xFF);
+        }
+        return (a & 0xFFFF) | (b << 16);
+    }
+
+    /**
+     * Returns rsync weak checksum of the block shifted by one byte
+     */
+    private static int roll(int checksum, byte out, byte in, int length) {
+        final int a = ((checksum & 0xFFFF) - (out & 0xFF) + (in & 0xFF)) & 0xFFFF;
+        final int b = (checksum >>> 16) - length * (out & 0xFF) + a;
+        return a | (b << 16);
+    }
+
+    private static void addRange(final List<BinaryDiffRange> ranges, long common, long expectedSize, long actualSize) {
+        addRange(ranges, new BinaryDiffRange(common, expectedSize - common, common, actualSize - common));
+    }
+
+    /**
+     * Appends non-empty range merging it with the adjacent previous one
+     */
+    private static void addRange(final List<BinaryDiffRange> ranges, final BinaryDiffRange range) {
+        if (range.expectedLength == 0 && range.actualLength == 0) {
+            return;
+        }
+        if (!ranges.isEmpty()) {
+            final BinaryDiffRange last = ranges.get(ranges.size() - 1);
+            if (last.expectedOffset + last.expectedLength == range.expectedOffset && last.actualOffset + last.actualLength == range.actualOffset) {
+                ranges.set(ranges.size() - 1, new BinaryDiffRange(last.expectedOffset, last.expectedLength + range.expectedLength,
+                    last.actualOffset, last.actualLength + range.actualLength));
+                return;
+            }
+        }
+        ranges.add(range);
+    }
+
+    private static MultiBinaryDiffResult result(final List<BinaryDiffRange> ranges, final ByteBuffer actual, final ByteBuffer expected) {
+        if (ranges.isEmpty()) {
+            return new MultiBinaryDiffResult(ranges, 0, 0);
         }
+        final BinaryDiffRange first = ranges.get(0);
+        final int expectedByte = (first.expectedLength > 0) ? expected.get((int) first.expectedOffset) & 0xFF : -1;
+        final int actualByte = (first.actualLength > 0) ? actual.get((int) first.actualOffset) & 0xFF : -1;
+        return new MultiBinaryDiffResult(ranges, expectedByte, actualByte);
     }
 }
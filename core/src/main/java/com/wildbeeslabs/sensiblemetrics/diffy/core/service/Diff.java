@@ -25,6 +25,7 @@ package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
 
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MappedLines;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
 
 import java.io.*;
@@ -32,6 +33,7 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.closeQuietly;
 import static java.nio.file.Files.newBufferedReader;
@@ -49,9 +51,24 @@ public class Diff {
     }
 
     public List<Delta<String>> diff(final Path actual, final Charset actualCharset, final Path expected, final Charset expectedCharset) throws IOException {
+        if (Objects.equals(actualCharset, expectedCharset) && MappedLines.isSupported(actualCharset)) {
+            return diffMapped(actual, expected, actualCharset);
+        }
         return diff(newBufferedReader(actual, actualCharset), newBufferedReader(expected, expectedCharset));
     }
 
+    /**
+     * Returns line deltas between memory-mapped files, lines are interned by mapped bytes
+     * and decoded into strings only for emitted deltas
+     */
+    public List<Delta<String>> diffMapped(final Path actual, final Path expected, final Charset charset) throws IOException {
+        final MappedLines actualLines = MappedLines.map(actual, charset);
+        final MappedLines expectedLines = MappedLines.map(expected, charset);
+
+        final Patch<String> patch = DiffUtils.reducedDiff(MappedLines.intern(expectedLines, actualLines), new LinearDiffAlgorithmService<>(), null);
+        return unmodifiableList(patch.getDeltas());
+    }
+
     public List<Delta<String>> diff(final File actual, final String expected, final Charset charset) throws IOException {
         return diff(actual.toPath(), expected, charset);
     }
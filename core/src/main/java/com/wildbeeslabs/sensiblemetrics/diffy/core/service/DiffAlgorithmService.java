@@ -34,6 +34,10 @@ import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.InsertDelta;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.DiffNode;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.PathNode;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.node.SnakeNode;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BoundedDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.CancellationToken;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffLimits;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
 import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.BiMatcher;
 
@@ -54,18 +58,36 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
      * Default {@link BiMatcher}
      */
     private final BiMatcher<T> matcher;
+    /**
+     * Default {@link DiffLimits}
+     */
+    private final DiffLimits limits;
 
     /**
      * Constructs an instance of the Myers differencing algorithm.
      */
     public DiffAlgorithmService() {
+        this(DiffLimits.unbounded());
+    }
+
+    /**
+     * Constructs an instance of the Myers differencing algorithm bounded by input {@link DiffLimits}
+     *
+     * @param limits - initial input {@link DiffLimits}
+     * @throws IllegalArgumentException if limits is {@code null}
+     */
+    public DiffAlgorithmService(final DiffLimits limits) {
+        ValidationUtils.notNull(limits, "Diff limits should not be null");
         this.matcher = Objects::equals;
+        this.limits = limits;
     }
 
     /**
      * {@inheritDoc}
      * <p>
      * Return empty diff if get the error while procession the difference.
+     * If the algorithm is bounded and any of the limits is hit, returns coarse patch (see {@link #diffBounded(Iterable, Iterable)}).
+     *
      * @throws IllegalArgumentException if original is {@code null}
      * @throws IllegalArgumentException if revised is {@code null}
      */
@@ -74,6 +96,9 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         ValidationUtils.notNull(original, "Original list must not be null");
         ValidationUtils.notNull(revised, "Revised list must not be null");
 
+        if (!this.limits.isUnbounded()) {
+            return this.diffBounded(original, revised).getPatch();
+        }
         try {
             final List<T> first = listOf(original);
             final List<T> last = listOf(revised);
@@ -84,6 +109,54 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         }
     }
 
+    /**
+     * Computes the difference between the original and revised sequences within the {@link DiffLimits}
+     * of the algorithm. If the maximum edit cost, deadline or cancellation is hit, the search stops and
+     * the result is marked as too different with a coarse patch: exact up to the furthest reached point,
+     * followed by a single delta over the unresolved middle, merged with the last exact delta if adjacent.
+     *
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     * @return {@link BoundedDiffResult}
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    public BoundedDiffResult<T> diffBounded(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final List<T> first = listOf(original);
+        final List<T> last = listOf(revised);
+        final PathSearch search = this.searchPath(first, last, this.limits);
+        final DefaultPatch<T> patch = this.buildRevision(search.node, first, last);
+        if (BoundedDiffResult.StatusType.COMPLETED == search.status) {
+            return new BoundedDiffResult<>(patch, search.status, search.cost);
+        }
+
+        int originalTo = first.size();
+        int revisedTo = last.size();
+        while (originalTo > search.node.origPos && revisedTo > search.node.revPos && this.matcher.matches(first.get(originalTo - 1), last.get(revisedTo - 1))) {
+            originalTo--;
+            revisedTo--;
+        }
+        if (originalTo == search.node.origPos && revisedTo == search.node.revPos) {
+            return new BoundedDiffResult<>(patch, search.status, search.cost);
+        }
+        final List<Delta<T>> deltas = patch.getDeltas();
+        final Delta<T> tail = deltas.isEmpty() ? null : deltas.get(deltas.size() - 1);
+        final boolean adjacent = Objects.nonNull(tail)
+            && tail.getOriginal().getPosition() + tail.getOriginal().size() == search.node.origPos
+            && tail.getRevised().getPosition() + tail.getRevised().size() == search.node.revPos;
+        final int originalFrom = adjacent ? tail.getOriginal().getPosition() : search.node.origPos;
+        final int revisedFrom = adjacent ? tail.getRevised().getPosition() : search.node.revPos;
+        final DefaultPatch<T> result = new DefaultPatch<>();
+        deltas.subList(0, adjacent ? deltas.size() - 1 : deltas.size()).forEach(result::addDelta);
+        final Chunk<T> orig = new DefaultChunk<>(originalFrom, copyOf(first, originalFrom, originalTo));
+        final Chunk<T> rev = new DefaultChunk<>(revisedFrom, copyOf(last, revisedFrom, revisedTo));
+        result.addDelta(EditScript.createDelta(orig, rev));
+        return new BoundedDiffResult<>(result, search.status, search.cost);
+    }
+
     /**
      * Computes the minimum diffpath that expresses de differences
      * between the original and revised sequences, according
@@ -99,6 +172,17 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         ValidationUtils.notNull(original, "Original sequence should not be null");
         ValidationUtils.notNull(revised, "Revised sequence should not be null");
 
+        final PathSearch search = this.searchPath(original, revised, DiffLimits.unbounded());
+        if (BoundedDiffResult.StatusType.COMPLETED != search.status) {
+            throw new IllegalStateException("could not find a diff path");
+        }
+        return search.node;
+    }
+
+    /**
+     * Runs the forward Myers search within the given {@link DiffLimits}, limits are polled once per edit cost after the first wave
+     */
+    private PathSearch searchPath(final List<T> original, final List<T> revised, final DiffLimits limits) {
         final int N = original.size();
         final int M = revised.size();
 
@@ -106,9 +190,15 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         final int size = 1 + 2 * MAX;
         final int middle = size / 2;
         final PathNode diagonal[] = new PathNode[size];
+        final long deadline = limits.deadline(System.nanoTime());
 
         diagonal[middle + 1] = new SnakeNode(0, -1, null);
+        PathNode furthest = null;
         for (int d = 0; d < MAX; d++) {
+            final BoundedDiffResult.StatusType status = (d > 0) ? exceededLimit(d, limits, deadline) : null;
+            if (Objects.nonNull(status)) {
+                return new PathSearch(furthest, status, d);
+            }
             for (int k = -d; k <= d; k += 2) {
                 final int kmiddle = middle + k;
                 final int kplus = kmiddle + 1;
@@ -133,7 +223,8 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
                 }
                 if (i > node.origPos) node = new SnakeNode(i, j, node);
                 diagonal[kmiddle] = node;
-                if (i >= N && j >= M) return diagonal[kmiddle];
+                if (i >= N && j >= M) return new PathSearch(diagonal[kmiddle], BoundedDiffResult.StatusType.COMPLETED, d);
+                if (i <= N && j <= M && (Objects.isNull(furthest) || i + j > furthest.origPos + furthest.revPos)) furthest = node;
             }
             diagonal[middle + d - 1] = null;
         }
@@ -190,4 +281,44 @@ public class DiffAlgorithmService<T> implements DiffAlgorithm<T> {
         }
         return patch;
     }
+
+    /**
+     * Returns {@link BoundedDiffResult.StatusType} of the exceeded limit before exploring the given edit cost, or {@code null}
+     */
+    private static BoundedDiffResult.StatusType exceededLimit(int cost, final DiffLimits limits, long deadline) {
+        final CancellationToken token = limits.getToken();
+        if (cost > limits.getMaxCost()) {
+            return BoundedDiffResult.StatusType.COST_EXCEEDED;
+        } else if (Long.MAX_VALUE != deadline && System.nanoTime() - deadline > 0) {
+            return BoundedDiffResult.StatusType.DEADLINE_EXCEEDED;
+        } else if (Objects.nonNull(token) && token.isCancelled()) {
+            return BoundedDiffResult.StatusType.CANCELLED;
+        }
+        return null;
+    }
+
+    /**
+     * Forward path search outcome
+     */
+    private static final class PathSearch {
+
+        /**
+         * Default last reached {@link PathNode}
+         */
+        private final PathNode node;
+        /**
+         * Default search {@link BoundedDiffResult.StatusType}
+         */
+        private final BoundedDiffResult.StatusType status;
+        /**
+         * Default explored edit cost
+         */
+        private final int cost;
+
+        private PathSearch(final PathNode node, final BoundedDiffResult.StatusType status, int cost) {
+            this.node = node;
+            this.status = status;
+            this.cost = cost;
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Histogram {@link DiffAlgorithm} service implementation
+ * <p>
+ * Extension of the patience approach: builds an occurrence histogram of the original range, looks for
+ * the longest common region that contains the least frequent element and splits the ranges around it.
+ * Elements occurring more than {@code maxChainLength} times are never used as anchors.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class HistogramDiffAlgorithmService<T> extends AbstractAnchorDiffAlgorithmService<T> {
+
+    /**
+     * Default maximum number of element occurrences to be used as an anchor
+     */
+    public static final int DEFAULT_MAX_CHAIN_LENGTH = 64;
+
+    /**
+     * Default maximum chain length
+     */
+    private final int maxChainLength;
+
+    /**
+     * Default histogram diff algorithm constructor
+     */
+    public HistogramDiffAlgorithmService() {
+        this(DEFAULT_FALLBACK_THRESHOLD, DEFAULT_MAX_CHAIN_LENGTH);
+    }
+
+    /**
+     * Default histogram diff algorithm constructor by input parameters
+     *
+     * @param fallbackThreshold - initial input region size to be resolved by fallback algorithm
+     * @param maxChainLength    - initial input maximum number of element occurrences to be used as an anchor
+     * @throws IllegalArgumentException if max chain length is not positive
+     */
+    public HistogramDiffAlgorithmService(int fallbackThreshold, int maxChainLength) {
+        super(fallbackThreshold);
+        ValidationUtils.isTrue(maxChainLength > 0, "Max chain length should be greater than zero");
+        this.maxChainLength = maxChainLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RegionSplitter createSplitter(final int[] original, final int[] revised, int idCount) {
+        return new HistogramSplitter(original, revised, idCount, this.maxChainLength);
+    }
+
+    /**
+     * Histogram {@link RegionSplitter} implementation
+     */
+    private static final class HistogramSplitter implements RegionSplitter {
+
+        /**
+         * Default original and revised element identifiers
+         */
+        private final int[] original;
+        private final int[] revised;
+        /**
+         * Default last original position and occurrence count per identifier
+         */
+        private final int[] heads;
+        private final int[] counts;
+        /**
+         * Default previous original position of the same identifier per original position
+         */
+        private final int[] next;
+        /**
+         * Default maximum chain length
+         */
+        private final int maxChainLength;
+
+        private HistogramSplitter(final int[] original, final int[] revised, int idCount, int maxChainLength) {
+            this.original = original;
+            this.revised = revised;
+            this.heads = new int[idCount];
+            this.counts = new int[idCount];
+            this.next = new int[original.length];
+            this.maxChainLength = maxChainLength;
+            Arrays.fill(this.heads, -1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean split(int originalFrom, int originalTo, int revisedFrom, int revisedTo, final Deque<int[]> regions) {
+            for (int i = originalFrom; i < originalTo; i++) {
+                final int id = this.original[i];
+                this.next[i] = this.heads[id];
+                this.heads[id] = i;
+                this.counts[id]++;
+            }
+
+            int bestCount = this.maxChainLength + 1;
+            int bestLength = 0;
+            int aStart = 0;
+            int aEnd = 0;
+            int bStart = 0;
+            int bEnd = 0;
+            for (int j = revisedFrom; j < revisedTo; ) {
+                final int id = this.revised[j];
+                final int occurrences = this.counts[id];
+                if (occurrences == 0 || occurrences > this.maxChainLength || occurrences > bestCount) {
+                    j++;
+                    continue;
+                }
+                int bNext = j + 1;
+                for (int i = this.heads[id]; i >= originalFrom; i = this.next[i]) {
+                    int as = i;
+                    int bs = j;
+                    int ae = i + 1;
+                    int be = j + 1;
+                    int count = occurrences;
+                    while (as > originalFrom && bs > revisedFrom && this.original[as - 1] == this.revised[bs - 1]) {
+                        as--;
+                        bs--;
+                        count = Math.min(count, this.counts[this.original[as]]);
+                    }
+                    while (ae < originalTo && be < revisedTo && this.original[ae] == this.revised[be]) {
+                        count = Math.min(count, this.counts[this.original[ae]]);
+                        ae++;
+                        be++;
+                    }
+                    if (count < bestCount || (count == bestCount && ae - as > bestLength)) {
+                        bestCount = count;
+                        bestLength = ae - as;
+                        aStart = as;
+                        aEnd = ae;
+                        bStart = bs;
+                        bEnd = be;
+                    }
+                    bNext = Math.max(bNext, be);
+                }
+                j = bNext;
+            }
+            for (int i = originalFrom; i < originalTo; i++) {
+                this.heads[this.original[i]] = -1;
+                this.counts[this.original[i]] = 0;
+            }
+            if (bestLength == 0) {
+                return false;
+            }
+
+            regions.push(new int[]{originalFrom, aStart, revisedFrom, bStart});
+            regions.push(new int[]{aEnd, originalTo, bEnd, revisedTo});
+            return true;
+        }
+    }
+}
@@ -0,0 +1,628 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Incremental diff session implementation
+ * <p>
+ * Keeps both sequences with their interned element identifiers and the changed ranges of the last diff.
+ * Every edit notification re-diffs only the window spanning the edit, the changed ranges touching it and
+ * a few elements of context around, so the cost depends on the edit and window size rather than on the
+ * sequence size. As the ranges outside the window are kept, the patch is not guaranteed to stay minimal
+ * after many edits, {@link #reset()} recomputes it from scratch.
+ * <p>
+ * Sequences and changed ranges are kept in gap buffers with the gap at the last edit, ranges after the gap
+ * are addressed from the sequence end, so a run of nearby edits neither moves the elements nor shifts the
+ * following ranges. Identifiers are reference counted and reused once no element refers to them.
+ * {@link #getPatch()} reuses the deltas and element copies of the unchanged ranges.
+ * <p>
+ * The session is not thread-safe.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class IncrementalDiffSession<T> {
+
+    /**
+     * Default number of elements around the edit to be re-diffed
+     */
+    public static final int DEFAULT_CONTEXT_SIZE = 8;
+    /**
+     * Default minimum gap size of the buffers
+     */
+    private static final int DEFAULT_GAP_SIZE = 16;
+
+    /**
+     * Sequence side type {@link Enum}
+     */
+    public enum SideType {
+        /**
+         * Default original sequence side
+         */
+        ORIGINAL,
+        /**
+         * Default revised sequence side
+         */
+        REVISED
+    }
+
+    /**
+     * Default reference counted element identifiers
+     */
+    private final IdTable<T> ids = new IdTable<>();
+    /**
+     * Default original and revised sequences with element identifiers
+     */
+    private final Sequence<T> original;
+    private final Sequence<T> revised;
+    /**
+     * Default changed ranges
+     */
+    private final HunkBuffer<T> hunks;
+    /**
+     * Default window diff algorithm
+     */
+    private final LinearDiffAlgorithmService<T> algorithm = new LinearDiffAlgorithmService<>();
+    /**
+     * Default context size
+     */
+    private final int contextSize;
+    /**
+     * Default cached {@link DefaultPatch}
+     */
+    private DefaultPatch<T> patch;
+
+    /**
+     * Default incremental diff session constructor by input parameters
+     *
+     * @param original - initial input original sequence
+     * @param revised  - initial input revised sequence
+     */
+    public IncrementalDiffSession(final Iterable<T> original, final Iterable<T> revised) {
+        this(original, revised, DEFAULT_CONTEXT_SIZE);
+    }
+
+    /**
+     * Default incremental diff session constructor by input parameters
+     *
+     * @param original    - initial input original sequence
+     * @param revised     - initial input revised sequence
+     * @param contextSize - initial input number of elements around the edit to be re-diffed
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if context size is negative
+     */
+    public IncrementalDiffSession(final Iterable<T> original, final Iterable<T> revised, int contextSize) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+        ValidationUtils.isTrue(contextSize >= 0, "Context size should be greater than or equal to zero");
+
+        final List<T> originalValues = listOf(original);
+        final List<T> revisedValues = listOf(revised);
+        this.original = new Sequence<>(originalValues, this.ids.acquire(originalValues));
+        this.revised = new Sequence<>(revisedValues, this.ids.acquire(revisedValues));
+        this.hunks = new HunkBuffer<>(this.original, this.revised);
+        this.contextSize = contextSize;
+        this.reset();
+    }
+
+    /**
+     * Recomputes the patch of the whole sequences
+     */
+    public void reset() {
+        final int[] originalValues = this.original.ids(0, this.original.size());
+        final int[] revisedValues = this.revised.ids(0, this.revised.size());
+        final EditScript script = new EditScript(originalValues.length, revisedValues.length);
+        new ReducingDiffAlgorithmService(this.algorithm).diff(originalValues, revisedValues, 0, originalValues.length, 0, revisedValues.length, script);
+        this.hunks.clear();
+        this.hunks.insert(script.hunks());
+        this.patch = null;
+    }
+
+    /**
+     * Returns {@link DefaultPatch} of the current sequences
+     *
+     * @return {@link DefaultPatch}
+     */
+    public DefaultPatch<T> getPatch() {
+        if (Objects.isNull(this.patch)) {
+            final int size = this.hunks.size();
+            final DefaultPatch<T> result = new DefaultPatch<>(null, size);
+            for (int index = 0; index < size; index++) {
+                result.addDelta(this.hunks.delta(index));
+            }
+            this.patch = result;
+        }
+        return this.patch;
+    }
+
+    /**
+     * Returns unmodifiable view of the sequence by input side
+     *
+     * @param side - initial input {@link SideType}
+     * @return unmodifiable {@link List} view
+     */
+    public List<T> getSequence(final SideType side) {
+        return Collections.unmodifiableList(this.sequence(side));
+    }
+
+    /**
+     * Notifies about elements inserted into the sequence and updates the patch
+     *
+     * @param side     - initial input {@link SideType}
+     * @param index    - initial input insertion position
+     * @param elements - initial input inserted elements
+     */
+    public void insert(final SideType side, int index, final List<T> elements) {
+        this.replace(side, index, index, elements);
+    }
+
+    /**
+     * Notifies about elements deleted from the sequence and updates the patch
+     *
+     * @param side - initial input {@link SideType}
+     * @param from - initial input start position (inclusive)
+     * @param to   - initial input end position (exclusive)
+     */
+    public void delete(final SideType side, int from, int to) {
+        this.replace(side, from, to, Collections.emptyList());
+    }
+
+    /**
+     * Notifies about elements replaced in the sequence and updates the patch
+     *
+     * @param side     - initial input {@link SideType}
+     * @param from     - initial input start position (inclusive)
+     * @param to       - initial input end position (exclusive)
+     * @param elements - initial input replacement elements
+     * @throws IllegalArgumentException if side is {@code null}
+     * @throws IllegalArgumentException if elements is {@code null}
+     * @throws IllegalArgumentException if range is out of sequence bounds
+     */
+    public void replace(final SideType side, int from, int to, final List<T> elements) {
+        ValidationUtils.notNull(side, "Side should not be null");
+        ValidationUtils.notNull(elements, "Elements should not be null");
+        final Sequence<T> sequence = this.sequence(side);
+        ValidationUtils.isTrue(0 <= from && from <= to && to <= sequence.size(), "Range should be within sequence bounds");
+
+        final int s = (SideType.ORIGINAL == side) ? 0 : 2;
+        final int o = 2 - s;
+        final int first = this.hunks.first(s, from - this.contextSize);
+        final int last = this.hunks.last(s, to + this.contextSize);
+        int windowFrom = Math.max(0, from - this.contextSize);
+        int windowTo = Math.min(sequence.size(), to + this.contextSize);
+        if (first <= last) {
+            windowFrom = Math.min(windowFrom, this.hunks.bound(first, s));
+            windowTo = Math.max(windowTo, this.hunks.bound(last, s + 1));
+        }
+        final int otherFrom = (first <= last) ? this.hunks.bound(first, o) - (this.hunks.bound(first, s) - windowFrom)
+            : (first > 0) ? this.hunks.bound(first - 1, o + 1) + (windowFrom - this.hunks.bound(first - 1, s + 1)) : windowFrom;
+        final int otherTo = (last >= 0) ? this.hunks.bound(last, o + 1) + (windowTo - this.hunks.bound(last, s + 1)) : windowTo;
+
+        this.hunks.remove(first, last + 1);
+        final int[] replacement = this.ids.acquire(elements);
+        for (final int id : sequence.replace(from, to, elements, replacement)) {
+            this.ids.release(id);
+        }
+        windowTo += elements.size() - (to - from);
+
+        this.hunks.insert((SideType.ORIGINAL == side)
+            ? this.diff(windowFrom, windowTo, otherFrom, otherTo)
+            : this.diff(otherFrom, otherTo, windowFrom, windowTo));
+        this.patch = null;
+    }
+
+    /**
+     * Returns changed ranges of the given window shifted to sequence positions
+     */
+    private List<int[]> diff(int originalFrom, int originalTo, int revisedFrom, int revisedTo) {
+        final int[] originalValues = this.original.ids(originalFrom, originalTo);
+        final int[] revisedValues = this.revised.ids(revisedFrom, revisedTo);
+        final EditScript script = new EditScript(originalValues.length, revisedValues.length);
+        this.algorithm.diff(originalValues, revisedValues, script);
+        final List<int[]> result = script.hunks();
+        for (final int[] hunk : result) {
+            hunk[0] += originalFrom;
+            hunk[1] += originalFrom;
+            hunk[2] += revisedFrom;
+            hunk[3] += revisedFrom;
+        }
+        return result;
+    }
+
+    private Sequence<T> sequence(final SideType side) {
+        return (SideType.ORIGINAL == side) ? this.original : this.revised;
+    }
+
+    /**
+     * Reference counted element identifiers table, identifiers of released elements are reused
+     */
+    private static final class IdTable<T> {
+
+        /**
+         * Default identifiers by element
+         */
+        private final Map<T, Integer> ids = new HashMap<>();
+        /**
+         * Default elements and reference counts by identifier
+         */
+        private Object[] values = new Object[DEFAULT_GAP_SIZE];
+        private int[] counts = new int[DEFAULT_GAP_SIZE];
+        /**
+         * Default released identifiers stack
+         */
+        private int[] released = new int[DEFAULT_GAP_SIZE];
+        private int releasedCount;
+        /**
+         * Default next never used identifier
+         */
+        private int next;
+
+        private int[] acquire(final List<T> elements) {
+            final int[] result = new int[elements.size()];
+            int index = 0;
+            for (final T element : elements) {
+                result[index++] = this.acquire(element);
+            }
+            return result;
+        }
+
+        private int acquire(final T element) {
+            Integer id = this.ids.get(element);
+            if (Objects.isNull(id)) {
+                if (this.releasedCount > 0) {
+                    id = this.released[--this.releasedCount];
+                } else {
+                    id = this.next++;
+                    if (id == this.values.length) {
+                        this.values = Arrays.copyOf(this.values, id << 1);
+                        this.counts = Arrays.copyOf(this.counts, id << 1);
+                    }
+                }
+                this.values[id] = element;
+                this.ids.put(element, id);
+            }
+            this.counts[id]++;
+            return id;
+        }
+
+        private void release(int id) {
+            if (--this.counts[id] == 0) {
+                this.ids.remove(this.values[id]);
+                this.values[id] = null;
+                if (this.releasedCount == this.released.length) {
+                    this.released = Arrays.copyOf(this.released, this.releasedCount << 1);
+                }
+                this.released[this.releasedCount++] = id;
+            }
+        }
+    }
+
+    /**
+     * Gap buffer of elements with their identifiers
+     */
+    private static final class Sequence<T> extends AbstractList<T> {
+
+        /**
+         * Default elements and identifiers with the gap in range [gapFrom, gapTo)
+         */
+        private Object[] values;
+        private int[] ids;
+        private int gapFrom;
+        private int gapTo;
+
+        private Sequence(final List<T> values, final int[] ids) {
+            final int capacity = values.size() + DEFAULT_GAP_SIZE;
+            this.values = Arrays.copyOf(values.toArray(), capacity);
+            this.ids = Arrays.copyOf(ids, capacity);
+            this.gapFrom = values.size();
+            this.gapTo = capacity;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            ValidationUtils.checkElementIndex(index, this.size(), "Element index should be within sequence bounds");
+            return (T) this.values[this.offset(index)];
+        }
+
+        @Override
+        public int size() {
+            return this.values.length - (this.gapTo - this.gapFrom);
+        }
+
+        /**
+         * Replaces elements in range [from, to) and returns identifiers of the removed elements
+         */
+        private int[] replace(int from, int to, final List<T> elements, final int[] replacement) {
+            this.moveGap(from);
+            final int[] removed = Arrays.copyOfRange(this.ids, this.gapTo, this.gapTo + (to - from));
+            Arrays.fill(this.values, this.gapTo, this.gapTo + (to - from), null);
+            this.gapTo += to - from;
+            if (this.gapTo - this.gapFrom < replacement.length) {
+                this.grow(replacement.length);
+            }
+            int index = 0;
+            for (final T element : elements) {
+                this.values[this.gapFrom] = element;
+                this.ids[this.gapFrom++] = replacement[index++];
+            }
+            return removed;
+        }
+
+        private int[] ids(int from, int to) {
+            final int[] result = new int[to - from];
+            final int head = Math.max(0, Math.min(to, this.gapFrom) - from);
+            System.arraycopy(this.ids, from, result, 0, head);
+            System.arraycopy(this.ids, this.offset(from + head), result, head, result.length - head);
+            return result;
+        }
+
+        private int offset(int index) {
+            return (index < this.gapFrom) ? index : index + (this.gapTo - this.gapFrom);
+        }
+
+        private void moveGap(int position) {
+            if (position < this.gapFrom) {
+                final int count = this.gapFrom - position;
+                System.arraycopy(this.values, position, this.values, this.gapTo - count, count);
+                System.arraycopy(this.ids, position, this.ids, this.gapTo - count, count);
+                Arrays.fill(this.values, position, Math.min(this.gapFrom, this.gapTo - count), null);
+                this.gapTo -= count;
+                this.gapFrom = position;
+            } else if (position > this.gapFrom) {
+                final int count = position - this.gapFrom;
+                System.arraycopy(this.values, this.gapTo, this.values, this.gapFrom, count);
+                System.arraycopy(this.ids, this.gapTo, this.ids, this.gapFrom, count);
+                Arrays.fill(this.values, Math.max(this.gapTo, position), this.gapTo + count, null);
+                this.gapFrom += count;
+                this.gapTo += count;
+            }
+        }
+
+        private void grow(int count) {
+            final int length = this.values.length;
+            final int tail = length - this.gapTo;
+            final int capacity = Math.max(this.size() + count + DEFAULT_GAP_SIZE, length + (length >> 1));
+            final Object[] newValues = Arrays.copyOf(this.values, capacity);
+            final int[] newIds = Arrays.copyOf(this.ids, capacity);
+            System.arraycopy(this.values, this.gapTo, newValues, capacity - tail, tail);
+            System.arraycopy(this.ids, this.gapTo, newIds, capacity - tail, tail);
+            Arrays.fill(newValues, this.gapFrom, capacity - tail, null);
+            this.values = newValues;
+            this.ids = newIds;
+            this.gapTo = capacity - tail;
+        }
+    }
+
+    /**
+     * Gap buffer of changed ranges, ranges before the gap keep sequence positions,
+     * ranges after the gap keep distances from the sequence ends
+     */
+    private static final class HunkBuffer<T> {
+
+        /**
+         * Default original and revised sequences
+         */
+        private final Sequence<T> original;
+        private final Sequence<T> revised;
+        /**
+         * Default ranges with the gap in range [gapFrom, gapTo)
+         */
+        private Hunk<T>[] hunks;
+        private int gapFrom;
+        private int gapTo;
+
+        @SuppressWarnings("unchecked")
+        private HunkBuffer(final Sequence<T> original, final Sequence<T> revised) {
+            this.original = original;
+            this.revised = revised;
+            this.hunks = new Hunk[DEFAULT_GAP_SIZE];
+            this.gapTo = this.hunks.length;
+        }
+
+        private int size() {
+            return this.hunks.length - (this.gapTo - this.gapFrom);
+        }
+
+        /**
+         * Returns bound of the range by index {@code {originalFrom, originalTo, revisedFrom, revisedTo}}
+         */
+        private int bound(int index, int bound) {
+            if (index < this.gapFrom) {
+                return this.hunks[index].bounds[bound];
+            }
+            return this.length(bound) - this.hunks[index + this.gapTo - this.gapFrom].bounds[bound];
+        }
+
+        /**
+         * Returns index of the first range ending at or after the position on the side
+         */
+        private int first(int side, int position) {
+            int low = 0;
+            int high = this.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.bound(middle, side + 1) < position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns index of the last range starting at or before the position on the side
+         */
+        private int last(int side, int position) {
+            int low = 0;
+            int high = this.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.bound(middle, side) <= position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low - 1;
+        }
+
+        /**
+         * Removes ranges in range [from, to) and leaves the gap at their place
+         */
+        private void remove(int from, int to) {
+            this.moveGap(from);
+            Arrays.fill(this.hunks, this.gapTo, this.gapTo + (to - from), null);
+            this.gapTo += to - from;
+        }
+
+        /**
+         * Inserts ranges given by sequence positions at the gap
+         */
+        private void insert(final List<int[]> bounds) {
+            if (this.gapTo - this.gapFrom < bounds.size()) {
+                this.grow(bounds.size());
+            }
+            for (final int[] bound : bounds) {
+                this.hunks[this.gapFrom++] = new Hunk<>(bound);
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(this.hunks, null);
+            this.gapFrom = 0;
+            this.gapTo = this.hunks.length;
+        }
+
+        /**
+         * Returns {@link Delta} of the range by index
+         */
+        private Delta<T> delta(int index) {
+            final Hunk<T> hunk = this.hunks[(index < this.gapFrom) ? index : index + this.gapTo - this.gapFrom];
+            final int originalFrom = this.bound(index, 0);
+            final int revisedFrom = this.bound(index, 2);
+            if (Objects.isNull(hunk.delta) || hunk.originalFrom != originalFrom || hunk.revisedFrom != revisedFrom) {
+                if (Objects.isNull(hunk.delta)) {
+                    hunk.originalElements = new ArrayList<>(this.original.subList(originalFrom, this.bound(index, 1)));
+                    hunk.revisedElements = new ArrayList<>(this.revised.subList(revisedFrom, this.bound(index, 3)));
+                }
+                hunk.delta = EditScript.createDelta(
+                    new DefaultChunk<>(originalFrom, hunk.originalElements),
+                    new DefaultChunk<>(revisedFrom, hunk.revisedElements)
+                );
+                hunk.originalFrom = originalFrom;
+                hunk.revisedFrom = revisedFrom;
+            }
+            return hunk.delta;
+        }
+
+        private int length(int bound) {
+            return (bound < 2) ? this.original.size() : this.revised.size();
+        }
+
+        /**
+         * Moves the gap to the index converting positions of the passed ranges,
+         * must be called before the sequences change
+         */
+        private void moveGap(int index) {
+            while (this.gapFrom > index) {
+                final Hunk<T> hunk = this.hunks[--this.gapFrom];
+                this.hunks[this.gapFrom] = null;
+                this.hunks[--this.gapTo] = hunk;
+                this.convert(hunk);
+            }
+            while (this.gapFrom < index) {
+                final Hunk<T> hunk = this.hunks[this.gapTo];
+                this.hunks[this.gapTo++] = null;
+                this.hunks[this.gapFrom++] = hunk;
+                this.convert(hunk);
+            }
+        }
+
+        private void convert(final Hunk<T> hunk) {
+            for (int bound = 0; bound < hunk.bounds.length; bound++) {
+                hunk.bounds[bound] = this.length(bound) - hunk.bounds[bound];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void grow(int count) {
+            final int length = this.hunks.length;
+            final int tail = length - this.gapTo;
+            final int capacity = Math.max(this.size() + count + DEFAULT_GAP_SIZE, length + (length >> 1));
+            final Hunk<T>[] newHunks = new Hunk[capacity];
+            System.arraycopy(this.hunks, 0, newHunks, 0, this.gapFrom);
+            System.arraycopy(this.hunks, this.gapTo, newHunks, capacity - tail, tail);
+            this.hunks = newHunks;
+            this.gapTo = capacity - tail;
+        }
+    }
+
+    /**
+     * Changed range with cached {@link Delta}
+     */
+    private static final class Hunk<T> {
+
+        /**
+         * Default range bounds {@code {originalFrom, originalTo, revisedFrom, revisedTo}}
+         */
+        private final int[] bounds;
+        /**
+         * Default cached elements of the range
+         */
+        private List<T> originalElements;
+        private List<T> revisedElements;
+        /**
+         * Default cached {@link Delta} with its positions
+         */
+        private Delta<T> delta;
+        private int originalFrom;
+        private int revisedFrom;
+
+        private Hunk(final int[] bounds) {
+            this.bounds = bounds;
+        }
+    }
+}
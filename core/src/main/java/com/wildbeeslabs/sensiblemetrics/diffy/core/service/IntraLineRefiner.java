@@ -0,0 +1,289 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.RefinedChangeDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BoundedDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffLimits;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditSpan;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.helpers.WordTokenizer;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.interfaces.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Intra-line refinement service implementation
+ * <p>
+ * Pairs lines of every {@link Delta.TYPE#CHANGE} delta by their index, tokenizes each pair with the {@link Tokenizer}
+ * and diffs the tokens under a cost limit, turning the delta into a {@link RefinedChangeDelta} with character
+ * {@link EditSpan}s. Pairs longer than the maximum line length or exceeding the edit budget are reported
+ * as a single whole-line span. Lines left without a pair in uneven deltas are reported as whole-line
+ * {@link Delta.TYPE#DELETE} or {@link Delta.TYPE#INSERT} spans. Deltas are refined in parallel on the {@link ForkJoinPool}.
+ */
+public class IntraLineRefiner {
+
+    /**
+     * Default maximum line length to refine
+     */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 1000;
+    /**
+     * Default maximum token edit cost per line pair
+     */
+    public static final int DEFAULT_MAX_COST = 100;
+    /**
+     * Default number of deltas refined by a single task
+     */
+    private static final int DEFAULT_TASK_SIZE = 16;
+
+    /**
+     * Default {@link Tokenizer} instance
+     */
+    private final Tokenizer<? super String, ? extends CharSequence> tokenizer;
+    /**
+     * Default maximum line length to refine
+     */
+    private final int maxLineLength;
+    /**
+     * Default maximum token edit cost per line pair
+     */
+    private final int maxCost;
+    /**
+     * Default {@link ForkJoinPool} instance
+     */
+    private final ForkJoinPool pool;
+
+    public IntraLineRefiner() {
+        this(new WordTokenizer(), DEFAULT_MAX_LINE_LENGTH, DEFAULT_MAX_COST, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Default intra-line refiner constructor by input parameters
+     *
+     * @param tokenizer     - initial input {@link Tokenizer} of lines
+     * @param maxLineLength - initial input maximum line length to refine
+     * @param maxCost       - initial input maximum token edit cost per line pair
+     * @param pool          - initial input {@link ForkJoinPool} to run refinement tasks on
+     * @throws IllegalArgumentException if tokenizer is {@code null}
+     * @throws IllegalArgumentException if pool is {@code null}
+     * @throws IllegalArgumentException if maxLineLength or maxCost is negative
+     */
+    public IntraLineRefiner(final Tokenizer<? super String, ? extends CharSequence> tokenizer, int maxLineLength, int maxCost, final ForkJoinPool pool) {
+        ValidationUtils.notNull(tokenizer, "Tokenizer should not be null");
+        ValidationUtils.notNull(pool, "Fork join pool should not be null");
+        ValidationUtils.isTrue(maxLineLength >= 0, "Maximum line length should not be negative");
+        ValidationUtils.isTrue(maxCost >= 0, "Maximum cost should not be negative");
+        this.tokenizer = tokenizer;
+        this.maxLineLength = maxLineLength;
+        this.maxCost = maxCost;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns {@link DefaultPatch} with change deltas replaced by {@link RefinedChangeDelta}s
+     *
+     * @param patch - initial input {@link Patch} of lines
+     * @return refined {@link DefaultPatch}
+     * @throws IllegalArgumentException if patch is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public DefaultPatch<String> refine(final Patch<String> patch) {
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        final List<Delta<String>> deltas = patch.getDeltas();
+        final Delta<String>[] refined = new Delta[deltas.size()];
+        if (!deltas.isEmpty()) {
+            this.pool.invoke(new RefineTask(deltas, refined, 0, deltas.size()));
+        }
+        final DefaultPatch<String> result = new DefaultPatch<>(null, refined.length);
+        for (final Delta<String> delta : refined) {
+            result.addDelta(delta);
+        }
+        return result;
+    }
+
+    /**
+     * Returns refined {@link Delta}, deltas other than {@link Delta.TYPE#CHANGE} are returned as is
+     *
+     * @param delta - initial input {@link Delta} of lines
+     * @return refined {@link Delta}
+     */
+    public Delta<String> refine(final Delta<String> delta) {
+        ValidationUtils.notNull(delta, "Delta should not be null");
+        if (Delta.TYPE.CHANGE != delta.getType()) {
+            return delta;
+        }
+        final Chunk<String> original = delta.getOriginal();
+        final Chunk<String> revised = delta.getRevised();
+        final List<String> originalLines = original.getLines();
+        final List<String> revisedLines = revised.getLines();
+        final int size = Math.min(originalLines.size(), revisedLines.size());
+        final List<EditSpan> spans = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            spans.addAll(this.refine(originalLines.get(i), revisedLines.get(i), i));
+        }
+        for (int i = size; i < originalLines.size(); i++) {
+            spans.add(new EditSpan(Delta.TYPE.DELETE, i, 0, originalLines.get(i).length(), 0, 0));
+        }
+        for (int i = size; i < revisedLines.size(); i++) {
+            spans.add(new EditSpan(Delta.TYPE.INSERT, i, 0, 0, 0, revisedLines.get(i).length()));
+        }
+        return new RefinedChangeDelta(original, revised, spans);
+    }
+
+    /**
+     * Returns {@link List} of {@link EditSpan}s between the original and revised lines
+     *
+     * @param original - initial input original line
+     * @param revised  - initial input revised line
+     * @param line     - initial input line index reported by the spans
+     * @return {@link List} of {@link EditSpan}s, single whole-line span if refinement is skipped
+     */
+    public List<EditSpan> refine(final String original, final String revised, int line) {
+        ValidationUtils.notNull(original, "Original line should not be null");
+        ValidationUtils.notNull(revised, "Revised line should not be null");
+
+        if (original.equals(revised)) {
+            return Collections.emptyList();
+        }
+        if (original.length() > this.maxLineLength || revised.length() > this.maxLineLength) {
+            return wholeLine(original, revised, line);
+        }
+        final String[] originalTokens = this.tokenize(original);
+        final String[] revisedTokens = this.tokenize(revised);
+        final int[] originalBounds = boundsOf(original, originalTokens);
+        final int[] revisedBounds = boundsOf(revised, revisedTokens);
+        if (originalBounds == null || revisedBounds == null) {
+            return wholeLine(original, revised, line);
+        }
+
+        final BoundedDiffResult<String> result = new DiffAlgorithmService<String>(DiffLimits.ofCost(this.maxCost))
+            .diffBounded(Arrays.asList(originalTokens), Arrays.asList(revisedTokens));
+        if (result.isTooDifferent()) {
+            return wholeLine(original, revised, line);
+        }
+        final List<Delta<String>> deltas = result.getPatch().getDeltas();
+        final List<EditSpan> spans = new ArrayList<>(deltas.size());
+        for (final Delta<String> delta : deltas) {
+            final Chunk<String> from = delta.getOriginal();
+            final Chunk<String> to = delta.getRevised();
+            spans.add(new EditSpan(delta.getType(), line,
+                start(originalBounds, from.getPosition()), end(originalBounds, from.getPosition(), from.size()),
+                start(revisedBounds, to.getPosition()), end(revisedBounds, to.getPosition(), to.size())));
+        }
+        return spans;
+    }
+
+    private String[] tokenize(final String value) {
+        final CharSequence[] tokens = this.tokenizer.tokenize(value);
+        final String[] result = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            result[i] = String.valueOf(tokens[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns token bounds as {@code {start0, end0, start1, end1, ...}} found in order in the line,
+     * or {@code null} if a token does not occur in the line
+     */
+    private static int[] boundsOf(final String value, final String[] tokens) {
+        final int[] result = new int[tokens.length * 2];
+        int cursor = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            final int index = value.indexOf(tokens[i], cursor);
+            if (index < 0) {
+                return null;
+            }
+            result[2 * i] = index;
+            result[2 * i + 1] = cursor = index + tokens[i].length();
+        }
+        return result;
+    }
+
+    private static int start(final int[] bounds, int token) {
+        if (2 * token < bounds.length) {
+            return bounds[2 * token];
+        }
+        return bounds.length == 0 ? 0 : bounds[bounds.length - 1];
+    }
+
+    private static int end(final int[] bounds, int token, int size) {
+        return size == 0 ? start(bounds, token) : bounds[2 * (token + size - 1) + 1];
+    }
+
+    private static List<EditSpan> wholeLine(final String original, final String revised, int line) {
+        final Delta.TYPE type = original.isEmpty() ? Delta.TYPE.INSERT : (revised.isEmpty() ? Delta.TYPE.DELETE : Delta.TYPE.CHANGE);
+        return Collections.singletonList(new EditSpan(type, line, 0, original.length(), 0, revised.length()));
+    }
+
+    /**
+     * Refinement task of a range of deltas
+     */
+    private final class RefineTask extends RecursiveAction {
+
+        /**
+         * Default source and target deltas
+         */
+        private final List<Delta<String>> deltas;
+        private final Delta<String>[] refined;
+        /**
+         * Default task bounds
+         */
+        private final int from;
+        private final int to;
+
+        private RefineTask(final List<Delta<String>> deltas, final Delta<String>[] refined, int from, int to) {
+            this.deltas = deltas;
+            this.refined = refined;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= DEFAULT_TASK_SIZE) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.refined[i] = refine(this.deltas.get(i));
+                }
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RefineTask(this.deltas, this.refined, this.from, middle),
+                new RefineTask(this.deltas, this.refined, middle, this.to));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexMatcher;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexedDiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.matcher.interfaces.BiMatcher;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.listOf;
+
+/**
+ * Linear-space {@link DiffAlgorithm} service implementation
+ * <p>
+ * Divide-and-conquer variant of the Myers differencing algorithm: the middle snake of the optimal
+ * path is searched simultaneously from both ends over two {@code int[]} diagonal vectors, and both halves
+ * are resolved recursively. No path nodes are allocated, the only memory used besides the vectors is
+ * an {@link EditScript} with one flag per element.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class LinearDiffAlgorithmService<T> implements DiffAlgorithm<T>, IndexedDiffAlgorithm {
+
+    /**
+     * Default {@link BiMatcher}
+     */
+    private final BiMatcher<T> matcher;
+    /**
+     * Default equality matching flag
+     */
+    private final boolean equalityBased;
+
+    /**
+     * Constructs an instance of the linear-space Myers differencing algorithm.
+     */
+    public LinearDiffAlgorithmService() {
+        this.matcher = Objects::equals;
+        this.equalityBased = true;
+    }
+
+    /**
+     * Constructs an instance of the linear-space Myers differencing algorithm by input {@link BiMatcher}
+     *
+     * @param matcher - initial input {@link BiMatcher}
+     * @throws IllegalArgumentException if matcher is {@code null}
+     */
+    public LinearDiffAlgorithmService(final BiMatcher<T> matcher) {
+        ValidationUtils.notNull(matcher, "Matcher should not be null");
+        this.matcher = matcher;
+        this.equalityBased = false;
+    }
+
+    /**
+     * Returns binary flag depending on whether elements are matched by {@link Object#equals(Object)},
+     * which is the case unless the algorithm is constructed with a custom {@link BiMatcher}
+     *
+     * @return true - if elements are matched by equality, false - otherwise
+     */
+    @Override
+    public boolean isEqualityBased() {
+        return this.equalityBased;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public DefaultPatch<T> diff(final Iterable<T> original, final Iterable<T> revised) {
+        ValidationUtils.notNull(original, "Original list must not be null");
+        ValidationUtils.notNull(revised, "Revised list must not be null");
+
+        final List<T> first = listOf(original);
+        final List<T> last = listOf(revised);
+        final EditScript script = new EditScript(first.size(), last.size());
+        this.diff((i, j) -> this.matcher.matches(first.get(i), last.get(j)), 0, first.size(), 0, last.size(), script);
+        return script.toPatch(first, last);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     */
+    @Override
+    public void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+
+        this.diff((i, j) -> original[i] == revised[j], originalFrom, originalTo, revisedFrom, revisedTo, script);
+    }
+
+    /**
+     * Computes the minimum edit script for the original range [{@code originalFrom}, {@code originalTo})
+     * and the revised range [{@code revisedFrom}, {@code revisedTo}) and marks differences in {@link EditScript}
+     *
+     * @param matcher      - initial input {@link IndexMatcher}
+     * @param originalFrom - initial input original start position (inclusive)
+     * @param originalTo   - initial input original end position (exclusive)
+     * @param revisedFrom  - initial input revised start position (inclusive)
+     * @param revisedTo    - initial input revised end position (exclusive)
+     * @param script       - initial input {@link EditScript} to mark differences in
+     * @throws IllegalArgumentException if matcher is {@code null}
+     * @throws IllegalArgumentException if script is {@code null}
+     */
+    public void diff(final IndexMatcher matcher, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script) {
+        ValidationUtils.notNull(matcher, "Index matcher should not be null");
+        ValidationUtils.notNull(script, "Edit script should not be null");
+        ValidationUtils.isTrue(originalFrom <= originalTo && revisedFrom <= revisedTo, "Sequence ranges should not be negative");
+
+        new MiddleSnakeSearch(matcher, originalFrom, originalTo, revisedFrom, revisedTo, script)
+            .compare(originalFrom, originalTo, revisedFrom, revisedTo);
+    }
+
+    /**
+     * Middle snake search state shared by the recursive calls over one diff range
+     */
+    private static final class MiddleSnakeSearch {
+
+        /**
+         * Default {@link IndexMatcher}
+         */
+        private final IndexMatcher matcher;
+        /**
+         * Default {@link EditScript}
+         */
+        private final EditScript script;
+        /**
+         * Forward furthest reaching x per diagonal
+         */
+        private final int[] forward;
+        /**
+         * Backward furthest reaching x per diagonal
+         */
+        private final int[] backward;
+        /**
+         * Default diagonal index offset
+         */
+        private final int offset;
+        /**
+         * Last found middle snake split point
+         */
+        private int splitX;
+        private int splitY;
+
+        private MiddleSnakeSearch(final IndexMatcher matcher, int xoff, int xlim, int yoff, int ylim, final EditScript script) {
+            this.matcher = matcher;
+            this.script = script;
+            final int size = (xlim - xoff) + (ylim - yoff) + 3;
+            this.forward = new int[size];
+            this.backward = new int[size];
+            this.offset = ylim - xoff + 1;
+        }
+
+        /**
+         * Compares original range [{@code xoff}, {@code xlim}) with revised range [{@code yoff}, {@code ylim})
+         */
+        private void compare(int xoff, int xlim, int yoff, int ylim) {
+            while (xoff < xlim && yoff < ylim && this.matcher.matches(xoff, yoff)) {
+                xoff++;
+                yoff++;
+            }
+            while (xlim > xoff && ylim > yoff && this.matcher.matches(xlim - 1, ylim - 1)) {
+                xlim--;
+                ylim--;
+            }
+            if (xoff == xlim) {
+                this.script.insert(yoff, ylim);
+            } else if (yoff == ylim) {
+                this.script.delete(xoff, xlim);
+            } else {
+                this.split(xoff, xlim, yoff, ylim);
+                final int xmid = this.splitX;
+                final int ymid = this.splitY;
+                this.compare(xoff, xmid, yoff, ymid);
+                this.compare(xmid, xlim, ymid, ylim);
+            }
+        }
+
+        /**
+         * Finds the midpoint of the shortest edit script for the given ranges,
+         * both ranges must be non-empty and must differ at their first and last elements
+         */
+        private void split(int xoff, int xlim, int yoff, int ylim) {
+            final int[] fd = this.forward;
+            final int[] bd = this.backward;
+            final int o = this.offset;
+
+            final int dmin = xoff - ylim;
+            final int dmax = xlim - yoff;
+            final int fmid = xoff - yoff;
+            final int bmid = xlim - ylim;
+            final boolean odd = ((fmid - bmid) & 1) != 0;
+
+            int fmin = fmid;
+            int fmax = fmid;
+            int bmin = bmid;
+            int bmax = bmid;
+            fd[o + fmid] = xoff;
+            bd[o + bmid] = xlim;
+
+            while (true) {
+                if (fmin > dmin) {
+                    fd[o + --fmin - 1] = -1;
+                } else {
+                    ++fmin;
+                }
+                if (fmax < dmax) {
+                    fd[o + ++fmax + 1] = -1;
+                } else {
+                    --fmax;
+                }
+                for (int d = fmax; d >= fmin; d -= 2) {
+                    final int tlo = fd[o + d - 1];
+                    final int thi = fd[o + d + 1];
+                    int x = (tlo >= thi) ? tlo + 1 : thi;
+                    int y = x - d;
+                    while (x < xlim && y < ylim && this.matcher.matches(x, y)) {
+                        x++;
+                        y++;
+                    }
+                    fd[o + d] = x;
+                    if (odd && bmin <= d && d <= bmax && bd[o + d] <= x) {
+                        this.splitX = x;
+                        this.splitY = y;
+                        return;
+                    }
+                }
+
+                if (bmin > dmin) {
+                    bd[o + --bmin - 1] = Integer.MAX_VALUE;
+                } else {
+                    ++bmin;
+                }
+                if (bmax < dmax) {
+                    bd[o + ++bmax + 1] = Integer.MAX_VALUE;
+                } else {
+                    --bmax;
+                }
+                for (int d = bmax; d >= bmin; d -= 2) {
+                    final int tlo = bd[o + d - 1];
+                    final int thi = bd[o + d + 1];
+                    int x = (tlo < thi) ? tlo : thi - 1;
+                    int y = x - d;
+                    while (x > xoff && y > yoff && this.matcher.matches(x - 1, y - 1)) {
+                        x--;
+                        y--;
+                    }
+                    bd[o + d] = x;
+                    if (!odd && fmin <= d && d <= fmax && x <= fd[o + d]) {
+                        this.splitX = x;
+                        this.splitY = y;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
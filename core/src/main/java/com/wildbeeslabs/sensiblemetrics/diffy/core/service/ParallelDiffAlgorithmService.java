@@ -0,0 +1,233 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexedDiffAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel {@link IndexedDiffAlgorithm} service implementation
+ * <p>
+ * Splits the compared ranges at stable anchor points (elements occurring exactly once on both sides and forming
+ * the longest increasing chain of matches) into independent regions of at least minimum region size and resolves
+ * the regions by delegate algorithm on the {@link ForkJoinPool}. Regions cover disjoint ranges of the shared
+ * {@link EditScript}, so sub-results need no position correction. As with patience diff, the resulting script is
+ * not guaranteed to be minimal across region boundaries.
+ * <p>
+ * The delegate algorithm should be thread-safe.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ParallelDiffAlgorithmService implements IndexedDiffAlgorithm {
+
+    /**
+     * Default minimum region size (elements on the larger side) to be diffed as a single task
+     */
+    public static final int DEFAULT_MIN_REGION_SIZE = 1 << 14;
+
+    /**
+     * Default {@link ForkJoinPool} to run region tasks on
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Default delegate {@link IndexedDiffAlgorithm}
+     */
+    private final IndexedDiffAlgorithm delegate;
+    /**
+     * Default minimum region size
+     */
+    private final int minRegionSize;
+
+    /**
+     * Default parallel diff algorithm constructor by input parameters
+     *
+     * @param pool          - initial input {@link ForkJoinPool} to run region tasks on
+     * @param delegate      - initial input thread-safe {@link IndexedDiffAlgorithm} to resolve regions by
+     * @param minRegionSize - initial input minimum region size
+     * @throws IllegalArgumentException if pool is {@code null}
+     * @throws IllegalArgumentException if delegate is {@code null}
+     * @throws IllegalArgumentException if minimum region size is not positive
+     */
+    public ParallelDiffAlgorithmService(final ForkJoinPool pool, final IndexedDiffAlgorithm delegate, int minRegionSize) {
+        ValidationUtils.notNull(pool, "Fork join pool should not be null");
+        ValidationUtils.notNull(delegate, "Delegate algorithm should not be null");
+        ValidationUtils.isTrue(minRegionSize > 0, "Minimum region size should be greater than zero");
+        this.pool = pool;
+        this.delegate = delegate;
+        this.minRegionSize = minRegionSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if script is {@code null}
+     */
+    @Override
+    public void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+        ValidationUtils.notNull(script, "Edit script should not be null");
+
+        if (Math.max(originalTo - originalFrom, revisedTo - revisedFrom) < 2 * this.minRegionSize) {
+            this.delegate.diff(original, revised, originalFrom, originalTo, revisedFrom, revisedTo, script);
+            return;
+        }
+        final List<int[]> regions = this.split(original, revised, originalFrom, originalTo, revisedFrom, revisedTo);
+        if (regions.size() == 1) {
+            this.delegate.diff(original, revised, originalFrom, originalTo, revisedFrom, revisedTo, script);
+            return;
+        }
+        this.pool.invoke(new RegionTask(original, revised, regions, 0, regions.size(), script));
+    }
+
+    /**
+     * Returns list of independent regions as {@code {originalFrom, originalTo, revisedFrom, revisedTo}}
+     * separated by anchor elements
+     */
+    private List<int[]> split(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo) {
+        int idCount = 0;
+        for (int i = originalFrom; i < originalTo; i++) {
+            idCount = Math.max(idCount, original[i] + 1);
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            idCount = Math.max(idCount, revised[j] + 1);
+        }
+        final int[] originalCounts = new int[idCount];
+        final int[] revisedCounts = new int[idCount];
+        final int[] revisedPositions = new int[idCount];
+        for (int i = originalFrom; i < originalTo; i++) {
+            originalCounts[original[i]]++;
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            revisedCounts[revised[j]]++;
+            revisedPositions[revised[j]] = j;
+        }
+
+        // longest increasing chain of unique matches by patience sorting
+        final int[] anchorsA = new int[Math.min(originalTo - originalFrom, revisedTo - revisedFrom)];
+        final int[] anchorsB = new int[anchorsA.length];
+        final int[] tails = new int[anchorsA.length];
+        final int[] previous = new int[anchorsA.length];
+        int count = 0;
+        int length = 0;
+        for (int i = originalFrom; i < originalTo; i++) {
+            final int id = original[i];
+            if (originalCounts[id] != 1 || revisedCounts[id] != 1) {
+                continue;
+            }
+            anchorsA[count] = i;
+            anchorsB[count] = revisedPositions[id];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (anchorsB[tails[middle]] < anchorsB[count]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[count] = (low > 0) ? tails[low - 1] : -1;
+            tails[low] = count;
+            if (low == length) {
+                length++;
+            }
+            count++;
+        }
+
+        final int[] sequence = new int[length];
+        for (int c = (length > 0) ? tails[length - 1] : -1, k = length - 1; c >= 0; c = previous[c], k--) {
+            sequence[k] = c;
+        }
+        final List<int[]> regions = new ArrayList<>();
+        int aFrom = originalFrom;
+        int bFrom = revisedFrom;
+        for (final int c : sequence) {
+            if (Math.max(anchorsA[c] - aFrom, anchorsB[c] - bFrom) >= this.minRegionSize
+                && Math.max(originalTo - anchorsA[c], revisedTo - anchorsB[c]) > this.minRegionSize) {
+                regions.add(new int[]{aFrom, anchorsA[c], bFrom, anchorsB[c]});
+                aFrom = anchorsA[c] + 1;
+                bFrom = anchorsB[c] + 1;
+            }
+        }
+        regions.add(new int[]{aFrom, originalTo, bFrom, revisedTo});
+        return regions;
+    }
+
+    /**
+     * Region {@link RecursiveAction} implementation
+     */
+    private final class RegionTask extends RecursiveAction {
+
+        /**
+         * Default original and revised element identifiers
+         */
+        private final int[] original;
+        private final int[] revised;
+        /**
+         * Default regions and task bounds
+         */
+        private final List<int[]> regions;
+        private final int from;
+        private final int to;
+        /**
+         * Default shared {@link EditScript}
+         */
+        private final EditScript script;
+
+        private RegionTask(final int[] original, final int[] revised, final List<int[]> regions, int from, int to, final EditScript script) {
+            this.original = original;
+            this.revised = revised;
+            this.regions = regions;
+            this.from = from;
+            this.to = to;
+            this.script = script;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                final int[] region = this.regions.get(this.from);
+                delegate.diff(this.original, this.revised, region[0], region[1], region[2], region[3], this.script);
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new RegionTask(this.original, this.revised, this.regions, this.from, middle, this.script),
+                new RegionTask(this.original, this.revised, this.regions, middle, this.to, this.script));
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.DeleteDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.InsertDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.ElementSerializer;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils.readSize;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils.readVarInt;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils.unzigzag;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils.writeVarInt;
+import static com.wildbeeslabs.sensiblemetrics.diffy.core.utils.VarIntUtils.zigzag;
+
+/**
+ * Compact binary {@link Patch} codec implementation
+ * <p>
+ * Layout: format version, flags, optional dictionary of distinct elements, delta count and per delta
+ * a type tag followed by both chunks. Chunk positions are zigzag varints relative to the previous delta,
+ * sizes are varints, elements are written by the {@link ElementSerializer} or, with the dictionary enabled,
+ * as varint references into the dictionary. Decoding reads straight from a {@link ByteBuffer}.
+ *
+ * @param <T> type of patch element
+ */
+public class PatchCodec<T> {
+
+    /**
+     * Default format version
+     */
+    private static final byte FORMAT_VERSION = 1;
+    /**
+     * Default dictionary flag
+     */
+    private static final int DICTIONARY_FLAG = 1;
+
+    /**
+     * Default {@link InsertDelta} type tag
+     */
+    private static final byte INSERT_TAG = 0;
+    /**
+     * Default {@link DeleteDelta} type tag
+     */
+    private static final byte DELETE_TAG = 1;
+    /**
+     * Default {@link ChangeDelta} type tag
+     */
+    private static final byte CHANGE_TAG = 2;
+
+    /**
+     * Default minimum encoded element size in bytes
+     */
+    private static final int MIN_ELEMENT_SIZE = 1;
+    /**
+     * Default minimum encoded delta size in bytes (type tag and position and size of both chunks)
+     */
+    private static final int MIN_DELTA_SIZE = 5;
+
+    /**
+     * Default {@link ElementSerializer} instance
+     */
+    private final ElementSerializer<T> serializer;
+    /**
+     * Default dictionary compression flag
+     */
+    private final boolean dictionary;
+
+    public PatchCodec(final ElementSerializer<T> serializer) {
+        this(serializer, false);
+    }
+
+    /**
+     * Default patch codec constructor by input parameters
+     *
+     * @param serializer - initial input {@link ElementSerializer}
+     * @param dictionary - initial input flag whether repeated elements are written once into a dictionary
+     */
+    public PatchCodec(final ElementSerializer<T> serializer, boolean dictionary) {
+        ValidationUtils.notNull(serializer, "Serializer should not be null");
+        this.serializer = serializer;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns encoded {@link Patch} bytes
+     *
+     * @param patch - initial input {@link Patch} to encode
+     * @return encoded bytes
+     * @throws UncheckedIOException if an element cannot be serialized
+     */
+    public byte[] encode(final Patch<T> patch) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            this.encode(patch, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes encoded {@link Patch} to the {@link OutputStream}
+     *
+     * @param patch  - initial input {@link Patch} to encode
+     * @param output - initial input {@link OutputStream}
+     * @throws IOException if the output cannot be written
+     */
+    public void encode(final Patch<T> patch, final OutputStream output) throws IOException {
+        ValidationUtils.notNull(patch, "Patch should not be null");
+        ValidationUtils.notNull(output, "Output should not be null");
+
+        final List<Delta<T>> deltas = patch.getDeltas();
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeByte(FORMAT_VERSION);
+        data.writeByte(this.dictionary ? DICTIONARY_FLAG : 0);
+
+        Map<T, Integer> references = null;
+        if (this.dictionary) {
+            references = new LinkedHashMap<>();
+            for (final Delta<T> delta : deltas) {
+                collect(delta.getOriginal(), references);
+                collect(delta.getRevised(), references);
+            }
+            writeVarInt(data, references.size());
+            for (final T element : references.keySet()) {
+                this.serializer.write(element, data);
+            }
+        }
+
+        writeVarInt(data, deltas.size());
+        int originalPosition = 0;
+        int revisedPosition = 0;
+        for (final Delta<T> delta : deltas) {
+            data.writeByte(tagOf(delta.getType()));
+            originalPosition = this.writeChunk(data, delta.getOriginal(), originalPosition, references);
+            revisedPosition = this.writeChunk(data, delta.getRevised(), revisedPosition, references);
+        }
+        data.flush();
+    }
+
+    /**
+     * Returns {@link DefaultPatch} decoded from bytes
+     *
+     * @param bytes - initial input encoded bytes
+     * @return {@link DefaultPatch}
+     * @throws IllegalStateException if the input is not a valid encoded patch
+     */
+    public DefaultPatch<T> decode(final byte[] bytes) {
+        ValidationUtils.notNull(bytes, "Bytes should not be null");
+        return this.decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Returns {@link DefaultPatch} decoded from the current position of the {@link ByteBuffer}
+     * <p>
+     * The buffer position is advanced past the encoded patch.
+     *
+     * @param input - initial input {@link ByteBuffer}
+     * @return {@link DefaultPatch}
+     * @throws IllegalStateException if the input is not a valid encoded patch
+     */
+    public DefaultPatch<T> decode(final ByteBuffer input) {
+        ValidationUtils.notNull(input, "Input should not be null");
+
+        try {
+            return this.read(input);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated patch input", e);
+        }
+    }
+
+    private DefaultPatch<T> read(final ByteBuffer input) {
+        final byte version = input.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported patch format version: " + version);
+        }
+        final boolean withDictionary = (input.get() & DICTIONARY_FLAG) != 0;
+        List<T> references = null;
+        if (withDictionary) {
+            final int size = readSize(input, MIN_ELEMENT_SIZE);
+            references = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                references.add(this.serializer.read(input));
+            }
+        }
+
+        final int size = readSize(input, MIN_DELTA_SIZE);
+        final DefaultPatch<T> patch = new DefaultPatch<>(null, size);
+        int originalPosition = 0;
+        int revisedPosition = 0;
+        for (int i = 0; i < size; i++) {
+            final byte tag = input.get();
+            final Chunk<T> original = this.readChunk(input, originalPosition, references);
+            final Chunk<T> revised = this.readChunk(input, revisedPosition, references);
+            originalPosition = original.getPosition();
+            revisedPosition = revised.getPosition();
+            patch.addDelta(createDelta(tag, original, revised));
+        }
+        return patch;
+    }
+
+    private int writeChunk(final DataOutput output, final Chunk<T> chunk, int previous, final Map<T, Integer> references) throws IOException {
+        final int position = chunk.getPosition();
+        writeVarInt(output, zigzag(position - previous));
+        final List<T> lines = chunk.getLines();
+        writeVarInt(output, lines.size());
+        for (final T element : lines) {
+            if (Objects.nonNull(references)) {
+                writeVarInt(output, Objects.isNull(element) ? 0 : references.get(element) + 1);
+            } else {
+                this.serializer.write(element, output);
+            }
+        }
+        return position;
+    }
+
+    private Chunk<T> readChunk(final ByteBuffer input, int previous, final List<T> references) {
+        final int position = previous + unzigzag(readVarInt(input));
+        final int size = readSize(input, MIN_ELEMENT_SIZE);
+        final List<T> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (Objects.nonNull(references)) {
+                final int reference = readVarInt(input);
+                if (reference < 0 || reference > references.size()) {
+                    throw new IllegalStateException("Unknown dictionary reference: " + reference);
+                }
+                lines.add(reference == 0 ? null : references.get(reference - 1));
+            } else {
+                lines.add(this.serializer.read(input));
+            }
+        }
+        return new DefaultChunk<>(position, lines);
+    }
+
+    private static <T> void collect(final Chunk<T> chunk, final Map<T, Integer> references) {
+        for (final T element : chunk.getLines()) {
+            if (Objects.nonNull(element)) {
+                references.putIfAbsent(element, references.size());
+            }
+        }
+    }
+
+    private static byte tagOf(final Delta.TYPE type) {
+        switch (type) {
+            case INSERT:
+                return INSERT_TAG;
+            case DELETE:
+                return DELETE_TAG;
+            default:
+                return CHANGE_TAG;
+        }
+    }
+
+    private static <T> Delta<T> createDelta(byte tag, final Chunk<T> original, final Chunk<T> revised) {
+        switch (tag) {
+            case INSERT_TAG:
+                return new InsertDelta<>(original, revised);
+            case DELETE_TAG:
+                return new DeleteDelta<>(original, revised);
+            case CHANGE_TAG:
+                return new ChangeDelta<>(original, revised);
+            default:
+                throw new IllegalStateException("Unknown delta type tag: " + tag);
+        }
+    }
+}
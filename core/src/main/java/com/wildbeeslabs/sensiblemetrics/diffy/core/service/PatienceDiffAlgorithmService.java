@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+
+import java.util.Deque;
+
+/**
+ * Patience {@link DiffAlgorithm} service implementation
+ * <p>
+ * Anchors on elements occurring exactly once in both compared ranges and keeps the longest increasing
+ * subsequence of them (found by patience sorting), then processes the gaps between anchors the same way.
+ *
+ * @param <T> type of difference value
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class PatienceDiffAlgorithmService<T> extends AbstractAnchorDiffAlgorithmService<T> {
+
+    /**
+     * Default patience diff algorithm constructor
+     */
+    public PatienceDiffAlgorithmService() {
+        this(DEFAULT_FALLBACK_THRESHOLD);
+    }
+
+    /**
+     * Default patience diff algorithm constructor by input parameters
+     *
+     * @param fallbackThreshold - initial input region size to be resolved by fallback algorithm
+     */
+    public PatienceDiffAlgorithmService(int fallbackThreshold) {
+        super(fallbackThreshold);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RegionSplitter createSplitter(final int[] original, final int[] revised, int idCount) {
+        return new PatienceSplitter(original, revised, idCount);
+    }
+
+    /**
+     * Patience {@link RegionSplitter} implementation
+     */
+    private static final class PatienceSplitter implements RegionSplitter {
+
+        /**
+         * Default original and revised element identifiers
+         */
+        private final int[] original;
+        private final int[] revised;
+        /**
+         * Default occurrence counts and last positions per identifier
+         */
+        private final int[] originalCounts;
+        private final int[] originalPositions;
+        private final int[] revisedCounts;
+        private final int[] revisedPositions;
+
+        private PatienceSplitter(final int[] original, final int[] revised, int idCount) {
+            this.original = original;
+            this.revised = revised;
+            this.originalCounts = new int[idCount];
+            this.originalPositions = new int[idCount];
+            this.revisedCounts = new int[idCount];
+            this.revisedPositions = new int[idCount];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean split(int originalFrom, int originalTo, int revisedFrom, int revisedTo, final Deque<int[]> regions) {
+            for (int i = originalFrom; i < originalTo; i++) {
+                this.originalCounts[this.original[i]]++;
+                this.originalPositions[this.original[i]] = i;
+            }
+            for (int j = revisedFrom; j < revisedTo; j++) {
+                this.revisedCounts[this.revised[j]]++;
+                this.revisedPositions[this.revised[j]] = j;
+            }
+
+            final int[] anchorsA = new int[Math.min(originalTo - originalFrom, revisedTo - revisedFrom)];
+            final int[] anchorsB = new int[anchorsA.length];
+            int count = 0;
+            for (int i = originalFrom; i < originalTo; i++) {
+                final int id = this.original[i];
+                if (this.originalCounts[id] == 1 && this.revisedCounts[id] == 1) {
+                    anchorsA[count] = i;
+                    anchorsB[count] = this.revisedPositions[id];
+                    count++;
+                }
+            }
+            for (int i = originalFrom; i < originalTo; i++) {
+                this.originalCounts[this.original[i]] = 0;
+            }
+            for (int j = revisedFrom; j < revisedTo; j++) {
+                this.revisedCounts[this.revised[j]] = 0;
+            }
+            if (count == 0) {
+                return false;
+            }
+
+            // longest increasing subsequence of revised positions by patience sorting
+            final int[] tails = new int[count];
+            final int[] previous = new int[count];
+            int length = 0;
+            for (int c = 0; c < count; c++) {
+                int low = 0;
+                int high = length;
+                while (low < high) {
+                    final int middle = (low + high) >>> 1;
+                    if (anchorsB[tails[middle]] < anchorsB[c]) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                previous[c] = (low > 0) ? tails[low - 1] : -1;
+                tails[low] = c;
+                if (low == length) {
+                    length++;
+                }
+            }
+
+            final int[] sequence = new int[length];
+            for (int c = tails[length - 1], k = length - 1; c >= 0; c = previous[c], k--) {
+                sequence[k] = c;
+            }
+            int aFrom = originalFrom;
+            int bFrom = revisedFrom;
+            for (final int c : sequence) {
+                regions.push(new int[]{aFrom, anchorsA[c], bFrom, anchorsB[c]});
+                aFrom = anchorsA[c] + 1;
+                bFrom = anchorsB[c] + 1;
+            }
+            regions.push(new int[]{aFrom, originalTo, bFrom, revisedTo});
+            return true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffStatistics;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexedDiffAlgorithm;
+
+import java.util.Objects;
+
+/**
+ * Reducing {@link IndexedDiffAlgorithm} service implementation
+ * <p>
+ * Preprocessing stage that strips the common head and tail of the compared ranges and discards elements
+ * occurring on one side only (they can never be matched), runs the delegate algorithm on the reduced core
+ * and shifts the resulting changes back to the source positions.
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ReducingDiffAlgorithmService implements IndexedDiffAlgorithm {
+
+    /**
+     * Default delegate {@link IndexedDiffAlgorithm}
+     */
+    private final IndexedDiffAlgorithm delegate;
+
+    /**
+     * Default reducing diff algorithm constructor by input parameters
+     *
+     * @param delegate - initial input {@link IndexedDiffAlgorithm} to run on the reduced core
+     * @throws IllegalArgumentException if delegate is {@code null}
+     */
+    public ReducingDiffAlgorithmService(final IndexedDiffAlgorithm delegate) {
+        ValidationUtils.notNull(delegate, "Delegate algorithm should not be null");
+        this.delegate = delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script) {
+        this.diff(original, revised, originalFrom, originalTo, revisedFrom, revisedTo, script, null);
+    }
+
+    /**
+     * Computes the edit script for the given ranges and registers eliminated input in {@link DiffStatistics}
+     *
+     * @param original     - initial input original element identifiers
+     * @param revised      - initial input revised element identifiers
+     * @param originalFrom - initial input original start position (inclusive)
+     * @param originalTo   - initial input original end position (exclusive)
+     * @param revisedFrom  - initial input revised start position (inclusive)
+     * @param revisedTo    - initial input revised end position (exclusive)
+     * @param script       - initial input {@link EditScript} to mark differences in
+     * @param statistics   - initial input {@link DiffStatistics} (optional)
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if script is {@code null}
+     */
+    public void diff(final int[] original, final int[] revised, int originalFrom, int originalTo, int revisedFrom, int revisedTo, final EditScript script, final DiffStatistics statistics) {
+        ValidationUtils.notNull(original, "Original sequence should not be null");
+        ValidationUtils.notNull(revised, "Revised sequence should not be null");
+        ValidationUtils.notNull(script, "Edit script should not be null");
+
+        final int originalSize = originalTo - originalFrom;
+        final int revisedSize = revisedTo - revisedFrom;
+        while (originalFrom < originalTo && revisedFrom < revisedTo && original[originalFrom] == revised[revisedFrom]) {
+            originalFrom++;
+            revisedFrom++;
+        }
+        final int prefixLength = originalSize - (originalTo - originalFrom);
+        while (originalTo > originalFrom && revisedTo > revisedFrom && original[originalTo - 1] == revised[revisedTo - 1]) {
+            originalTo--;
+            revisedTo--;
+        }
+        final int suffixLength = originalSize - prefixLength - (originalTo - originalFrom);
+
+        int idCount = 0;
+        for (int i = originalFrom; i < originalTo; i++) {
+            idCount = Math.max(idCount, original[i] + 1);
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            idCount = Math.max(idCount, revised[j] + 1);
+        }
+        final boolean[] inOriginal = new boolean[idCount];
+        final boolean[] inRevised = new boolean[idCount];
+        for (int i = originalFrom; i < originalTo; i++) {
+            inOriginal[original[i]] = true;
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            inRevised[revised[j]] = true;
+        }
+
+        final int[] originalIndex = reduce(original, originalFrom, originalTo, inRevised);
+        final int[] revisedIndex = reduce(revised, revisedFrom, revisedTo, inOriginal);
+        final int originalDiscarded = (originalTo - originalFrom) - originalIndex.length;
+        final int revisedDiscarded = (revisedTo - revisedFrom) - revisedIndex.length;
+        if (Objects.nonNull(statistics)) {
+            statistics.registerInput(originalSize, revisedSize);
+            statistics.registerTrimmed(prefixLength, suffixLength);
+            statistics.registerDiscarded(originalDiscarded, revisedDiscarded);
+        }
+
+        if (originalDiscarded == 0 && revisedDiscarded == 0) {
+            this.delegate.diff(original, revised, originalFrom, originalTo, revisedFrom, revisedTo, script);
+            return;
+        }
+        for (int i = originalFrom; i < originalTo; i++) {
+            if (!inRevised[original[i]]) {
+                script.delete(i, i + 1);
+            }
+        }
+        for (int j = revisedFrom; j < revisedTo; j++) {
+            if (!inOriginal[revised[j]]) {
+                script.insert(j, j + 1);
+            }
+        }
+        final EditScript reduced = new EditScript(originalIndex.length, revisedIndex.length);
+        this.delegate.diff(values(original, originalIndex), values(revised, revisedIndex), reduced);
+        for (int k = 0; k < originalIndex.length; k++) {
+            if (reduced.isDeleted(k)) {
+                script.delete(originalIndex[k], originalIndex[k] + 1);
+            }
+        }
+        for (int k = 0; k < revisedIndex.length; k++) {
+            if (reduced.isInserted(k)) {
+                script.insert(revisedIndex[k], revisedIndex[k] + 1);
+            }
+        }
+    }
+
+    /**
+     * Returns positions of the range elements present on the other side
+     */
+    private static int[] reduce(final int[] values, int from, int to, final boolean[] present) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (present[values[i]]) {
+                count++;
+            }
+        }
+        final int[] result = new int[count];
+        for (int i = from, k = 0; i < to; i++) {
+            if (present[values[i]]) {
+                result[k++] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns element identifiers by input positions
+     */
+    private static int[] values(final int[] values, final int[] positions) {
+        final int[] result = new int[positions.length];
+        for (int k = 0; k < positions.length; k++) {
+            result[k] = values[positions[k]];
+        }
+        return result;
+    }
+}
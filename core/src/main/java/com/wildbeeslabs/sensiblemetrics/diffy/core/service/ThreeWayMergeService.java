@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MappedLines;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MergeRegion;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MergeRegion.RegionType;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ServiceUtils.copyOf;
+
+/**
+ * Three-way merge service implementation
+ * <p>
+ * Diffs base against both sides with the {@link DiffAlgorithm}, aligns the two patches by base positions
+ * and emits {@link MergeRegion}s in base order. Deltas of both sides that overlap or touch are grouped
+ * into a single region, which is a conflict unless both sides produce the same elements.
+ * <p>
+ * Regions are emitted to a {@link Consumer} one by one while both patches are walked, so besides the inputs only
+ * the two patches are held in memory. Unchanged regions are unmodifiable views of the base sequence shared by all
+ * three sides, changed regions hold unmodifiable copies of the changed elements. Files merged as {@link MappedLines}
+ * are diffed by interned line identifiers and decoded only for changed regions and on access to unchanged ones,
+ * so none of the three versions is held as a {@link List} of strings.
+ *
+ * @param <T> type of merged value
+ */
+public class ThreeWayMergeService<T> {
+
+    /**
+     * Default {@link DiffAlgorithm} instance
+     */
+    private final DiffAlgorithm<T> algorithm;
+
+    public ThreeWayMergeService() {
+        this(new DiffAlgorithmService<>());
+    }
+
+    public ThreeWayMergeService(final DiffAlgorithm<T> algorithm) {
+        ValidationUtils.notNull(algorithm, "Diff algorithm should not be null");
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns {@link List} of {@link MergeRegion}s of the three-way merge
+     *
+     * @param base   - initial input base sequence
+     * @param ours   - initial input our sequence
+     * @param theirs - initial input their sequence
+     * @return {@link List} of {@link MergeRegion}s in base order
+     * @throws IllegalArgumentException if any sequence is {@code null}
+     */
+    public List<MergeRegion<T>> merge(final List<T> base, final List<T> ours, final List<T> theirs) {
+        final List<MergeRegion<T>> result = new ArrayList<>();
+        this.merge(base, ours, theirs, result::add);
+        return result;
+    }
+
+    /**
+     * Emits {@link MergeRegion}s of the three-way merge to the consumer in base order
+     *
+     * @param base     - initial input base sequence
+     * @param ours     - initial input our sequence
+     * @param theirs   - initial input their sequence
+     * @param consumer - initial input {@link Consumer} of {@link MergeRegion}s
+     * @return number of conflicting regions
+     * @throws IllegalArgumentException if any argument is {@code null}
+     */
+    public int merge(final List<T> base, final List<T> ours, final List<T> theirs, final Consumer<? super MergeRegion<T>> consumer) {
+        ValidationUtils.notNull(base, "Base sequence should not be null");
+        ValidationUtils.notNull(ours, "Our sequence should not be null");
+        ValidationUtils.notNull(theirs, "Their sequence should not be null");
+        ValidationUtils.notNull(consumer, "Consumer should not be null");
+
+        return merge(base, ours, theirs, this.algorithm.diff(base, ours).getDeltas(), this.algorithm.diff(base, theirs).getDeltas(), consumer);
+    }
+
+    /**
+     * Emits {@link MergeRegion}s of the three-way merge of memory-mapped lines to the consumer in base order
+     *
+     * @param base     - initial input base {@link MappedLines}
+     * @param ours     - initial input our {@link MappedLines}
+     * @param theirs   - initial input their {@link MappedLines}
+     * @param consumer - initial input {@link Consumer} of {@link MergeRegion}s
+     * @return number of conflicting regions
+     * @throws IllegalArgumentException if any argument is {@code null}
+     */
+    public static int merge(final MappedLines base, final MappedLines ours, final MappedLines theirs, final Consumer<? super MergeRegion<String>> consumer) {
+        ValidationUtils.notNull(consumer, "Consumer should not be null");
+
+        final List<Delta<String>> left = DiffUtils.reducedDiff(MappedLines.intern(base, ours), new LinearDiffAlgorithmService<>(), null).getDeltas();
+        final List<Delta<String>> right = DiffUtils.reducedDiff(MappedLines.intern(base, theirs), new LinearDiffAlgorithmService<>(), null).getDeltas();
+        return merge(base.asList(), ours.asList(), theirs.asList(), left, right, consumer);
+    }
+
+    private static <T> int merge(final List<T> base, final List<T> ours, final List<T> theirs, final List<Delta<T>> left, final List<Delta<T>> right, final Consumer<? super MergeRegion<T>> consumer) {
+        int conflicts = 0;
+        int cursor = 0;
+        int i = 0;
+        int j = 0;
+        int leftOffset = 0;
+        int rightOffset = 0;
+        while (i < left.size() || j < right.size()) {
+            final int leftStart = i;
+            final int rightStart = j;
+            int low = Integer.MAX_VALUE;
+            int high = Integer.MIN_VALUE;
+            while (true) {
+                final boolean takeLeft = i < left.size()
+                    && (j >= right.size() || left.get(i).getOriginal().getPosition() <= right.get(j).getOriginal().getPosition());
+                final Chunk<T> chunk = takeLeft ? left.get(i).getOriginal() : (j < right.size() ? right.get(j).getOriginal() : null);
+                if (chunk == null || (high != Integer.MIN_VALUE && chunk.getPosition() > high)) {
+                    break;
+                }
+                low = Math.min(low, chunk.getPosition());
+                high = Math.max(high, chunk.getPosition() + chunk.size());
+                if (takeLeft) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+
+            if (cursor < low) {
+                consumer.accept(unchanged(base, cursor, low));
+            }
+            final int leftShift = shift(left, leftStart, i);
+            final int rightShift = shift(right, rightStart, j);
+            final List<T> baseRange = slice(base, low, high);
+            final List<T> oursRange = slice(ours, low + leftOffset, high + leftOffset + leftShift);
+            final List<T> theirsRange = slice(theirs, low + rightOffset, high + rightOffset + rightShift);
+            final RegionType type;
+            if (leftStart == i) {
+                type = RegionType.THEIRS;
+            } else if (rightStart == j) {
+                type = RegionType.OURS;
+            } else if (oursRange.equals(theirsRange)) {
+                type = RegionType.BOTH;
+            } else {
+                type = RegionType.CONFLICT;
+                conflicts++;
+            }
+            consumer.accept(new MergeRegion<>(type, low, baseRange, oursRange, theirsRange));
+
+            cursor = high;
+            leftOffset += leftShift;
+            rightOffset += rightShift;
+        }
+        if (cursor < base.size()) {
+            consumer.accept(unchanged(base, cursor, base.size()));
+        }
+        return conflicts;
+    }
+
+    private static <T> MergeRegion<T> unchanged(final List<T> base, int from, int to) {
+        final List<T> range = Collections.unmodifiableList(base.subList(from, to));
+        return new MergeRegion<>(RegionType.UNCHANGED, from, range, range, range);
+    }
+
+    private static <T> List<T> slice(final List<T> list, int from, int to) {
+        return Collections.unmodifiableList(copyOf(list, from, to));
+    }
+
+    private static <T> int shift(final List<Delta<T>> deltas, int from, int to) {
+        int result = 0;
+        for (int k = from; k < to; k++) {
+            result += deltas.get(k).getRevised().size() - deltas.get(k).getOriginal().size();
+        }
+        return result;
+    }
+}
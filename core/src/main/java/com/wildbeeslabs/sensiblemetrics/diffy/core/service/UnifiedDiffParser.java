@@ -0,0 +1,283 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming unified diff parser implementation
+ * <p>
+ * Reads unified diff text line by line and emits one {@link ChangeDelta} per hunk (context lines included) as soon
+ * as the hunk is complete, keeping only the lines of the current hunk in memory. Hunk headers are parsed by hand,
+ * an optional section heading after the closing {@code @@} is ignored.
+ */
+public class UnifiedDiffParser implements Closeable {
+
+    /**
+     * Default line {@link BufferedReader}
+     */
+    private final BufferedReader reader;
+    /**
+     * Default prelude flag, lines up to the {@code +++} header are skipped
+     */
+    private boolean inPrelude = true;
+    /**
+     * Default end of input flag
+     */
+    private boolean finished;
+    /**
+     * Default current hunk start lines (1-based)
+     */
+    private int originalLine;
+    private int revisedLine;
+    /**
+     * Default current hunk original and revised lines
+     */
+    private List<String> originalLines = new ArrayList<>();
+    private List<String> revisedLines = new ArrayList<>();
+    /**
+     * Default current hunk lines flag
+     */
+    private boolean hunkStarted;
+
+    public UnifiedDiffParser(final Reader reader) {
+        ValidationUtils.notNull(reader, "Reader should not be null");
+        this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    public UnifiedDiffParser(final ReadableByteChannel channel, final Charset charset) {
+        this(Channels.newReader(channel, charset.newDecoder(), -1));
+    }
+
+    /**
+     * Returns next parsed hunk {@link Delta}
+     *
+     * @return next {@link Delta}, or {@code null} at the end of input
+     * @throws IOException if the input can not be read
+     */
+    public Delta<String> next() throws IOException {
+        if (this.finished) {
+            return null;
+        }
+        String line;
+        while ((line = this.reader.readLine()) != null) {
+            if (this.inPrelude) {
+                if (line.startsWith("+++")) {
+                    this.inPrelude = false;
+                }
+                continue;
+            }
+            final long header = parseHeader(line);
+            if (header >= 0) {
+                final Delta<String> delta = this.flush();
+                this.originalLine = Math.max(1, (int) (header >>> 32));
+                this.revisedLine = Math.max(1, (int) header);
+                if (Objects.nonNull(delta)) {
+                    return delta;
+                }
+            } else if (line.isEmpty()) {
+                this.add(true, true, line);
+            } else {
+                final char tag = line.charAt(0);
+                if (tag == ' ' || tag == '-' || tag == '+') {
+                    this.add(tag != '+', tag != '-', line.substring(1));
+                }
+            }
+        }
+        this.finished = true;
+        return this.flush();
+    }
+
+    /**
+     * Passes all remaining hunk {@link Delta}s to the consumer
+     *
+     * @param consumer - initial input {@link Delta} {@link Consumer}
+     * @throws IOException if the input can not be read
+     */
+    public void parse(final Consumer<? super Delta<String>> consumer) throws IOException {
+        ValidationUtils.notNull(consumer, "Consumer should not be null");
+        Delta<String> delta;
+        while ((delta = this.next()) != null) {
+            consumer.accept(delta);
+        }
+    }
+
+    /**
+     * Returns lazy {@link Stream} of the remaining hunk {@link Delta}s, read errors are rethrown as {@link UncheckedIOException}
+     *
+     * @return {@link Stream} of {@link Delta}s
+     */
+    public Stream<Delta<String>> stream() {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Delta<String>>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Delta<String>> action) {
+                try {
+                    final Delta<String> delta = next();
+                    if (Objects.isNull(delta)) {
+                        return false;
+                    }
+                    action.accept(delta);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private void add(boolean original, boolean revised, final String line) {
+        if (original) {
+            this.originalLines.add(line);
+        }
+        if (revised) {
+            this.revisedLines.add(line);
+        }
+        this.hunkStarted = true;
+    }
+
+    private Delta<String> flush() {
+        if (!this.hunkStarted) {
+            return null;
+        }
+        final Delta<String> delta = new ChangeDelta<>(new DefaultChunk<>(this.originalLine - 1, this.originalLines), new DefaultChunk<>(this.revisedLine - 1, this.revisedLines));
+        this.originalLines = new ArrayList<>();
+        this.revisedLines = new ArrayList<>();
+        this.hunkStarted = false;
+        return delta;
+    }
+
+    /**
+     * Returns original and revised start lines of {@code @@ -a[,b] +c[,d] @@} header packed into high and low
+     * 32 bits, or -1 if the line is not a hunk header
+     */
+    private static long parseHeader(final String line) {
+        final int length = line.length();
+        if (length < 2 || line.charAt(0) != '@' || line.charAt(1) != '@') {
+            return -1;
+        }
+        int index = skipSpaces(line, 2);
+        if (index == 2 || index >= length || line.charAt(index) != '-') {
+            return -1;
+        }
+        final long original = parseRange(line, index + 1);
+        if (original < 0) {
+            return -1;
+        }
+        index = skipSpaces(line, (int) original);
+        if (index == (int) original || index >= length || line.charAt(index) != '+') {
+            return -1;
+        }
+        final long revised = parseRange(line, index + 1);
+        if (revised < 0) {
+            return -1;
+        }
+        index = skipSpaces(line, (int) revised);
+        if (index == (int) revised || !line.startsWith("@@", index)) {
+            return -1;
+        }
+        index += 2;
+        if (index < length && !isSpace(line.charAt(index))) {
+            return -1;
+        }
+        return ((original >>> 32) << 32) | (revised >>> 32);
+    }
+
+    /**
+     * Returns {@code start} number of {@code start[,count]} range in high 32 bits and the end index in low 32 bits,
+     * or -1 if the range is malformed
+     */
+    private static long parseRange(final String line, int index) {
+        final long start = parseNumber(line, index);
+        if (start < 0) {
+            return -1;
+        }
+        int end = (int) start;
+        if (end < line.length() && line.charAt(end) == ',') {
+            final long count = parseNumber(line, end + 1);
+            if (count < 0) {
+                return -1;
+            }
+            end = (int) count;
+        }
+        return ((start >>> 32) << 32) | end;
+    }
+
+    /**
+     * Returns parsed non-negative {@code int} in high 32 bits and the end index in low 32 bits, or -1 if malformed
+     */
+    private static long parseNumber(final String line, int index) {
+        long value = 0;
+        int end = index;
+        while (end < line.length() && line.charAt(end) >= '0' && line.charAt(end) <= '9') {
+            value = value * 10 + (line.charAt(end) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+            end++;
+        }
+        return (end == index) ? -1 : (value << 32) | end;
+    }
+
+    private static int skipSpaces(final String line, int index) {
+        while (index < line.length() && isSpace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isSpace(char value) {
+        return value == ' ' || value == '\t' || value == '\f' || value == '\r' || value == '\u000B';
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming unified diff writer implementation
+ * <p>
+ * Renders {@link Patch} straight to {@link Appendable} hunk by hunk, deltas closer than twice the context size
+ * are joined into a single hunk. Produces the same text as {@code DiffUtils.generateUnifiedDiff},
+ * every line is terminated by the line separator.
+ */
+public class UnifiedDiffWriter {
+
+    /**
+     * Default line separator
+     */
+    private static final String DEFAULT_LINE_SEPARATOR = "\n";
+
+    /**
+     * Default output {@link Appendable}
+     */
+    private final Appendable output;
+    /**
+     * Default line separator
+     */
+    private final String lineSeparator;
+
+    public UnifiedDiffWriter(final Appendable output) {
+        this(output, DEFAULT_LINE_SEPARATOR);
+    }
+
+    public UnifiedDiffWriter(final Appendable output, final String lineSeparator) {
+        ValidationUtils.notNull(output, "Output should not be null");
+        ValidationUtils.notNull(lineSeparator, "Line separator should not be null");
+        this.output = output;
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Writes unified diff of the patch, nothing is written for an empty patch
+     *
+     * @param original      - initial input original file name
+     * @param revised       - initial input revised file name
+     * @param originalLines - initial input original file lines
+     * @param patch         - initial input {@link Patch}
+     * @param contextSize   - initial input number of context lines around each difference
+     * @throws IOException if the output can not be written
+     */
+    public void write(final String original, final String revised, final List<String> originalLines, final Patch<String> patch, int contextSize) throws IOException {
+        ValidationUtils.notNull(originalLines, "Original lines should not be null");
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        final Iterator<Delta<String>> iterator = patch.getDeltas().iterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        this.line("--- ", original);
+        this.line("+++ ", revised);
+
+        final List<Delta<String>> hunk = new ArrayList<>();
+        Delta<String> delta = iterator.next();
+        hunk.add(delta);
+        while (iterator.hasNext()) {
+            final Delta<String> next = iterator.next();
+            if (delta.getOriginal().getPosition() + delta.getOriginal().size() + contextSize < next.getOriginal().getPosition() - contextSize) {
+                this.writeHunk(originalLines, hunk, contextSize);
+                hunk.clear();
+            }
+            hunk.add(next);
+            delta = next;
+        }
+        this.writeHunk(originalLines, hunk, contextSize);
+    }
+
+    private void writeHunk(final List<String> originalLines, final List<Delta<String>> deltas, int contextSize) throws IOException {
+        final Delta<String> first = deltas.get(0);
+        final Delta<String> last = deltas.get(deltas.size() - 1);
+        final int contextStart = Math.max(0, first.getOriginal().getPosition() - contextSize);
+        final int contextEnd = last.getOriginal().getPosition() + last.getOriginal().size();
+        final int trailing = Math.max(0, Math.min(contextSize, originalLines.size() - contextEnd));
+
+        int common = first.getOriginal().getPosition() - contextStart + trailing;
+        int originalTotal = 0;
+        int revisedTotal = 0;
+        int position = first.getOriginal().getPosition();
+        for (final Delta<String> delta : deltas) {
+            common += Math.max(0, delta.getOriginal().getPosition() - position);
+            originalTotal += delta.getOriginal().size();
+            revisedTotal += delta.getRevised().size();
+            position = delta.getOriginal().getPosition() + delta.getOriginal().size();
+        }
+        this.output.append("@@ -").append(String.valueOf(Math.max(1, first.getOriginal().getPosition() + 1 - contextSize)))
+            .append(',').append(String.valueOf(common + originalTotal))
+            .append(" +").append(String.valueOf(Math.max(1, first.getRevised().getPosition() + 1 - contextSize)))
+            .append(',').append(String.valueOf(common + revisedTotal))
+            .append(" @@").append(this.lineSeparator);
+
+        position = contextStart;
+        for (final Delta<String> delta : deltas) {
+            for (; position < delta.getOriginal().getPosition(); position++) {
+                this.line(" ", originalLines.get(position));
+            }
+            for (final String line : delta.getOriginal().getLines()) {
+                this.line("-", line);
+            }
+            for (final String line : delta.getRevised().getLines()) {
+                this.line("+", line);
+            }
+            position = delta.getOriginal().getPosition() + delta.getOriginal().size();
+        }
+        for (int line = contextEnd; line < contextEnd + trailing; line++) {
+            this.line(" ", originalLines.get(line));
+        }
+    }
+
+    private void line(final String tag, final String line) throws IOException {
+        this.output.append(tag).append(line).append(this.lineSeparator);
+    }
+}
@@ -30,19 +30,29 @@ import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
 import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.ChangeDelta;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffStatistics;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.InternedSequences;
 import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
-import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.IndexedDiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.BinaryDiff;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.LinearDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ParallelDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ReducingDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.UnifiedDiffParser;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.UnifiedDiffWriter;
 import lombok.experimental.UtilityClass;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.Reader;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,6 +70,9 @@ public class DiffUtils {
     /**
      * Computes the difference between the original and revised list of elements
      * with default diff algorithm
+     * <p>
+     * Elements are interned, the common head and tail and elements present on one side only
+     * are eliminated before the linear-space Myers algorithm runs on the remaining core.
      *
      * @param <T>      the type of elements.
      * @param original The original text. Must not be {@code null}.
@@ -68,7 +81,29 @@ public class DiffUtils {
      * revised sequences. Never {@code null}.
      */
     public static <T> Patch<T> diff(final List<T> original, final List<T> revised) {
-        return diff(original, revised, new DiffAlgorithmService<>());
+        return diff(original, revised, new DiffStatistics());
+    }
+
+    /**
+     * Computes the difference between the original and revised list of elements
+     * with default diff algorithm and reports eliminated input in {@link DiffStatistics}
+     *
+     * @param <T>        the type of elements.
+     * @param original   The original text. Must not be {@code null}.
+     * @param revised    The revised text. Must not be {@code null}.
+     * @param statistics The diff statistics to be updated. Must not be {@code null}.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if statistics is {@code null}
+     */
+    public static <T> Patch<T> diff(final List<T> original, final List<T> revised, final DiffStatistics statistics) {
+        ValidationUtils.notNull(original, "Original list should not be null");
+        ValidationUtils.notNull(revised, "Revised list should not be null");
+        ValidationUtils.notNull(statistics, "Statistics should not be null");
+
+        return reducedDiff(InternedSequences.of(original, revised), new LinearDiffAlgorithmService<>(), statistics);
     }
 
     /**
@@ -93,6 +128,127 @@ public class DiffUtils {
         return algorithm.diff(original, revised);
     }
 
+    /**
+     * Computes the difference between the original and revised list of elements
+     * with optional interning pre-pass
+     * <p>
+     * If {@code interned} is set and the algorithm is an {@link IndexedDiffAlgorithm} matching elements by equality,
+     * elements of both lists are mapped to dense {@code int} identifiers first and the algorithm compares identifiers only,
+     * otherwise the algorithm is applied to the elements directly, so custom element matchers are always honored.
+     * No reduction stage is applied.
+     *
+     * @param <T>       the type of elements.
+     * @param original  The original text. Must not be {@code null}.
+     * @param revised   The revised text. Must not be {@code null}.
+     * @param algorithm The diff algorithm. Must not be {@code null}.
+     * @param interned  The interning pre-pass flag.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if algorithm is {@code null}
+     */
+    public static <T> Patch<T> diff(final List<T> original, final List<T> revised, final DiffAlgorithm<T> algorithm, boolean interned) {
+        ValidationUtils.notNull(original, "Original list should not be null");
+        ValidationUtils.notNull(revised, "Revised list should not be null");
+        ValidationUtils.notNull(algorithm, "Difference algorithm should not be null");
+
+        if (interned && algorithm instanceof IndexedDiffAlgorithm && ((IndexedDiffAlgorithm) algorithm).isEqualityBased()) {
+            return diff(InternedSequences.of(original, revised), (IndexedDiffAlgorithm) algorithm);
+        }
+        return algorithm.diff(original, revised);
+    }
+
+    /**
+     * Computes the difference between the interned original and revised sequences
+     * with the given indexed diff algorithm as is
+     *
+     * @param <T>       the type of elements.
+     * @param sequences The interned sequences. Must not be {@code null}.
+     * @param algorithm The indexed diff algorithm. Must not be {@code null}.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @throws IllegalArgumentException if sequences is {@code null}
+     * @throws IllegalArgumentException if algorithm is {@code null}
+     */
+    public static <T> DefaultPatch<T> diff(final InternedSequences<T> sequences, final IndexedDiffAlgorithm algorithm) {
+        ValidationUtils.notNull(sequences, "Interned sequences should not be null");
+        ValidationUtils.notNull(algorithm, "Difference algorithm should not be null");
+
+        final EditScript script = sequences.newScript();
+        algorithm.diff(sequences.getOriginalIds(), sequences.getRevisedIds(), script);
+        return sequences.toPatch(script);
+    }
+
+    /**
+     * Computes the difference between the interned original and revised sequences
+     * with the given indexed diff algorithm preceded by {@link ReducingDiffAlgorithmService} stage
+     * <p>
+     * The reduction keeps the patch minimal in edit cost but may place deltas differently
+     * from the algorithm applied to the whole input.
+     *
+     * @param <T>        the type of elements.
+     * @param sequences  The interned sequences. Must not be {@code null}.
+     * @param algorithm  The indexed diff algorithm. Must not be {@code null}.
+     * @param statistics The diff statistics to be updated (optional).
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @throws IllegalArgumentException if sequences is {@code null}
+     * @throws IllegalArgumentException if algorithm is {@code null}
+     */
+    public static <T> DefaultPatch<T> reducedDiff(final InternedSequences<T> sequences, final IndexedDiffAlgorithm algorithm, final DiffStatistics statistics) {
+        ValidationUtils.notNull(sequences, "Interned sequences should not be null");
+        ValidationUtils.notNull(algorithm, "Difference algorithm should not be null");
+
+        final ReducingDiffAlgorithmService reducing = algorithm instanceof ReducingDiffAlgorithmService
+            ? (ReducingDiffAlgorithmService) algorithm
+            : new ReducingDiffAlgorithmService(algorithm);
+        final int[] original = sequences.getOriginalIds();
+        final int[] revised = sequences.getRevisedIds();
+        final EditScript script = sequences.newScript();
+        reducing.diff(original, revised, 0, original.length, 0, revised.length, script, statistics);
+        return sequences.toPatch(script);
+    }
+
+    /**
+     * Computes the difference between the original and revised list of elements
+     * by splitting them at unique matching elements into independent regions diffed in parallel,
+     * preceded by {@link ReducingDiffAlgorithmService} stage as {@link #diff(List, List)}
+     *
+     * @param <T>           the type of elements.
+     * @param original      The original text. Must not be {@code null}.
+     * @param revised       The revised text. Must not be {@code null}.
+     * @param pool          The fork join pool to run region tasks on. Must not be {@code null}.
+     * @param minRegionSize The minimum number of elements in the region to be diffed as a single task.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     * @throws IllegalArgumentException if original is {@code null}
+     * @throws IllegalArgumentException if revised is {@code null}
+     * @throws IllegalArgumentException if pool is {@code null}
+     * @throws IllegalArgumentException if minimum region size is not positive
+     */
+    public static <T> Patch<T> parallelDiff(final List<T> original, final List<T> revised, final ForkJoinPool pool, int minRegionSize) {
+        ValidationUtils.notNull(original, "Original list should not be null");
+        ValidationUtils.notNull(revised, "Revised list should not be null");
+        ValidationUtils.notNull(pool, "Fork join pool should not be null");
+
+        return reducedDiff(InternedSequences.of(original, revised), new ParallelDiffAlgorithmService(pool, new LinearDiffAlgorithmService<>(), minRegionSize), null);
+    }
+
+    /**
+     * Computes the difference between the original and revised list of elements
+     * in parallel on the common fork join pool with default minimum region size
+     *
+     * @param <T>      the type of elements.
+     * @param original The original text. Must not be {@code null}.
+     * @param revised  The revised text. Must not be {@code null}.
+     * @return The patch describing the difference between the original and
+     * revised sequences. Never {@code null}.
+     */
+    public static <T> Patch<T> parallelDiff(final List<T> original, final List<T> revised) {
+        return parallelDiff(original, revised, ForkJoinPool.commonPool(), ParallelDiffAlgorithmService.DEFAULT_MIN_REGION_SIZE);
+    }
+
     /**
      * DefaultPatch the original text with given patch
      *
@@ -190,6 +346,37 @@ public class DiffUtils {
         return patch;
     }
 
+    /**
+     * Parses unified diff text from the reader and passes every hunk {@link Delta} to the consumer
+     * as soon as it is read, see {@link UnifiedDiffParser}
+     *
+     * @param reader   the unified diff text reader, closed on return
+     * @param consumer the hunk delta consumer
+     * @throws IOException if the reader can not be read
+     */
+    public static void parseUnifiedDiff(final Reader reader, final Consumer<? super Delta<String>> consumer) throws IOException {
+        try (final UnifiedDiffParser parser = new UnifiedDiffParser(reader)) {
+            parser.parse(consumer);
+        }
+    }
+
+    /**
+     * Writes the Unified Diff format text representing the patch straight to the output,
+     * see {@link UnifiedDiffWriter}
+     *
+     * @param output        the output to write to
+     * @param original      Filename of the original (unrevised file)
+     * @param revised       Filename of the revised file
+     * @param originalLines Lines of the original file
+     * @param patch         Patch created by the diff() function
+     * @param contextSize   number of lines of context output around each difference
+     *                      in the file.
+     * @throws IOException if the output can not be written
+     */
+    public static void writeUnifiedDiff(final Appendable output, final String original, final String revised, final List<String> originalLines, final Patch<String> patch, int contextSize) throws IOException {
+        new UnifiedDiffWriter(output).write(original, revised, originalLines, patch, contextSize);
+    }
+
     /**
      * generateUnifiedDiff takes a DefaultPatch and some other arguments, returning the
      * Unified Diff format text representing the DefaultPatch.
@@ -328,20 +515,10 @@ public class DiffUtils {
     }
 
     public static BinaryDiffResult diff(final Path actual, final byte[] expected) throws IOException {
-        final InputStream expectedStream = new ByteArrayInputStream(expected);
-        try (final InputStream actualStream = Files.newInputStream(actual)) {
-            return diff(actualStream, expectedStream);
-        }
+        return new BinaryDiff().diff(actual, expected);
     }
 
     public static BinaryDiffResult diff(final InputStream actualStream, final InputStream expectedStream) throws IOException {
-        int index = 0;
-        while (true) {
-            int actual = actualStream.read();
-            int expected = expectedStream.read();
-            if (actual == -1 && expected == -1) return BinaryDiffResult.noDiff();
-            if (actual != expected) return new BinaryDiffResult(index, expected, actual);
-            index += 1;
-        }
+        return new BinaryDiff().diff(actualStream, expectedStream);
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Chunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultChunk;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditScript;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Patch algebra utilities implementation
+ * <p>
+ * Inverts, composes and squashes {@link Patch}es using delta contents only, so intermediate versions
+ * are never materialized and the cost is proportional to the changed regions.
+ * Deltas are expected to be ordered by original position and not to overlap.
+ */
+@UtilityClass
+public class PatchAlgebraUtils {
+
+    /**
+     * Returns inverted {@link Patch} transforming the revised sequence back into the original one
+     *
+     * @param <T>   type of patch element
+     * @param patch - initial input {@link Patch} to invert
+     * @return inverted {@link DefaultPatch}
+     * @throws IllegalArgumentException if patch is {@code null}
+     */
+    public static <T> DefaultPatch<T> invert(final Patch<T> patch) {
+        ValidationUtils.notNull(patch, "Patch should not be null");
+
+        final List<Delta<T>> deltas = patch.getDeltas();
+        final DefaultPatch<T> result = new DefaultPatch<>(null, deltas.size());
+        for (final Delta<T> delta : deltas) {
+            result.addDelta(EditScript.createDelta(delta.getRevised(), delta.getOriginal()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@link Patch} equivalent to applying the first patch and then the second one
+     * <p>
+     * Deltas of both patches are grouped into clusters of overlapping or adjacent ranges of the intermediate
+     * sequence, every cluster becomes a single delta with common head and tail elements trimmed.
+     *
+     * @param <T>    type of patch element
+     * @param first  - initial input {@link Patch} transforming {@code v1} into {@code v2}
+     * @param second - initial input {@link Patch} transforming {@code v2} into {@code v3}
+     * @return {@link DefaultPatch} transforming {@code v1} into {@code v3}
+     * @throws IllegalArgumentException if first or second patch is {@code null}
+     * @throws IllegalStateException    if the patches disagree on the intermediate sequence
+     */
+    public static <T> DefaultPatch<T> compose(final Patch<T> first, final Patch<T> second) {
+        ValidationUtils.notNull(first, "First patch should not be null");
+        ValidationUtils.notNull(second, "Second patch should not be null");
+
+        final List<Delta<T>> left = first.getDeltas();
+        final List<Delta<T>> right = second.getDeltas();
+        final DefaultPatch<T> result = new DefaultPatch<>(null, left.size() + right.size());
+
+        int i = 0;
+        int j = 0;
+        int leftOffset = 0;
+        int rightOffset = 0;
+        while (i < left.size() || j < right.size()) {
+            final int leftStart = i;
+            final int rightStart = j;
+            int low = Integer.MAX_VALUE;
+            int high = Integer.MIN_VALUE;
+            while (true) {
+                final boolean takeLeft = i < left.size()
+                    && (j >= right.size() || left.get(i).getRevised().getPosition() <= right.get(j).getOriginal().getPosition());
+                final Chunk<T> chunk = takeLeft ? left.get(i).getRevised() : (j < right.size() ? right.get(j).getOriginal() : null);
+                if (Objects.isNull(chunk) || (high != Integer.MIN_VALUE && chunk.getPosition() > high)) {
+                    break;
+                }
+                low = Math.min(low, chunk.getPosition());
+                high = Math.max(high, chunk.getPosition() + chunk.size());
+                if (takeLeft) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+
+            final List<Delta<T>> leftCluster = left.subList(leftStart, i);
+            final List<Delta<T>> rightCluster = right.subList(rightStart, j);
+            final List<T> middle = middleOf(low, high, leftCluster, rightCluster);
+            final List<T> originalLines = sideOf(low, middle, leftCluster, true);
+            final List<T> revisedLines = sideOf(low, middle, rightCluster, false);
+
+            addTrimmed(result, low - leftOffset, originalLines, low + rightOffset, revisedLines);
+            for (final Delta<T> delta : leftCluster) {
+                leftOffset += delta.getRevised().size() - delta.getOriginal().size();
+            }
+            for (final Delta<T> delta : rightCluster) {
+                rightOffset += delta.getRevised().size() - delta.getOriginal().size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns single {@link Patch} equivalent to applying the chain of patches in order
+     * <p>
+     * Patches are composed pairwise in a balanced way, so every delta takes part in a logarithmic number of compositions.
+     *
+     * @param <T>     type of patch element
+     * @param patches - initial input chain of {@link Patch}es
+     * @return squashed {@link DefaultPatch}
+     * @throws IllegalArgumentException if patches is {@code null}
+     * @throws IllegalStateException    if consecutive patches disagree on the intermediate sequence
+     */
+    public static <T> DefaultPatch<T> squash(final List<? extends Patch<T>> patches) {
+        ValidationUtils.notNull(patches, "Patches should not be null");
+
+        if (patches.isEmpty()) {
+            return new DefaultPatch<>();
+        }
+        List<Patch<T>> current = new ArrayList<>(patches);
+        while (current.size() > 1) {
+            final List<Patch<T>> next = new ArrayList<>((current.size() + 1) / 2);
+            for (int k = 0; k + 1 < current.size(); k += 2) {
+                next.add(compose(current.get(k), current.get(k + 1)));
+            }
+            if (current.size() % 2 != 0) {
+                next.add(current.get(current.size() - 1));
+            }
+            current = next;
+        }
+        // composing with an empty patch copies a single patch into a new trimmed one
+        return compose(current.get(0), new DefaultPatch<>());
+    }
+
+    /**
+     * Returns intermediate sequence elements of the cluster range, every position is covered
+     * by a revised chunk of the first patch or an original chunk of the second one
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> middleOf(int low, int high, final List<Delta<T>> left, final List<Delta<T>> right) {
+        final Object[] middle = new Object[high - low];
+        final boolean[] filled = new boolean[high - low];
+        for (final Delta<T> delta : left) {
+            fill(middle, filled, low, delta.getRevised());
+        }
+        for (final Delta<T> delta : right) {
+            fill(middle, filled, low, delta.getOriginal());
+        }
+        for (final boolean value : filled) {
+            if (!value) {
+                throw new IllegalStateException("Incorrect patch composition: intermediate range is not covered");
+            }
+        }
+        final List<T> result = new ArrayList<>(middle.length);
+        for (final Object value : middle) {
+            result.add((T) value);
+        }
+        return result;
+    }
+
+    private static <T> void fill(final Object[] middle, final boolean[] filled, int low, final Chunk<T> chunk) {
+        int index = chunk.getPosition() - low;
+        for (final T element : chunk.getLines()) {
+            if (filled[index] && !Objects.equals(middle[index], element)) {
+                throw new IllegalStateException("Incorrect patch composition: patches disagree on the intermediate sequence");
+            }
+            middle[index] = element;
+            filled[index++] = true;
+        }
+    }
+
+    /**
+     * Returns outer sequence elements of the cluster, replacing ranges of the intermediate sequence
+     * covered by the cluster deltas with their outer chunks
+     */
+    private static <T> List<T> sideOf(int low, final List<T> middle, final List<Delta<T>> cluster, boolean revisedIsMiddle) {
+        final List<T> result = new ArrayList<>(middle.size());
+        int cursor = 0;
+        for (final Delta<T> delta : cluster) {
+            final Chunk<T> inner = revisedIsMiddle ? delta.getRevised() : delta.getOriginal();
+            final Chunk<T> outer = revisedIsMiddle ? delta.getOriginal() : delta.getRevised();
+            final int position = inner.getPosition() - low;
+            result.addAll(middle.subList(cursor, position));
+            result.addAll(outer.getLines());
+            cursor = position + inner.size();
+        }
+        result.addAll(middle.subList(cursor, middle.size()));
+        return result;
+    }
+
+    private static <T> void addTrimmed(final DefaultPatch<T> patch, int originalPosition, final List<T> original, int revisedPosition, final List<T> revised) {
+        int head = 0;
+        final int max = Math.min(original.size(), revised.size());
+        while (head < max && Objects.equals(original.get(head), revised.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < max - head && Objects.equals(original.get(original.size() - 1 - tail), revised.get(revised.size() - 1 - tail))) {
+            tail++;
+        }
+        if (head + tail == original.size() && head + tail == revised.size()) {
+            return;
+        }
+        patch.addDelta(EditScript.createDelta(
+            new DefaultChunk<>(originalPosition + head, new ArrayList<>(original.subList(head, original.size() - tail))),
+            new DefaultChunk<>(revisedPosition + head, new ArrayList<>(revised.subList(head, revised.size() - tail))))
+        );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integer utilities implementation
+ * <p>
+ * Writes and reads unsigned {@code int}s as 7 bits per byte groups (least significant group first)
+ * and maps signed values to unsigned ones by zigzag encoding.
+ */
+@UtilityClass
+public class VarIntUtils {
+
+    /**
+     * Writes unsigned variable-length {@code int} to the {@link DataOutput}
+     *
+     * @param output - initial input {@link DataOutput}
+     * @param value  - initial input non-negative value
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeVarInt(final DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Returns unsigned variable-length {@code int} read from the {@link ByteBuffer}
+     *
+     * @param input - initial input {@link ByteBuffer}
+     * @return decoded value
+     * @throws IllegalStateException    if the varint is longer than five bytes
+     * @throws BufferUnderflowException if the varint is truncated
+     */
+    public static int readVarInt(final ByteBuffer input) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte current = input.get();
+            result |= (current & 0x7F) << shift;
+            if (current >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Returns size read as unsigned variable-length {@code int} from the {@link ByteBuffer}
+     * checked against the remaining input, each counted item taking at least given number of bytes
+     *
+     * @param input       - initial input {@link ByteBuffer}
+     * @param minItemSize - initial input minimum encoded item size in bytes
+     * @return decoded size
+     * @throws IllegalStateException if the size is negative or exceeds the remaining input
+     */
+    public static int readSize(final ByteBuffer input, int minItemSize) {
+        final int result = readVarInt(input);
+        if (result < 0 || (long) result * minItemSize > input.remaining()) {
+            throw new IllegalStateException("Size exceeds remaining input: " + result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns zigzag encoded value
+     *
+     * @param value - initial input signed value
+     * @return unsigned value
+     */
+    public static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Returns zigzag decoded value
+     *
+     * @param value - initial input unsigned value
+     * @return signed value
+     */
+    public static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -28,6 +28,7 @@ open module com.wildbeeslabs.sensiblemtrics.diffy.core {
     requires commons.validator;
     requires com.wildbeeslabs.sensiblemtrics.diffy.common;
     requires com.wildbeeslabs.sensiblemtrics.diffy.matcher;
+    requires com.wildbeeslabs.sensiblemtrics.diffy.metrics;
 
     // exports core configuration
     exports com.wildbeeslabs.sensiblemetrics.diffy.core.configuration.enumeration;
@@ -0,0 +1,147 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.DiffAlgorithm;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.AbstractAnchorDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.HistogramDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.PatienceDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link AbstractAnchorDiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class AnchorDiffAlgorithmServiceTest {
+
+    /**
+     * Default source lines with repeated braces and blank lines
+     */
+    private static final List<String> DEFAULT_ORIGINAL = Arrays.asList(
+        "void a() {", "    first();", "}", "", "void b() {", "    second();", "}", "", "void c() {", "    third();", "}"
+    );
+    private static final List<String> DEFAULT_REVISED = Arrays.asList(
+        "void a() {", "    first();", "}", "", "void c() {", "    third();", "}", "", "void d() {", "    fourth();", "}"
+    );
+
+    @Test
+    @DisplayName("Test patience diff algorithm by source lines with repeated braces")
+    public void test_patienceDiff_whenPassedSourceLines() {
+        // given
+        final DiffAlgorithm<String> algorithm = new PatienceDiffAlgorithmService<>(0);
+
+        // when
+        final Patch<String> patch = DiffUtils.diff(DEFAULT_ORIGINAL, DEFAULT_REVISED, algorithm);
+
+        // then
+        assertThat(patch.getDeltas(), hasSize(2));
+        assertThat(patch.getDeltas().get(0).getType(), equalTo(Delta.TYPE.DELETE));
+        assertThat(patch.getDeltas().get(1).getType(), equalTo(Delta.TYPE.INSERT));
+        assertEquals(DEFAULT_REVISED, patch.applyTo(DEFAULT_ORIGINAL));
+    }
+
+    @Test
+    @DisplayName("Test histogram diff algorithm by source lines with repeated braces")
+    public void test_histogramDiff_whenPassedSourceLines() {
+        // given
+        final DiffAlgorithm<String> algorithm = new HistogramDiffAlgorithmService<>(0, HistogramDiffAlgorithmService.DEFAULT_MAX_CHAIN_LENGTH);
+
+        // when
+        final Patch<String> patch = DiffUtils.diff(DEFAULT_ORIGINAL, DEFAULT_REVISED, algorithm);
+
+        // then
+        assertThat(patch.getDeltas(), hasSize(2));
+        assertThat(patch.getDeltas().get(0).getOriginal().getLines(), equalTo(Arrays.asList("void b() {", "    second();", "}", "")));
+        assertEquals(DEFAULT_REVISED, patch.applyTo(DEFAULT_ORIGINAL));
+    }
+
+    @Test
+    @DisplayName("Test anchor diff algorithms by random sequences")
+    public void test_anchorDiff_whenPassedRandomSequences() {
+        // given
+        final Random random = new Random(42L);
+        final List<DiffAlgorithm<Integer>> algorithms = Arrays.asList(new PatienceDiffAlgorithmService<>(), new HistogramDiffAlgorithmService<>());
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final List<Integer> original = new ArrayList<>();
+            final List<Integer> revised = new ArrayList<>();
+            for (int i = random.nextInt(100); i > 0; i--) {
+                original.add(random.nextInt(20));
+            }
+            for (int i = random.nextInt(100); i > 0; i--) {
+                revised.add(random.nextInt(20));
+            }
+
+            // then
+            for (final DiffAlgorithm<Integer> algorithm : algorithms) {
+                assertEquals(revised, algorithm.diff(original, revised).applyTo(original));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel diff by large sequences split at unique elements")
+    public void test_parallelDiff_whenPassedLargeSequences() {
+        // given
+        final Random random = new Random(42L);
+        final List<String> original = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            original.add((i % 7 == 0) ? "}" : "line " + i);
+        }
+        final List<String> revised = new ArrayList<>(original);
+        for (int i = 0; i < 1000; i++) {
+            revised.set(random.nextInt(revised.size()), "changed " + i);
+        }
+
+        // when
+        final Patch<String> patch = DiffUtils.parallelDiff(original, revised, ForkJoinPool.commonPool(), 1000);
+
+        // then
+        assertEquals(revised, patch.applyTo(original));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Test parallel diff by null fork join pool")
+    public void test_parallelDiff_whenPassedNullPool() {
+        // when
+        DiffUtils.parallelDiff(Arrays.asList("a"), Arrays.asList("b"), null, 1000);
+    }
+}
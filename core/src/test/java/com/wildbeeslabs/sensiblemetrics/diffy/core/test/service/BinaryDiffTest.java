@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffRange;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MultiBinaryDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.BinaryDiff;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link BinaryDiff} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class BinaryDiffTest {
+
+    @Test
+    @DisplayName("Test binary diff by positional ranges and the first mismatch")
+    public void test_diffRanges_whenPassedChangedBytes() throws IOException {
+        // given
+        final byte[] expected = {1, 2, 3, 4, 5, 6, 7, 8};
+        final byte[] actual = {1, 9, 9, 4, 5, 6, 0, 8, 10};
+
+        // when
+        final MultiBinaryDiffResult result = new BinaryDiff().diffRanges(ByteBuffer.wrap(actual), ByteBuffer.wrap(expected), false);
+        final BinaryDiffResult first = new BinaryDiff().diff(new ByteArrayInputStream(actual), new ByteArrayInputStream(expected));
+
+        // then
+        assertThat(result.ranges, equalTo(Arrays.asList(
+            new BinaryDiffRange(1, 2, 1, 2),
+            new BinaryDiffRange(6, 1, 6, 1),
+            new BinaryDiffRange(8, 0, 8, 1)
+        )));
+        assertThat(result.ranges.get(2).getType(), equalTo(Delta.TYPE.INSERT));
+        assertThat(result.offset, equalTo(first.offset));
+        assertThat(result.expected, equalTo("0x2"));
+        assertThat(result.actual, equalTo("0x9"));
+    }
+
+    @Test
+    @DisplayName("Test binary diff by rolling checksum shift detection")
+    public void test_diffRanges_whenPassedShiftedBytes() {
+        // given
+        final byte[] expected = new byte[100000];
+        new Random(42L).nextBytes(expected);
+        final byte[] actual = new byte[expected.length - 3];
+        System.arraycopy(expected, 0, actual, 0, 5000);
+        System.arraycopy(expected, 5003, actual, 5000, expected.length - 5003);
+
+        // when
+        final MultiBinaryDiffResult positional = new BinaryDiff().diffRanges(ByteBuffer.wrap(actual), ByteBuffer.wrap(expected), false);
+        final MultiBinaryDiffResult shifted = new BinaryDiff().diffRanges(ByteBuffer.wrap(actual), ByteBuffer.wrap(expected), true);
+
+        // then
+        assertThat(positional.getExpectedLength(), greaterThan(90000L));
+        assertThat(shifted.ranges, equalTo(Arrays.asList(new BinaryDiffRange(5000, 3, 5000, 0))));
+        assertThat(shifted.ranges.get(0).getType(), equalTo(Delta.TYPE.DELETE));
+    }
+
+    @Test
+    @DisplayName("Test binary diff by rolling checksum shift detection in zero-filled content")
+    public void test_diffRanges_whenPassedShiftedZeroFilledBytes() {
+        // given
+        final byte[] expected = new byte[1 << 20];
+        final byte[] actual = new byte[expected.length + 3];
+        actual[600000] = 1;
+        actual[600001] = 2;
+        actual[600002] = 3;
+
+        // when
+        final MultiBinaryDiffResult shifted = new BinaryDiff().diffRanges(ByteBuffer.wrap(actual), ByteBuffer.wrap(expected), true);
+
+        // then
+        assertThat(shifted.ranges, equalTo(Arrays.asList(new BinaryDiffRange(600000, 0, 600000, 3))));
+        assertThat(shifted.ranges.get(0).getType(), equalTo(Delta.TYPE.INSERT));
+    }
+}
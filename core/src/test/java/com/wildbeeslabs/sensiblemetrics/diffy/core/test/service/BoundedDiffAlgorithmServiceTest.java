@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.BoundedDiffResult;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.CancellationToken;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffLimits;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Bounded {@link DiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class BoundedDiffAlgorithmServiceTest {
+
+    @Test
+    @DisplayName("Test bounded diff algorithm by edit cost within the limit")
+    public void test_diffBounded_whenCostWithinLimit() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d");
+        final List<String> revised = Arrays.asList("a", "x", "c", "d");
+
+        // when
+        final BoundedDiffResult<String> result = new DiffAlgorithmService<String>(DiffLimits.ofCost(2)).diffBounded(original, revised);
+
+        // then
+        assertThat(result.isTooDifferent(), is(false));
+        assertThat(result.getStatus(), equalTo(BoundedDiffResult.StatusType.COMPLETED));
+        assertThat(result.getCost(), equalTo(2));
+        assertEquals(revised, result.getPatch().applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test bounded diff algorithm by edit cost exceeding the limit")
+    public void test_diffBounded_whenCostExceedsLimit() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d", "e", "f");
+        final List<String> revised = Arrays.asList("a", "x", "y", "z", "w", "f");
+
+        // when
+        final BoundedDiffResult<String> result = new DiffAlgorithmService<String>(DiffLimits.ofCost(2)).diffBounded(original, revised);
+
+        // then
+        assertThat(result.isTooDifferent(), is(true));
+        assertThat(result.getStatus(), equalTo(BoundedDiffResult.StatusType.COST_EXCEEDED));
+        assertThat(result.getPatch().getDeltas(), hasSize(1));
+        assertThat(result.getPatch().getDeltas().get(0).getType(), equalTo(Delta.TYPE.CHANGE));
+        assertEquals(revised, result.getPatch().applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test bounded diff algorithm merges the coarse delta with the adjacent exact delta")
+    public void test_diffBounded_whenCoarseDeltaAdjacent() {
+        // given
+        final List<String> original = Arrays.asList("c", "a", "b", "d", "b");
+        final List<String> revised = new ArrayList<>();
+
+        // when
+        final BoundedDiffResult<String> result = new DiffAlgorithmService<String>(DiffLimits.ofCost(2)).diffBounded(original, revised);
+
+        // then
+        assertThat(result.getStatus(), equalTo(BoundedDiffResult.StatusType.COST_EXCEEDED));
+        assertThat(result.getPatch().getDeltas(), hasSize(1));
+        assertThat(result.getPatch().getDeltas().get(0).getOriginal().getLines(), equalTo(original));
+        assertEquals(revised, result.getPatch().applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test bounded diff algorithm by limits equal to unbounded ones")
+    public void test_diff_whenPassedUnboundedLimits() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d", "e", "f");
+        final List<String> revised = Arrays.asList("a", "x", "y", "z", "w", "f");
+        final DiffLimits limits = DiffLimits.of(Integer.MAX_VALUE, null, null);
+
+        // when
+        final List<Delta<String>> deltas = new DiffAlgorithmService<String>(limits).diff(original, revised).getDeltas();
+
+        // then
+        assertThat(limits.isUnbounded(), is(true));
+        assertThat(DiffLimits.ofCost(2).isUnbounded(), is(false));
+        assertThat(deltas, equalTo(new DiffAlgorithmService<String>().diff(original, revised).getDeltas()));
+    }
+
+    @Test
+    @DisplayName("Test bounded diff algorithm by deadline and cancellation")
+    public void test_diffBounded_whenDeadlineExceededOrCancelled() {
+        // given
+        final Random random = new Random(42L);
+        final List<Integer> original = new ArrayList<>();
+        final List<Integer> revised = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            original.add(random.nextInt(1000));
+            revised.add(random.nextInt(1000));
+        }
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        // when
+        final BoundedDiffResult<Integer> timed = new DiffAlgorithmService<Integer>(DiffLimits.ofTimeout(Duration.ofMillis(10))).diffBounded(original, revised);
+        final BoundedDiffResult<Integer> cancelled = new DiffAlgorithmService<Integer>(DiffLimits.of(Integer.MAX_VALUE, null, token)).diffBounded(original, revised);
+
+        // then
+        assertThat(timed.getStatus(), equalTo(BoundedDiffResult.StatusType.DEADLINE_EXCEEDED));
+        assertEquals(revised, timed.getPatch().applyTo(original));
+        assertThat(cancelled.getStatus(), equalTo(BoundedDiffResult.StatusType.CANCELLED));
+        assertEquals(revised, cancelled.getPatch().applyTo(original));
+    }
+}
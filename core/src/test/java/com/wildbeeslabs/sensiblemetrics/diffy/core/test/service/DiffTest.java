@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MappedLines;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.Diff;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link Diff} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class DiffTest {
+
+    @Test
+    @DisplayName("Test memory-mapped file diff by lines with mixed terminators")
+    public void test_diff_whenPassedMappedFiles() throws IOException {
+        // given
+        final String expected = "first\r\nsecond\nthird\rfourth\n\nfifth";
+        final String actual = "first\nchanged\r\nthird\r\rfourth\n\nfifth\n";
+        final Path expectedPath = Files.createTempFile("expected", ".txt");
+        final Path actualPath = Files.createTempFile("actual", ".txt");
+        try {
+            Files.write(expectedPath, expected.getBytes(StandardCharsets.UTF_8));
+            Files.write(actualPath, actual.getBytes(StandardCharsets.UTF_8));
+
+            // when
+            final List<Delta<String>> mapped = new Diff().diffMapped(actualPath, expectedPath, StandardCharsets.UTF_8);
+            final List<Delta<String>> buffered = new Diff().diff(
+                new ByteArrayInputStream(actual.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8))
+            );
+
+            // then
+            assertThat(mapped, hasSize(2));
+            assertThat(mapped.get(0).getOriginal().getLines(), equalTo(Arrays.asList("second")));
+            assertThat(mapped.get(1).getRevised().getLines(), equalTo(Arrays.asList("")));
+            assertThat(mapped.toString(), equalTo(buffered.toString()));
+        } finally {
+            Files.deleteIfExists(expectedPath);
+            Files.deleteIfExists(actualPath);
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    @DisplayName("Test memory-mapped file lines by malformed input")
+    public void test_getLine_whenPassedMalformedInput() throws IOException {
+        // given
+        final Path path = Files.createTempFile("malformed", ".txt");
+        try {
+            Files.write(path, new byte[]{'a', '\n', (byte) 0xC3, '\n'});
+            final MappedLines lines = MappedLines.map(path, StandardCharsets.UTF_8);
+            assertThat(lines.getLine(0), equalTo("a"));
+
+            // when
+            lines.getLine(1);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
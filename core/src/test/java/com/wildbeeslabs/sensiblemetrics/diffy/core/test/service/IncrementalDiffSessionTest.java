@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.IncrementalDiffSession;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link IncrementalDiffSession} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class IncrementalDiffSessionTest {
+
+    @Test
+    @DisplayName("Test incremental diff session by edits of the revised sequence")
+    public void test_session_whenPassedRevisedEdits() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+        final IncrementalDiffSession<String> session = new IncrementalDiffSession<>(original, original, 1);
+
+        // when
+        session.replace(IncrementalDiffSession.SideType.REVISED, 1, 2, Collections.singletonList("x"));
+        session.insert(IncrementalDiffSession.SideType.REVISED, 6, Arrays.asList("y", "z"));
+        session.delete(IncrementalDiffSession.SideType.REVISED, 1, 2);
+
+        // then
+        final Patch<String> patch = session.getPatch();
+        assertThat(session.getSequence(IncrementalDiffSession.SideType.REVISED), equalTo(Arrays.asList("a", "c", "d", "e", "f", "y", "z", "g", "h")));
+        assertThat(patch.getDeltas(), hasSize(2));
+        assertThat(patch.getDeltas().get(0).getType(), equalTo(Delta.TYPE.DELETE));
+        assertThat(patch.getDeltas().get(1).getType(), equalTo(Delta.TYPE.INSERT));
+        assertEquals(session.getSequence(IncrementalDiffSession.SideType.REVISED), patch.applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test incremental diff session by random edits of both sequences")
+    public void test_session_whenPassedRandomEdits() {
+        // given
+        final Random random = new Random(42L);
+        final List<Integer> original = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            original.add(random.nextInt(10));
+        }
+        final List<Integer> revised = new ArrayList<>(original);
+        final IncrementalDiffSession<Integer> session = new IncrementalDiffSession<>(original, revised);
+
+        for (int iteration = 0; iteration < 200; iteration++) {
+            final IncrementalDiffSession.SideType side = random.nextBoolean() ? IncrementalDiffSession.SideType.ORIGINAL : IncrementalDiffSession.SideType.REVISED;
+            final List<Integer> sequence = (IncrementalDiffSession.SideType.ORIGINAL == side) ? original : revised;
+            final int from = random.nextInt(sequence.size() + 1);
+            final int to = Math.min(sequence.size(), from + random.nextInt(3));
+            final List<Integer> elements = Arrays.asList(random.nextInt(10), random.nextInt(10));
+
+            // when
+            sequence.subList(from, to).clear();
+            sequence.addAll(from, elements);
+            session.replace(side, from, to, elements);
+
+            // then
+            assertEquals(revised, session.getPatch().applyTo(original));
+        }
+    }
+
+    @Test
+    @DisplayName("Test incremental diff session by edits far apart and fresh elements")
+    public void test_session_whenPassedDistantEdits() {
+        // given
+        final List<Integer> original = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            original.add(i % 50);
+        }
+        final List<Integer> revised = new ArrayList<>(original);
+        final IncrementalDiffSession<Integer> session = new IncrementalDiffSession<>(original, revised, 2);
+
+        for (int iteration = 0; iteration < 100; iteration++) {
+            final int from = (iteration % 2 == 0) ? iteration : revised.size() - iteration - 1;
+            final List<Integer> elements = Collections.singletonList(1000 + iteration);
+
+            // when
+            revised.set(from, elements.get(0));
+            session.replace(IncrementalDiffSession.SideType.REVISED, from, from + 1, elements);
+        }
+        session.delete(IncrementalDiffSession.SideType.REVISED, 0, 500);
+        revised.subList(0, 500).clear();
+
+        // then
+        assertThat(session.getSequence(IncrementalDiffSession.SideType.REVISED), equalTo(revised));
+        assertEquals(revised, session.getPatch().applyTo(original));
+        assertThat(session.getPatch(), sameInstance(session.getPatch()));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.delta.RefinedChangeDelta;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.EditSpan;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.IntraLineRefiner;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.helpers.WordTokenizer;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link IntraLineRefiner} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class IntraLineRefinerTest {
+
+    @Test
+    @DisplayName("Test intra-line refinement by word edit spans")
+    public void test_refine_whenPassedChangedLines() {
+        // given
+        final List<String> original = Arrays.asList("a", "int foo = bar(1);", "c");
+        final List<String> revised = Arrays.asList("a", "int foo = baz(1, 2);", "c");
+        final Patch<String> patch = DiffUtils.diff(original, revised);
+
+        // when
+        final Patch<String> refined = new IntraLineRefiner().refine(patch);
+
+        // then
+        assertThat(refined.getDeltas(), hasSize(1));
+        assertThat(refined.getDeltas().get(0), instanceOf(RefinedChangeDelta.class));
+        final List<EditSpan> spans = ((RefinedChangeDelta) refined.getDeltas().get(0)).getSpans();
+        assertThat(spans, equalTo(Arrays.asList(
+            new EditSpan(Delta.TYPE.CHANGE, 0, 10, 13, 10, 13),
+            new EditSpan(Delta.TYPE.INSERT, 0, 15, 15, 15, 18))));
+        assertEquals(revised, refined.applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test intra-line refinement skipped by line length and edit budget")
+    public void test_refine_whenPassedLimits() {
+        // given
+        final IntraLineRefiner refiner = new IntraLineRefiner(new WordTokenizer(), 10, 2, ForkJoinPool.commonPool());
+
+        // then
+        assertThat(refiner.refine("a very long line", "a very long lane", 0), equalTo(Arrays.asList(new EditSpan(Delta.TYPE.CHANGE, 0, 0, 16, 0, 16))));
+        assertThat(refiner.refine("a b c", "x b y", 2), equalTo(Arrays.asList(new EditSpan(Delta.TYPE.CHANGE, 2, 0, 5, 0, 5))));
+        assertThat(refiner.refine("a b c", "a b y", 1), equalTo(Arrays.asList(new EditSpan(Delta.TYPE.CHANGE, 1, 4, 5, 4, 5))));
+    }
+
+    @Test
+    @DisplayName("Test intra-line refinement by uneven change delta")
+    public void test_refine_whenPassedUnevenDelta() {
+        // given
+        final List<String> original = Arrays.asList("a", "int foo = bar(1);", "return foo;", "c");
+        final List<String> revised = Arrays.asList("a", "int foo = baz(1);", "c");
+        final Patch<String> patch = DiffUtils.diff(original, revised);
+
+        // when
+        final Patch<String> refined = new IntraLineRefiner().refine(patch);
+
+        // then
+        assertThat(refined.getDeltas(), hasSize(1));
+        final List<EditSpan> spans = ((RefinedChangeDelta) refined.getDeltas().get(0)).getSpans();
+        assertThat(spans, equalTo(Arrays.asList(
+            new EditSpan(Delta.TYPE.CHANGE, 0, 10, 13, 10, 13),
+            new EditSpan(Delta.TYPE.DELETE, 1, 0, 11, 0, 0))));
+        assertEquals(revised, refined.applyTo(original));
+    }
+}
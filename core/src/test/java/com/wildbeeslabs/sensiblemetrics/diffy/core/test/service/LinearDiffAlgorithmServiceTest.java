@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.DiffStatistics;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.DiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.LinearDiffAlgorithmService;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link LinearDiffAlgorithmService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class LinearDiffAlgorithmServiceTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test linear diff algorithm by insert, delete and change deltas")
+    public void test_diff_whenPassedChangedLists() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d", "e", "f");
+        final List<String> revised = Arrays.asList("a", "x", "c", "e", "f", "g");
+
+        // when
+        final Patch<String> patch = DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>());
+
+        // then
+        assertThat(patch.getDeltas(), hasSize(3));
+        assertThat(patch.getDeltas().get(0).getType(), equalTo(Delta.TYPE.CHANGE));
+        assertThat(patch.getDeltas().get(1).getType(), equalTo(Delta.TYPE.DELETE));
+        assertThat(patch.getDeltas().get(2).getType(), equalTo(Delta.TYPE.INSERT));
+        assertEquals(revised, patch.applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm by empty lists")
+    public void test_diff_whenPassedEmptyLists() {
+        // given
+        final List<String> original = Arrays.asList("a", "b");
+        final List<String> revised = new ArrayList<>();
+
+        // then
+        assertThat(DiffUtils.diff(revised, revised, new LinearDiffAlgorithmService<>()).getDeltas(), is(empty()));
+        assertEquals(revised, DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>()).applyTo(original));
+        assertEquals(original, DiffUtils.diff(revised, original, new LinearDiffAlgorithmService<>()).applyTo(revised));
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm produces minimal patches equal in cost to the default algorithm")
+    public void test_diff_whenComparedWithDefaultAlgorithm() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final List<Integer> original = randomList(random, random.nextInt(40), 4);
+            final List<Integer> revised = randomList(random, random.nextInt(40), 4);
+
+            // when
+            final Patch<Integer> expected = new DiffAlgorithmService<Integer>().diff(original, revised);
+            final Patch<Integer> actual = new LinearDiffAlgorithmService<Integer>().diff(original, revised);
+
+            // then
+            assertEquals(revised, actual.applyTo(original));
+            assertThat(editCost(actual), equalTo(editCost(expected)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm by interned element identifiers")
+    public void test_diff_whenPassedInternedSequences() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            final List<Integer> original = randomList(random, random.nextInt(40), 6);
+            final List<Integer> revised = randomList(random, random.nextInt(40), 6);
+
+            // when
+            final Patch<Integer> expected = DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>(), false);
+            final Patch<Integer> actual = DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>(), true);
+
+            // then
+            assertEquals(revised, actual.applyTo(original));
+            assertThat(editCost(actual), equalTo(editCost(expected)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm by custom matcher with interning requested")
+    public void test_diff_whenPassedCustomMatcher() {
+        // given
+        final List<String> original = Arrays.asList("a", "B", "c", "d");
+        final List<String> revised = Arrays.asList("A", "b", "c", "e");
+
+        // when
+        final Patch<String> actual = DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>(String::equalsIgnoreCase), true);
+
+        // then
+        assertThat(actual.getDeltas(), hasSize(1));
+        assertThat(actual.getDeltas().get(0).getOriginal().getPosition(), equalTo(3));
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm with prefix/suffix trimming and unique elements pruning")
+    public void test_diff_whenPassedReducedSequences() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            final List<Integer> original = randomList(random, random.nextInt(40), 12);
+            final List<Integer> revised = randomList(random, random.nextInt(40), 12);
+            final DiffStatistics statistics = new DiffStatistics();
+
+            // when
+            final Patch<Integer> expected = DiffUtils.diff(original, revised, new LinearDiffAlgorithmService<>(), true);
+            final Patch<Integer> actual = DiffUtils.diff(original, revised, statistics);
+
+            // then
+            assertEquals(revised, actual.applyTo(original));
+            assertThat(editCost(actual), equalTo(editCost(expected)));
+            assertThat(statistics.getOriginalSize(), equalTo((long) original.size()));
+            assertThat(statistics.getEliminated(), lessThanOrEqualTo((long) (original.size() + revised.size())));
+        }
+    }
+
+    @Test
+    @DisplayName("Test linear diff algorithm allocates linearly in input size unlike the default algorithm")
+    public void test_diff_whenMeasuredAllocations() {
+        // given
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        final Random random = new Random(DEFAULT_SEED);
+        final List<Integer> smallOriginal = randomList(random, 4000, 1000);
+        final List<Integer> smallRevised = changedList(random, smallOriginal);
+        final List<Integer> largeOriginal = randomList(random, 16000, 1000);
+        final List<Integer> largeRevised = changedList(random, largeOriginal);
+        new LinearDiffAlgorithmService<Integer>().diff(smallOriginal, smallRevised);
+        new DiffAlgorithmService<Integer>().diff(smallOriginal, smallRevised);
+
+        // when
+        final long small = allocated(threadBean, () -> new LinearDiffAlgorithmService<Integer>().diff(smallOriginal, smallRevised));
+        final long large = allocated(threadBean, () -> new LinearDiffAlgorithmService<Integer>().diff(largeOriginal, largeRevised));
+        final long myers = allocated(threadBean, () -> new DiffAlgorithmService<Integer>().diff(smallOriginal, smallRevised));
+
+        // then
+        assertThat(large, lessThan(6 * small));
+        assertThat(4 * small, lessThan(myers));
+    }
+
+    private static long allocated(final com.sun.management.ThreadMXBean threadBean, final Runnable runnable) {
+        final long start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        runnable.run();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+    }
+
+    private static List<Integer> changedList(final Random random, final List<Integer> original) {
+        final List<Integer> result = new ArrayList<>(original);
+        for (int i = 0; i < original.size() / 10; i++) {
+            result.set(random.nextInt(result.size()), random.nextInt(1000));
+        }
+        return result;
+    }
+
+    private static List<Integer> randomList(final Random random, int size, int bound) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+
+    private static int editCost(final Patch<Integer> patch) {
+        int cost = 0;
+        for (final Delta<Integer> delta : patch.getDeltas()) {
+            cost += delta.getOriginal().size() + delta.getRevised().size();
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.MapperUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.interfaces.ElementSerializer;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.PatchCodec;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link PatchCodec} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class PatchCodecTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test patch codec round trip with and without dictionary")
+    public void test_codec_whenEncodedAndDecoded() {
+        // given
+        final List<String> original = Arrays.asList("a", null, "c", "d", "e", "f");
+        final List<String> revised = Arrays.asList("a", "x", "c", "e", "f", "g", "x");
+        final Patch<String> patch = DiffUtils.diff(original, revised);
+
+        for (final boolean dictionary : new boolean[]{false, true}) {
+            // when
+            final PatchCodec<String> codec = new PatchCodec<>(ElementSerializer.STRING, dictionary);
+            final byte[] bytes = codec.encode(patch);
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+
+            // then
+            assertThat(codec.decode(bytes).getDeltas(), equalTo(patch.getDeltas()));
+            assertThat(codec.decode(buffer).getDeltas(), equalTo(patch.getDeltas()));
+            assertThat(buffer.remaining(), equalTo(0));
+            assertEquals(revised, codec.decode(bytes).applyTo(original));
+        }
+    }
+
+    @Test
+    @DisplayName("Test patch codec size against the Jackson serialization")
+    public void test_codec_whenComparedWithJackson() throws JsonProcessingException {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        final List<String> original = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            original.add("line number " + random.nextInt(2000));
+        }
+        final List<String> revised = new ArrayList<>(original);
+        for (int i = 0; i < 2000; i++) {
+            revised.set(random.nextInt(revised.size()), "edited line " + random.nextInt(100));
+        }
+        final Patch<String> patch = DiffUtils.diff(original, revised);
+        final PatchCodec<String> codec = new PatchCodec<>(ElementSerializer.STRING, true);
+
+        // when
+        final byte[] json = MapperUtils.toJson(patch.getDeltas()).getBytes(StandardCharsets.UTF_8);
+        final byte[] binary = codec.encode(patch);
+
+        // then
+        assertThat(binary.length, lessThan(json.length));
+        assertEquals(revised, codec.decode(binary).applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test patch codec by truncated and malformed input")
+    public void test_codec_whenDecodedMalformedInput() {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d");
+        final List<String> revised = Arrays.asList("a", "x", "d", "y");
+        final PatchCodec<String> codec = new PatchCodec<>(ElementSerializer.STRING, true);
+        final byte[] bytes = codec.encode(DiffUtils.diff(original, revised));
+
+        for (int length = 0; length < bytes.length; length++) {
+            final byte[] truncated = Arrays.copyOf(bytes, length);
+
+            // then
+            assertTrue(isRejected(codec, truncated));
+        }
+        assertTrue(isRejected(codec, new byte[]{1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}));
+        assertTrue(isRejected(codec, new byte[]{1, 1, 0, 1, 0, 0, 1, 5, 0, 0, 0}));
+    }
+
+    private static boolean isRejected(final PatchCodec<String> codec, final byte[] bytes) {
+        try {
+            codec.decode(bytes);
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MappedLines;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MergeRegion;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.entry.utils.MergeRegion.RegionType;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.ThreeWayMergeService;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link ThreeWayMergeService} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class ThreeWayMergeServiceTest {
+
+    @Test
+    @DisplayName("Test three-way merge by non-overlapping changes of both sides")
+    public void test_merge_whenPassedIndependentChanges() {
+        // given
+        final List<String> base = Arrays.asList("a", "b", "c", "d", "e", "f", "g");
+        final List<String> ours = Arrays.asList("a", "x", "c", "d", "e", "f", "g");
+        final List<String> theirs = Arrays.asList("a", "b", "c", "d", "e", "g", "y");
+
+        // when
+        final List<MergeRegion<String>> regions = new ThreeWayMergeService<String>().merge(base, ours, theirs);
+
+        // then
+        final List<String> merged = new ArrayList<>();
+        regions.forEach(region -> merged.addAll(region.getMerged()));
+        assertThat(merged, equalTo(Arrays.asList("a", "x", "c", "d", "e", "g", "y")));
+        assertThat(regions.stream().map(MergeRegion::getType).collect(Collectors.toList()),
+            equalTo(Arrays.asList(RegionType.UNCHANGED, RegionType.OURS, RegionType.UNCHANGED, RegionType.THEIRS, RegionType.UNCHANGED, RegionType.THEIRS)));
+    }
+
+    @Test
+    @DisplayName("Test three-way merge by identical and conflicting changes of both sides")
+    public void test_merge_whenPassedConflictingChanges() {
+        // given
+        final List<String> base = Arrays.asList("a", "b", "c", "d", "e");
+        final List<String> ours = Arrays.asList("a", "x", "c", "d", "y");
+        final List<String> theirs = Arrays.asList("a", "x", "c", "d", "z");
+        final List<MergeRegion<String>> regions = new ArrayList<>();
+
+        // when
+        final int conflicts = new ThreeWayMergeService<String>().merge(base, ours, theirs, regions::add);
+
+        // then
+        assertThat(conflicts, equalTo(1));
+        assertThat(regions.get(1).getType(), equalTo(RegionType.BOTH));
+        assertThat(regions.get(3).getType(), equalTo(RegionType.CONFLICT));
+        assertThat(regions.get(3).getBase(), equalTo(Arrays.asList("e")));
+        assertThat(regions.get(3).getOurs(), equalTo(Arrays.asList("y")));
+        assertThat(regions.get(3).getTheirs(), equalTo(Arrays.asList("z")));
+    }
+
+    @Test
+    @DisplayName("Test three-way merge changed regions independent of later input changes")
+    public void test_merge_whenInputsChangedAfterMerge() {
+        // given
+        final List<String> base = new ArrayList<>(Arrays.asList("a", "b", "c", "d"));
+        final List<String> ours = new ArrayList<>(Arrays.asList("a", "x", "c", "d"));
+        final List<String> theirs = new ArrayList<>(Arrays.asList("a", "b", "c", "y"));
+
+        // when
+        final List<MergeRegion<String>> regions = new ThreeWayMergeService<String>().merge(base, ours, theirs);
+        ours.set(1, "z");
+        theirs.set(3, "w");
+
+        // then
+        final List<String> merged = new ArrayList<>();
+        regions.forEach(region -> merged.addAll(region.getMerged()));
+        assertThat(merged, equalTo(Arrays.asList("a", "x", "c", "y")));
+        assertThat(regions.get(1).getOurs(), equalTo(Arrays.asList("x")));
+        assertThat(regions.get(3).getTheirs(), equalTo(Arrays.asList("y")));
+    }
+
+    @Test
+    @DisplayName("Test three-way merge by memory-mapped files")
+    public void test_merge_whenPassedMappedFiles() throws IOException {
+        // given
+        final Path basePath = Files.createTempFile("base", ".txt");
+        final Path oursPath = Files.createTempFile("ours", ".txt");
+        final Path theirsPath = Files.createTempFile("theirs", ".txt");
+        try {
+            Files.write(basePath, "a\nb\nc\nd\ne\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(oursPath, "a\nx\nc\nd\ne\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(theirsPath, "a\nb\nc\nd\ny\n".getBytes(StandardCharsets.UTF_8));
+            final List<MergeRegion<String>> regions = new ArrayList<>();
+
+            // when
+            final int conflicts = ThreeWayMergeService.merge(
+                MappedLines.map(basePath, StandardCharsets.UTF_8),
+                MappedLines.map(oursPath, StandardCharsets.UTF_8),
+                MappedLines.map(theirsPath, StandardCharsets.UTF_8),
+                regions::add
+            );
+
+            // then
+            final List<String> merged = new ArrayList<>();
+            regions.forEach(region -> merged.addAll(region.getMerged()));
+            assertThat(conflicts, equalTo(0));
+            assertThat(merged, equalTo(Arrays.asList("a", "x", "c", "d", "y")));
+            assertThat(regions.stream().map(MergeRegion::getType).collect(Collectors.toList()),
+                equalTo(Arrays.asList(RegionType.UNCHANGED, RegionType.OURS, RegionType.UNCHANGED, RegionType.THEIRS)));
+        } finally {
+            Files.deleteIfExists(basePath);
+            Files.deleteIfExists(oursPath);
+            Files.deleteIfExists(theirsPath);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.service;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Delta;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.impl.DefaultPatch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.UnifiedDiffParser;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.service.UnifiedDiffWriter;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link UnifiedDiffParser} and {@link UnifiedDiffWriter} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class UnifiedDiffParserTest {
+
+    @Test
+    @DisplayName("Test unified diff writer and parser round trip")
+    public void test_unifiedDiff_whenWrittenAndParsed() throws IOException {
+        // given
+        final List<String> original = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+        final List<String> revised = Arrays.asList("a", "x", "c", "d", "e", "f", "g", "h", "i", "j", "k");
+        final Patch<String> patch = DiffUtils.diff(original, revised);
+
+        // when
+        final StringBuilder output = new StringBuilder();
+        new UnifiedDiffWriter(output).write("original.txt", "revised.txt", original, patch, 1);
+        final List<Delta<String>> deltas = new ArrayList<>();
+        DiffUtils.parseUnifiedDiff(new StringReader(output.toString()), deltas::add);
+
+        // then
+        final List<String> expected = DiffUtils.generateUnifiedDiff("original.txt", "revised.txt", original, (DefaultPatch<String>) patch, 1);
+        assertThat(output.toString(), equalTo(String.join("\n", expected) + "\n"));
+        assertThat(deltas, hasSize(2));
+        final DefaultPatch<String> parsed = new DefaultPatch<>();
+        deltas.forEach(parsed::addDelta);
+        assertEquals(revised, parsed.applyTo(original));
+    }
+
+    @Test
+    @DisplayName("Test unified diff parser stream by hunk headers with section headings")
+    public void test_unifiedDiff_whenPassedSectionHeadings() throws IOException {
+        // given
+        final String diff = "--- a.txt\n+++ b.txt\n@@ -3,2 +3,2 @@ void main() {\n x\n-y\n+z\n@@\t-10\t+10 @@\n q\n";
+
+        // when
+        final List<Delta<String>> deltas;
+        try (final UnifiedDiffParser parser = new UnifiedDiffParser(new StringReader(diff))) {
+            deltas = parser.stream().collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(deltas, hasSize(2));
+        assertThat(deltas.get(0).getOriginal().getPosition(), equalTo(2));
+        assertThat(deltas.get(0).getRevised().getLines(), equalTo(Arrays.asList("x", "z")));
+        assertThat(deltas.get(1).getOriginal().getPosition(), equalTo(9));
+    }
+}
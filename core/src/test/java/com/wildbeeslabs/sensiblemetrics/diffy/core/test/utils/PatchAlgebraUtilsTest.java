@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.core.test.utils;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.entry.iface.Patch;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.DiffUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.core.utils.PatchAlgebraUtils;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link PatchAlgebraUtils} unit test
+ *
+ * @author Alexander Rogalskiy
+ * @version 1.1
+ * @since 1.0
+ */
+public class PatchAlgebraUtilsTest {
+
+    /**
+     * Default random seed
+     */
+    private static final long DEFAULT_SEED = 42L;
+
+    @Test
+    @DisplayName("Test patch inversion, composition and squashing of patch chains")
+    public void test_patchAlgebra_whenPassedPatchChains() {
+        // given
+        final Random random = new Random(DEFAULT_SEED);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            final List<List<Integer>> versions = new ArrayList<>();
+            versions.add(randomList(random, random.nextInt(40), 5));
+            final List<Patch<Integer>> patches = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                versions.add(mutate(random, versions.get(i)));
+                patches.add(DiffUtils.diff(versions.get(i), versions.get(i + 1)));
+            }
+
+            // when
+            final Patch<Integer> inverted = PatchAlgebraUtils.invert(patches.get(0));
+            final Patch<Integer> composed = PatchAlgebraUtils.compose(patches.get(0), patches.get(1));
+            final Patch<Integer> squashed = PatchAlgebraUtils.squash(patches);
+
+            // then
+            assertEquals(versions.get(0), inverted.applyTo(versions.get(1)));
+            assertEquals(versions.get(2), composed.applyTo(versions.get(0)));
+            assertEquals(versions.get(5), squashed.applyTo(versions.get(0)));
+            assertThat(PatchAlgebraUtils.compose(patches.get(0), inverted).getDeltas(), is(empty()));
+        }
+    }
+
+    private static List<Integer> mutate(final Random random, final List<Integer> values) {
+        final List<Integer> result = new ArrayList<>(values);
+        for (int i = random.nextInt(6); i > 0; i--) {
+            final int index = random.nextInt(result.size() + 1);
+            if (index == result.size() || random.nextBoolean()) {
+                result.add(index, random.nextInt(5));
+            } else {
+                result.remove(index);
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> randomList(final Random random, int size, int bound) {
+        final List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.diffy.metrics.helpers;
+
+import com.wildbeeslabs.sensiblemetrics.diffy.common.utils.ValidationUtils;
+import com.wildbeeslabs.sensiblemetrics.diffy.metrics.interfaces.Tokenizer;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Word {@link Tokenizer} implementation
+ * <p>
+ * Splits text into runs of word characters, runs of whitespace and single other characters,
+ * tokens concatenated in order reproduce the input text.
+ */
+@Data
+@EqualsAndHashCode
+@ToString
+public class WordTokenizer implements Tokenizer<CharSequence, CharSequence> {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the input text is {@code null}
+     */
+    @Override
+    public CharSequence[] tokenize(final CharSequence text) {
+        ValidationUtils.notNull(text, "Text should not be null");
+        final List<String> tokens = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            final int kind = kindOf(text.charAt(start));
+            int end = start + 1;
+            if (kind != 0) {
+                while (end < text.length() && kindOf(text.charAt(end)) == kind) {
+                    end++;
+                }
+            }
+            tokens.add(text.subSequence(start, end).toString());
+            start = end;
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static int kindOf(char value) {
+        if (Character.isLetterOrDigit(value) || value == '_') {
+            return 1;
+        }
+        return Character.isWhitespace(value) ? 2 : 0;
+    }
+}